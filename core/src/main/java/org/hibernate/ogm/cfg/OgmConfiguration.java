@@ -48,6 +48,20 @@ public class OgmConfiguration extends Configuration {
 	 */
 	public static final String OGM_QUERY_PARSER_SERVICE = "hibernate.ogm.query.parser";
 
+	/**
+	 * Name of the configuration option for enabling the batching of datastore write operations. If set to
+	 * {@code true}, the tuple and association changes of a flush are collected and handed over to the grid dialect
+	 * at the end of the flush. Defaults to {@code false}.
+	 */
+	public static final String OGM_BATCH_OPERATIONS = "hibernate.ogm.datastore.batch_operations";
+
+	/**
+	 * Name of the configuration option for enabling optimistic inserts. If set to {@code true}, entities are inserted
+	 * without checking beforehand whether a tuple with the same key already exists; duplicates are then detected by the
+	 * grid dialect when creating or writing the new tuple. Defaults to {@code false}.
+	 */
+	public static final String OGM_OPTIMISTIC_INSERTS = "hibernate.ogm.datastore.optimistic_inserts";
+
 	public OgmConfiguration() {
 		super();
 		resetOgm();
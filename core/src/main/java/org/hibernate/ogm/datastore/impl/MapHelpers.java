@@ -56,6 +56,29 @@ public static void applyTupleOpsOnMap(Tuple tuple, Map<String, Object> map) {
 		}
 	}
 
+	/**
+	 * Applies the operations of the given tuple to the given map, writing all the put columns with one
+	 * {@code putAll()}. Meant for maps for which each write is costly, e.g. atomic maps of a clustered cache.
+	 */
+	public static void applyTupleOpsOnMapInBulk(Tuple tuple, Map<String, Object> map) {
+		Map<String, Object> puts = new HashMap<String, Object>();
+		for ( TupleOperation action : tuple.getOperations() ) {
+			switch ( action.getType() ) {
+				case PUT_NULL:
+				case PUT:
+					puts.put( action.getColumn(), action.getValue() );
+					break;
+				case REMOVE:
+					puts.remove( action.getColumn() );
+					map.remove( action.getColumn() );
+					break;
+			}
+		}
+		if ( !puts.isEmpty() ) {
+			map.putAll( puts );
+		}
+	}
+
 	public static Map<String, Object> tupleToMap(Tuple tuple) {
 		if (tuple == null) {
 			return null;
@@ -92,4 +115,31 @@ public static void updateAssociation(Association association, AssociationKey key
 		}
 	}
 
+	/**
+	 * Applies the operations of the given association to its underlying map, writing all the put rows with one
+	 * {@code putAll()}.
+	 */
+	public static void updateAssociationInBulk(Association association, AssociationKey key) {
+		Map<RowKey, Map<String, Object>> atomicMap = ( (MapAssociationSnapshot) association.getSnapshot() ).getUnderlyingMap();
+		Map<RowKey, Map<String, Object>> puts = new HashMap<RowKey, Map<String, Object>>();
+		for ( AssociationOperation action : association.getOperations() ) {
+			switch ( action.getType() ) {
+				case CLEAR:
+					puts.clear();
+					atomicMap.clear();
+					break;
+				case PUT_NULL:
+				case PUT:
+					puts.put( action.getKey(), MapHelpers.tupleToMap( action.getValue() ) );
+					break;
+				case REMOVE:
+					puts.remove( action.getKey() );
+					atomicMap.remove( action.getKey() );
+					break;
+			}
+		}
+		if ( !puts.isEmpty() ) {
+			atomicMap.putAll( puts );
+		}
+	}
 }
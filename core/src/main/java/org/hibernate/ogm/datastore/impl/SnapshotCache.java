@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+package org.hibernate.ogm.datastore.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.transaction.Synchronization;
+
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationSnapshot;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleSnapshot;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+
+/**
+ * Identity map of the tuples and associations read from the datastore during the current transaction of a session, so
+ * they can be re-used instead of being fetched again.
+ * <p>
+ * An instance is bound to the persistence context of a session and discarded upon completion of the transaction or
+ * when the session is cleared or an entity is refreshed. Only the snapshots are kept; each access returns a new tuple or
+ * association without any changes, so the changes applied by one caller never show up for another one. Entries must be
+ * removed as soon as the corresponding tuple or association is written to the datastore, as the snapshot would be stale
+ * afterwards. Outside of a transaction, nothing is cached.
+ * <p>
+ * A session is used by one thread at a time, so the caches are kept per thread and need no synchronization.
+ */
+public final class SnapshotCache {
+
+	/**
+	 * Used outside of transactions; does not cache anything.
+	 */
+	private static final SnapshotCache DISABLED = new SnapshotCache( false );
+
+	private static final ThreadLocal<Map<PersistenceContext, SnapshotCache>> cachesByPersistenceContext = new ThreadLocal<Map<PersistenceContext, SnapshotCache>>() {
+
+		@Override
+		protected Map<PersistenceContext, SnapshotCache> initialValue() {
+			return new WeakHashMap<PersistenceContext, SnapshotCache>();
+		}
+	};
+
+	private final boolean enabled;
+	private final Map<EntityKey, TupleSnapshot> tuples = new HashMap<EntityKey, TupleSnapshot>();
+	private final Map<AssociationKey, AssociationSnapshot> associations = new HashMap<AssociationKey, AssociationSnapshot>();
+
+	/**
+	 * Set upon transaction completion, which may happen in another thread than the one using the session
+	 */
+	private volatile boolean completed;
+
+	private SnapshotCache(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns the snapshot cache for the current transaction of the given session. If no transaction is in progress,
+	 * a cache which does not hold any entries is returned.
+	 */
+	public static SnapshotCache forSession(SessionImplementor session) {
+		if ( session == null || !session.isTransactionInProgress() ) {
+			return DISABLED;
+		}
+		Map<PersistenceContext, SnapshotCache> caches = cachesByPersistenceContext.get();
+		PersistenceContext persistenceContext = session.getPersistenceContext();
+		SnapshotCache cache = caches.get( persistenceContext );
+		if ( cache == null || cache.completed ) {
+			cache = new SnapshotCache( true );
+			caches.put( persistenceContext, cache );
+			session.getTransactionCoordinator().getSynchronizationRegistry().registerSynchronization( new Cleanup( persistenceContext, cache ) );
+		}
+		return cache;
+	}
+
+	/**
+	 * Discards the snapshot cache of the given session, if any. Subsequent reads of the current transaction will go to
+	 * the datastore again.
+	 */
+	public static void discard(SessionImplementor session) {
+		cachesByPersistenceContext.get().remove( session.getPersistenceContext() );
+	}
+
+	/**
+	 * Returns a new tuple based on the cached snapshot with the given key or {@code null} if the tuple has not been
+	 * read in the current transaction.
+	 */
+	public Tuple getTuple(EntityKey key) {
+		TupleSnapshot snapshot = tuples.get( key );
+		return snapshot == null ? null : new Tuple( snapshot );
+	}
+
+	public void putTuple(EntityKey key, Tuple tuple) {
+		if ( enabled && tuple != null ) {
+			tuples.put( key, tuple.getSnapshot() );
+		}
+	}
+
+	/**
+	 * Removes the tuple with the given key from this cache
+	 *
+	 * @return a new tuple based on the removed snapshot or {@code null} if no tuple was cached for the given key
+	 */
+	public Tuple removeTuple(EntityKey key) {
+		TupleSnapshot snapshot = tuples.remove( key );
+		return snapshot == null ? null : new Tuple( snapshot );
+	}
+
+	/**
+	 * Returns a new association based on the cached snapshot with the given key or {@code null} if the association has
+	 * not been read in the current transaction.
+	 */
+	public Association getAssociation(AssociationKey key) {
+		AssociationSnapshot snapshot = associations.get( key );
+		return snapshot == null ? null : new Association( snapshot );
+	}
+
+	public void putAssociation(AssociationKey key, Association association) {
+		if ( enabled && association != null ) {
+			associations.put( key, association.getSnapshot() );
+		}
+	}
+
+	public void removeAssociation(AssociationKey key) {
+		associations.remove( key );
+	}
+
+	/**
+	 * Discards the snapshot cache of a persistence context once its transaction is completed. Must not be referenced
+	 * by the cache itself as the persistence context is the weak key of the cache.
+	 */
+	private static class Cleanup implements Synchronization {
+
+		private final PersistenceContext persistenceContext;
+		private final SnapshotCache cache;
+
+		Cleanup(PersistenceContext persistenceContext, SnapshotCache cache) {
+			this.persistenceContext = persistenceContext;
+			this.cache = cache;
+		}
+
+		@Override
+		public void beforeCompletion() {
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			cache.completed = true;
+			// no-op if the transaction is completed by another thread; the cache is then replaced upon the next access
+			Map<PersistenceContext, SnapshotCache> caches = cachesByPersistenceContext.get();
+			if ( caches.get( persistenceContext ) == cache ) {
+				caches.remove( persistenceContext );
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+package org.hibernate.ogm.datastore.impl;
+
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.ClearEvent;
+import org.hibernate.event.spi.ClearEventListener;
+import org.hibernate.event.spi.RefreshEvent;
+import org.hibernate.event.spi.RefreshEventListener;
+
+/**
+ * Discards the {@link SnapshotCache} of a session when an entity is refreshed or the session is cleared, so the
+ * following loads read the current state from the datastore.
+ * <p>
+ * Must be invoked before the default refresh listener, which re-loads the entity.
+ */
+public class SnapshotCacheDiscardingEventListener implements RefreshEventListener, ClearEventListener {
+
+	public static final SnapshotCacheDiscardingEventListener INSTANCE = new SnapshotCacheDiscardingEventListener();
+
+	private SnapshotCacheDiscardingEventListener() {
+	}
+
+	@Override
+	public void onRefresh(RefreshEvent event) throws HibernateException {
+		SnapshotCache.discard( event.getSession() );
+	}
+
+	@Override
+	public void onRefresh(RefreshEvent event, Map refreshedAlready) throws HibernateException {
+		SnapshotCache.discard( event.getSession() );
+	}
+
+	@Override
+	public void onClear(ClearEvent event) {
+		SnapshotCache.discard( event.getSession() );
+	}
+}
@@ -21,8 +21,11 @@
 package org.hibernate.ogm.datastore.map.impl;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -39,12 +42,16 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 
@@ -53,6 +60,8 @@
  */
 public class HashMapDialect implements GridDialect {
 
+	private static final Log log = LoggerFactory.make();
+
 	private final MapDatastoreProvider provider;
 
 	public HashMapDialect(MapDatastoreProvider provider) {
@@ -91,10 +100,17 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		}
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		return GridDialectHelpers.getTuplesOneByOne( this, keys, tupleContext );
+	}
+
 	@Override
 	public Tuple createTuple(EntityKey key) {
 		HashMap<String,Object> tuple = new HashMap<String,Object>();
-		provider.putEntity( key, tuple );
+		if ( !provider.putEntityIfAbsent( key, tuple ) ) {
+			throw log.mustNotInsertSameEntityTwice( key );
+		}
 		return new Tuple( new MapTupleSnapshot( tuple ) );
 	}
 
@@ -115,6 +131,33 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return associationMap == null ? null : new Association( new MapAssociationSnapshot( associationMap ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		return GridDialectHelpers.getAssociationsOneByOne( this, keys, associationContext );
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		Map<RowKey, Map<String, Object>> associationMap = provider.getAssociation( key );
+		return associationMap == null ? 0 : associationMap.size();
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		Map<RowKey, Map<String, Object>> associationMap = provider.getAssociation( key );
+		return associationMap != null && associationMap.containsKey( rowKey );
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		return null;
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		GridDialectHelpers.executeBatchOneByOne( this, queue );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
 		Map<RowKey, Map<String, Object>> associationMap = new HashMap<RowKey, Map<String,Object>>();
@@ -150,11 +193,12 @@ public GridType overrideType(Type type) {
 
 	@Override
 	public void forEachTuple(Consumer consumer, EntityKeyMetadata... metadatas) {
-		Map<EntityKey, Map<String, Object>> entityMap = provider.getEntityMap();
-		for ( EntityKey key : entityMap.keySet() ) {
-			for ( EntityKeyMetadata metadata : metadatas ) {
-				if ( key.getTable().equals( metadata.getTable() ) ) {
-					consumer.consume( new Tuple( new MapTupleSnapshot( (Map) entityMap.get( key ) ) ) );
+		Set<String> tables = new HashSet<String>();
+		for ( EntityKeyMetadata metadata : metadatas ) {
+			// only visit the partitions of the requested tables
+			if ( tables.add( metadata.getTable() ) ) {
+				for ( Map<String, Object> entity : provider.getEntityMap( metadata.getTable() ).values() ) {
+					consumer.consume( new Tuple( new MapTupleSnapshot( entity ) ) );
 				}
 			}
 		}
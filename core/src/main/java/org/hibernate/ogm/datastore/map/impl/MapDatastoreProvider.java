@@ -20,20 +20,18 @@
  */
 package org.hibernate.ogm.datastore.map.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.persistence.PessimisticLockException;
 
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.grid.AssociationKey;
@@ -46,6 +44,7 @@
 import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
+import org.hibernate.service.spi.Configurable;
 import org.hibernate.service.spi.Startable;
 import org.hibernate.service.spi.Stoppable;
 
@@ -58,23 +57,49 @@
  *
  * @author Sanne Grinovero <sanne@hibernate.org> (C) 2011 Red Hat Inc.
  */
-public final class MapDatastoreProvider implements DatastoreProvider, Startable, Stoppable {
+public final class MapDatastoreProvider implements DatastoreProvider, Startable, Stoppable, Configurable {
+
+	/**
+	 * The number of stripes guarding the lock state of the entities for pessimistic locking. Each entity key is
+	 * mapped to one of these stripes; the state of a lock is only kept while it is held, so the memory used for
+	 * locking doesn't grow with the number of entities. Defaults to {@link #DEFAULT_LOCK_STRIPES}.
+	 */
+	public static final String LOCK_STRIPES = "hibernate.ogm.datastore.map.lock_stripes";
+
+	public static final int DEFAULT_LOCK_STRIPES = 256;
 
 	private static final Log log = LoggerFactory.make();
 
-	private final ConcurrentMap<EntityKey,Map<String, Object>> entitiesKeyValueStorage = new ConcurrentHashMap<EntityKey,Map<String, Object>>();
+	/**
+	 * The entities, partitioned by table so operations targeting one table don't need to look at all the others.
+	 */
+	private final ConcurrentMap<String, ConcurrentMap<EntityKey, Map<String, Object>>> entitiesPerTable = new ConcurrentHashMap<String, ConcurrentMap<EntityKey, Map<String, Object>>>();
 	private final ConcurrentMap<AssociationKey, Map<RowKey, Map<String, Object>>> associationsKeyValueStorage = new ConcurrentHashMap<AssociationKey, Map<RowKey, Map<String, Object>>>();
 	private final ConcurrentMap<RowKey, AtomicInteger> sequencesStorage = new ConcurrentHashMap<RowKey, AtomicInteger>();
-	private final ConcurrentMap<Object, ReadWriteLock> dataLocks = new ConcurrentHashMap<Object, ReadWriteLock>();
+	private LockStripe[] lockStripes = createLockStripes( DEFAULT_LOCK_STRIPES );
 
 	/**
-	 * This simplistic data store only supports thread-bound transactions:
+	 * This simplistic data store only supports thread-bound transactions; the locks acquired by the current thread
+	 * are released via {@link #releaseLocks()} at the end of the transaction.
 	 */
-	private final ThreadLocal<Set<Lock>> acquiredLocksPerThread = new ThreadLocal<Set<Lock>>() {
-		@Override protected Set<Lock> initialValue() {
-			return new HashSet<Lock>();
+	private final ThreadLocal<List<AcquiredLock>> acquiredLocksPerThread = new ThreadLocal<List<AcquiredLock>>();
+
+	@Override
+	public void configure(Map configurationValues) {
+		int stripes = ConfigurationHelper.getInt( LOCK_STRIPES, configurationValues, DEFAULT_LOCK_STRIPES );
+		if ( stripes < 1 ) {
+			throw log.invalidConfigurationValue( LOCK_STRIPES, String.valueOf( stripes ) );
+		}
+		lockStripes = createLockStripes( stripes );
+	}
+
+	private static LockStripe[] createLockStripes(int stripes) {
+		LockStripe[] locks = new LockStripe[stripes];
+		for ( int i = 0; i < stripes; i++ ) {
+			locks[i] = new LockStripe();
 		}
-	};
+		return locks;
+	}
 
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
@@ -88,7 +113,7 @@ public Class<? extends QueryParserService> getDefaultQueryParserServiceType() {
 
 	@Override
 	public void stop() {
-		entitiesKeyValueStorage.clear();
+		entitiesPerTable.clear();
 		log.debug( "Stopped and cleared MapDatastoreProvider" );
 	}
 
@@ -103,9 +128,7 @@ public void start() {
 	 * @param timeout in milliseconds; -1 means wait indefinitely, 0 means no wait.
 	 */
 	public void writeLock(EntityKey key, int timeout) {
-		ReadWriteLock lock = getLock( key );
-		Lock writeLock = lock.writeLock();
-		acquireLock( key, timeout, writeLock );
+		acquireLock( key, timeout, true );
 	}
 
 	/**
@@ -114,48 +137,137 @@ public void writeLock(EntityKey key, int timeout) {
 	 * @param timeout in milliseconds; -1 means wait indefinitely, 0 means no wait.
 	 */
 	public void readLock(EntityKey key, int timeout) {
-		ReadWriteLock lock = getLock( key );
-		Lock readLock = lock.readLock();
-		acquireLock( key, timeout, readLock );
+		acquireLock( key, timeout, false );
 	}
 
-	private ReadWriteLock getLock(EntityKey key) {
-		ReadWriteLock newLock = new ReentrantReadWriteLock();
-		ReadWriteLock previous = dataLocks.putIfAbsent( key, newLock );
-		return previous != null ? previous : newLock;
+	/**
+	 * Whether the current thread holds any locks acquired via {@link #readLock(EntityKey, int)} or
+	 * {@link #writeLock(EntityKey, int)} which have not been released yet.
+	 */
+	public boolean hasAcquiredLocks() {
+		return acquiredLocksPerThread.get() != null;
 	}
 
-	private void acquireLock(EntityKey key, int timeout, Lock writeLock) {
-		try {
-			if ( timeout == -1 ) {
-				writeLock.lockInterruptibly();
+	/**
+	 * Releases all the locks acquired by the current thread. To be invoked at the end of the transaction.
+	 */
+	public void releaseLocks() {
+		List<AcquiredLock> acquiredLocks = acquiredLocksPerThread.get();
+		if ( acquiredLocks == null ) {
+			return;
+		}
+		acquiredLocksPerThread.remove();
+		Thread owner = Thread.currentThread();
+		for ( int i = acquiredLocks.size() - 1; i >= 0; i-- ) {
+			AcquiredLock acquiredLock = acquiredLocks.get( i );
+			LockStripe stripe = getLockStripe( acquiredLock.key );
+			synchronized ( stripe ) {
+				stripe.release( acquiredLock.key, owner, acquiredLock.write );
+				stripe.notifyAll();
 			}
-			else if ( timeout == 0 ) {
-				boolean locked = writeLock.tryLock();
-				if ( ! locked ) {
-					throw new PessimisticLockException( "lock on key " + key + " was not available" );
-				}
+		}
+	}
+
+	private LockStripe getLockStripe(EntityKey key) {
+		int hash = key.hashCode();
+		// spread the bits of the hash code as entity keys often only differ in their lower bits
+		hash ^= ( hash >>> 20 ) ^ ( hash >>> 12 );
+		hash ^= ( hash >>> 7 ) ^ ( hash >>> 4 );
+		return lockStripes[( hash & Integer.MAX_VALUE ) % lockStripes.length];
+	}
+
+	private void acquireLock(EntityKey key, int timeout, boolean write) {
+		Thread owner = Thread.currentThread();
+		LockStripe stripe = getLockStripe( key );
+		synchronized ( stripe ) {
+			KeyLock lock = stripe.getLock( key );
+			// a read lock can't be upgraded, so waiting for the write lock would never end
+			if ( write && lock != null && lock.writer != owner && lock.readHolds.containsKey( owner ) ) {
+				throw new PessimisticLockException( "lock on key " + key + " can't be upgraded as the current transaction holds a read lock on that key" );
 			}
-			else {
-				writeLock.tryLock( timeout, TimeUnit.MILLISECONDS );
+			long deadline = System.currentTimeMillis() + timeout;
+			while ( lock != null && !lock.isAvailableFor( owner, write ) ) {
+				try {
+					if ( timeout == -1 ) {
+						stripe.wait();
+					}
+					else {
+						long remaining = deadline - System.currentTimeMillis();
+						if ( remaining <= 0 ) {
+							throw new PessimisticLockException( timeout == 0 ? "lock on key " + key + " was not available" : "timed out waiting for lock on key " + key );
+						}
+						stripe.wait( remaining );
+					}
+				}
+				catch ( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+					throw new PessimisticLockException( "timed out waiting for lock on key " + key, e );
+				}
+				lock = stripe.getLock( key );
 			}
+			stripe.acquire( key, owner, write );
 		}
-		catch ( InterruptedException e ) {
-			throw new PessimisticLockException( "timed out waiting for lock on key " + key, e );
+		List<AcquiredLock> acquiredLocks = acquiredLocksPerThread.get();
+		if ( acquiredLocks == null ) {
+			acquiredLocks = new ArrayList<AcquiredLock>();
+			acquiredLocksPerThread.set( acquiredLocks );
 		}
-		acquiredLocksPerThread.get().add( writeLock );
+		acquiredLocks.add( new AcquiredLock( key, write ) );
 	}
 
 	public void putEntity(EntityKey key, Map<String, Object> tuple) {
-		entitiesKeyValueStorage.put( key, tuple );
+		getOrCreateEntityPartition( key.getTable() ).put( key, tuple );
+	}
+
+	/**
+	 * Stores the given entity unless an entity with the same key exists already.
+	 *
+	 * @return {@code true} if the entity has been stored, {@code false} if there is an entity with the same key
+	 */
+	public boolean putEntityIfAbsent(EntityKey key, Map<String, Object> tuple) {
+		return getOrCreateEntityPartition( key.getTable() ).putIfAbsent( key, tuple ) == null;
 	}
 
 	public Map<String, Object> getEntityTuple(EntityKey key) {
-		return entitiesKeyValueStorage.get( key );
+		Map<EntityKey, Map<String, Object>> partition = entitiesPerTable.get( key.getTable() );
+		return partition == null ? null : partition.get( key );
 	}
 
 	public void removeEntityTuple(EntityKey key) {
-		entitiesKeyValueStorage.remove( key );
+		Map<EntityKey, Map<String, Object>> partition = entitiesPerTable.get( key.getTable() );
+		if ( partition != null ) {
+			partition.remove( key );
+		}
+	}
+
+	/**
+	 * @param table the table of the entities
+	 * @return a read-only view of the entities stored in the given table
+	 */
+	public Map<EntityKey, Map<String, Object>> getEntityMap(String table) {
+		Map<EntityKey, Map<String, Object>> partition = entitiesPerTable.get( table );
+		return partition == null ? Collections.<EntityKey, Map<String, Object>>emptyMap() : Collections.unmodifiableMap( partition );
+	}
+
+	/**
+	 * @param table the table of the entities
+	 * @return the number of entities stored in the given table
+	 */
+	public int getNumberOfEntities(String table) {
+		Map<EntityKey, Map<String, Object>> partition = entitiesPerTable.get( table );
+		return partition == null ? 0 : partition.size();
+	}
+
+	private ConcurrentMap<EntityKey, Map<String, Object>> getOrCreateEntityPartition(String table) {
+		ConcurrentMap<EntityKey, Map<String, Object>> partition = entitiesPerTable.get( table );
+		if ( partition == null ) {
+			ConcurrentMap<EntityKey, Map<String, Object>> newPartition = new ConcurrentHashMap<EntityKey, Map<String, Object>>();
+			partition = entitiesPerTable.putIfAbsent( table, newPartition );
+			if ( partition == null ) {
+				partition = newPartition;
+			}
+		}
+		return partition;
 	}
 
 	public void putAssociation(AssociationKey key, Map<RowKey, Map<String, Object>> associationMap) {
@@ -178,10 +290,14 @@ public int getSharedAtomicInteger(RowKey key, int initialValue, int increment) {
 
 	/**
 	 * Meant to execute assertions in tests only
-	 * @return a read-only view of the map containing the entities
+	 * @return a read-only copy of the entities of all tables
 	 */
 	public Map<EntityKey,Map<String, Object>> getEntityMap() {
-		return Collections.unmodifiableMap( entitiesKeyValueStorage );
+		Map<EntityKey, Map<String, Object>> entities = new HashMap<EntityKey, Map<String, Object>>();
+		for ( Map<EntityKey, Map<String, Object>> partition : entitiesPerTable.values() ) {
+			entities.putAll( partition );
+		}
+		return Collections.unmodifiableMap( entities );
 	}
 
 	/**
@@ -196,4 +312,84 @@ public Map<AssociationKey, Map<RowKey, Map<String, Object>>> getAssociationsMap(
 	public GlobalContext<?, ?> getConfigurationBuilder(ConfigurationContext context) {
 		return GenericOptionModel.createGlobalContext( context );
 	}
+
+	/**
+	 * Holds the state of the locks whose keys are mapped to this stripe; also serves as monitor for waiting on these
+	 * locks. The holds are tracked per key, so a read lock on one key doesn't get in the way of a write lock on
+	 * another key of the same stripe.
+	 */
+	private static final class LockStripe {
+
+		private final Map<EntityKey, KeyLock> locks = new HashMap<EntityKey, KeyLock>();
+
+		KeyLock getLock(EntityKey key) {
+			return locks.get( key );
+		}
+
+		void acquire(EntityKey key, Thread owner, boolean write) {
+			KeyLock lock = locks.get( key );
+			if ( lock == null ) {
+				lock = new KeyLock();
+				locks.put( key, lock );
+			}
+			if ( write ) {
+				lock.writer = owner;
+				lock.writeHolds++;
+			}
+			else {
+				Integer holds = lock.readHolds.get( owner );
+				lock.readHolds.put( owner, holds == null ? 1 : holds + 1 );
+			}
+		}
+
+		void release(EntityKey key, Thread owner, boolean write) {
+			KeyLock lock = locks.get( key );
+			if ( write ) {
+				lock.writeHolds--;
+				if ( lock.writeHolds == 0 ) {
+					lock.writer = null;
+				}
+			}
+			else {
+				int holds = lock.readHolds.get( owner );
+				if ( holds == 1 ) {
+					lock.readHolds.remove( owner );
+				}
+				else {
+					lock.readHolds.put( owner, holds - 1 );
+				}
+			}
+			if ( lock.writer == null && lock.readHolds.isEmpty() ) {
+				locks.remove( key );
+			}
+		}
+	}
+
+	/**
+	 * The holds of a lock on a single key; the writer may also acquire read holds.
+	 */
+	private static final class KeyLock {
+
+		private Thread writer;
+		private int writeHolds;
+		private final Map<Thread, Integer> readHolds = new HashMap<Thread, Integer>( 2 );
+
+		boolean isAvailableFor(Thread owner, boolean write) {
+			if ( writer == owner ) {
+				return true;
+			}
+			return writer == null && ( !write || readHolds.isEmpty() );
+		}
+	}
+
+	private static final class AcquiredLock {
+
+		private final EntityKey key;
+		private final boolean write;
+
+		AcquiredLock(EntityKey key, boolean write) {
+			this.key = key;
+			this.write = write;
+		}
+	}
 }
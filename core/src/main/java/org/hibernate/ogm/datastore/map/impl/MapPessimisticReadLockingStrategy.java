@@ -50,6 +50,10 @@ public void lock(Serializable id, Object version, Object object, int timeout, Se
 				identifierGridType,
 				id,
 				session );
+		boolean firstLock = !dataStore.hasAcquiredLocks();
 		dataStore.readLock( key, timeout );
+		if ( firstLock ) {
+			releaseLocksOnCompletion( dataStore, session );
+		}
 	}
 }
@@ -22,6 +22,8 @@
 
 import java.io.Serializable;
 
+import javax.transaction.Synchronization;
+
 import org.hibernate.JDBCException;
 import org.hibernate.LockMode;
 import org.hibernate.StaleObjectStateException;
@@ -66,7 +68,11 @@ public void lock(Serializable id, Object version, Object object, int timeout, Se
 				identifierGridType,
 				id,
 				session );
+		boolean firstLock = !dataStore.hasAcquiredLocks();
 		dataStore.writeLock( key, timeout );
+		if ( firstLock ) {
+			releaseLocksOnCompletion( dataStore, session );
+		}
 		// FIXME check the version number as well and raise an optimistic lock exception if there is an issue JPA 2 spec: 3.4.4.2
 		// (Comment by Emmanuel)
 	}
@@ -84,4 +90,29 @@ protected final MapDatastoreProvider getProvider(SessionImplementor session) {
 		return provider;
 	}
 
+	/**
+	 * Releases the locks acquired by the current thread once the transaction of the given session completes.
+	 */
+	protected final void releaseLocksOnCompletion(MapDatastoreProvider dataStore, SessionImplementor session) {
+		session.getTransactionCoordinator().getSynchronizationRegistry().registerSynchronization( new LockRelease( dataStore ) );
+	}
+
+	private static final class LockRelease implements Synchronization {
+
+		private final MapDatastoreProvider dataStore;
+
+		private LockRelease(MapDatastoreProvider dataStore) {
+			this.dataStore = dataStore;
+		}
+
+		@Override
+		public void beforeCompletion() {
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			dataStore.releaseLocks();
+		}
+	}
+
 }
@@ -25,6 +25,7 @@
 import static org.hibernate.ogm.datastore.spi.AssociationOperationType.REMOVE;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -128,10 +129,23 @@ public int size() {
 		return size;
 	}
 
+	/**
+	 * Returns the keys of the rows of this association. If there are no pending changes, a read-only view of the
+	 * snapshot keys is returned instead of a copy.
+	 */
 	public Set<RowKey> getKeys() {
-		Set<RowKey> keys = new HashSet<RowKey>();
-		if (!cleared) {
-			keys.addAll( snapshot.getRowKeys() );
+		if ( currentState.isEmpty() ) {
+			return cleared ? Collections.<RowKey>emptySet() : Collections.unmodifiableSet( snapshot.getRowKeys() );
+		}
+
+		Set<RowKey> keys;
+		if ( cleared ) {
+			keys = new HashSet<RowKey>( currentState.size() );
+		}
+		else {
+			Set<RowKey> snapshotKeys = snapshot.getRowKeys();
+			keys = new HashSet<RowKey>( snapshotKeys.size() + currentState.size() );
+			keys.addAll( snapshotKeys );
 		}
 		for ( Map.Entry<RowKey,AssociationOperation> op : currentState.entrySet() ) {
 			switch ( op.getValue().getType() ) {
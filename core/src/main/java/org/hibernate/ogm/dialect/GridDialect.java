@@ -21,6 +21,7 @@
 package org.hibernate.ogm.dialect;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -30,6 +31,7 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -54,9 +56,19 @@ public interface GridDialect extends Service {
 	 */
 	Tuple getTuple(EntityKey key, TupleContext tupleContext);
 
+	/**
+	 * Return the tuples for the given keys, using as few datastore round-trips as possible.
+	 * The returned list has the same order as the given keys and contains {@code null} for each key without
+	 * a corresponding tuple.
+	 */
+	List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext);
+
 	/**
 	 * Return a new tuple for a given key
 	 * Only used if the tuple is not present
+	 * The tuple is not necessarily looked up beforehand (see {@link org.hibernate.ogm.cfg.OgmConfiguration#OGM_OPTIMISTIC_INSERTS});
+	 * if it exists already, an exception must be raised either by this method or by {@link #updateTuple(Tuple, EntityKey)}
+	 * when writing the new tuple
 	 */
 	Tuple createTuple(EntityKey key);
 
@@ -75,6 +87,35 @@ public interface GridDialect extends Service {
 	 */
 	Association getAssociation(AssociationKey key, AssociationContext associationContext);
 
+	/**
+	 * Return the associations for the given keys, using as few datastore round-trips as possible.
+	 * The returned list has the same order as the given keys and contains {@code null} for each key without
+	 * a corresponding association.
+	 */
+	List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext);
+
+	/**
+	 * Return the number of rows of the given association, ideally without loading them.
+	 * Returns 0 if the association does not exist.
+	 */
+	int getAssociationSize(AssociationKey key, AssociationContext associationContext);
+
+	/**
+	 * Whether the given association contains a row with the given key, ideally without loading the other rows.
+	 * Returns {@code false} if the association does not exist.
+	 */
+	boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext);
+
+	/**
+	 * Return an association to which rows can be added and from which rows can be removed without reading the
+	 * existing rows first, or {@code null} if the dialect doesn't support this for the given key.
+	 * The snapshot of the returned association is
+	 * {@link org.hibernate.ogm.datastore.impl.UnloadedAssociationSnapshot#SINGLETON}; when passed to
+	 * {@link #updateAssociation(Association, AssociationKey)}, rows put into it are to be added unless an equal row
+	 * exists, removed rows are to be matched by their key and the association is to be removed once it has no rows.
+	 */
+	Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext);
+
 	/**
 	 * Create an empty container for the list of tuples corresponding to a given association
 	 * Only used if the association data is not present
@@ -93,6 +134,15 @@ public interface GridDialect extends Service {
 
 	Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey);
 
+	/**
+	 * Execute all the write operations collected in the given queue, ideally using as few datastore round-trips as
+	 * possible. Operations are to be polled from the queue in order; the queue is empty once this method returns.
+	 *
+	 * Only invoked if batching of operations is enabled, see
+	 * {@link org.hibernate.ogm.cfg.OgmConfiguration#OGM_BATCH_OPERATIONS}
+	 */
+	void executeBatch(OperationsQueue queue);
+
 	/**
 	 * Update value with the guaranteed next value with the defined increment
 	 *
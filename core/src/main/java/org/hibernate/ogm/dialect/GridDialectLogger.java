@@ -20,7 +20,9 @@
  */
 package org.hibernate.ogm.dialect;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
@@ -30,6 +32,7 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -83,6 +86,12 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		return gridDialect.getTuple( key, tupleContext );
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		log.tracef( "Reading Tuples with keys %1$s and context %2$s", Arrays.toString( keys ), tupleContext.toString() );
+		return gridDialect.getTuples( keys, tupleContext );
+	}
+
 	@Override
 	public Tuple createTuple(EntityKey key) {
 		log.tracef( "Build Tuple object with key %1$s (does not trigger access to the datastore)", key );
@@ -112,6 +121,30 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return gridDialect.getAssociation( key, associationContext );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		log.tracef( "Reading associations with keys %1$s from datastore and context %2$s", Arrays.toString( keys ), associationContext );
+		return gridDialect.getAssociations( keys, associationContext );
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		log.tracef( "Reading size of association with key %1$s from datastore and context %2$s", key, associationContext );
+		return gridDialect.getAssociationSize( key, associationContext );
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		log.tracef( "Checking whether association with key %1$s contains row %2$s in datastore and context %3$s", key, rowKey, associationContext );
+		return gridDialect.associationContainsRow( key, rowKey, associationContext );
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		log.tracef( "Build association object for blind update with key %1$s and context %2$s (does not trigger access to the datastore)", key, associationContext );
+		return gridDialect.getAssociationForBlindUpdate( key, associationContext );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
 		log.tracef( "Build association object with key %1$s (does not trigger access to the datastore)", key );
@@ -145,6 +178,12 @@ public Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey
 		return gridDialect.createTupleAssociation( associationKey, rowKey );
 	}
 
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		log.tracef( "Executing batch of %1$s operations", queue.size() );
+		gridDialect.executeBatch( queue );
+	}
+
 	@Override
 	public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, int initialValue) {
 		log.tracef( "Extracting next value from key %1$s", key );
@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.batch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The write operations collected during a flush, keyed by the {@link org.hibernate.ogm.grid.EntityKey} or
+ * {@link org.hibernate.ogm.grid.AssociationKey} they target.
+ * <p>
+ * Several operations on the same key are coalesced: only the last one is kept, at the position of the first one.
+ * The tuple or association of an update operation accumulates all the changes applied to it during the flush, so the
+ * last operation is the only one required to bring the datastore up to date.
+ */
+public class OperationsQueue {
+
+	private final Map<Object, Operation> operations = new LinkedHashMap<Object, Operation>();
+
+	public void add(Operation operation) {
+		operations.put( operation.getKey(), operation );
+	}
+
+	/**
+	 * Return the pending operation for the given key or {@code null} if there is none
+	 */
+	public Operation getOperation(Object key) {
+		return operations.get( key );
+	}
+
+	/**
+	 * Remove the pending operation for the given key, if any
+	 */
+	public Operation removeOperation(Object key) {
+		return operations.remove( key );
+	}
+
+	/**
+	 * Retrieve and remove the first operation of this queue
+	 *
+	 * @return the first operation of this queue or {@code null} if it is empty
+	 */
+	public Operation poll() {
+		Iterator<Operation> iterator = operations.values().iterator();
+		if ( !iterator.hasNext() ) {
+			return null;
+		}
+		Operation operation = iterator.next();
+		iterator.remove();
+		return operation;
+	}
+
+	public boolean isEmpty() {
+		return operations.isEmpty();
+	}
+
+	public int size() {
+		return operations.size();
+	}
+
+	@Override
+	public String toString() {
+		return "OperationsQueue[" + operations.size() + " operations]";
+	}
+}
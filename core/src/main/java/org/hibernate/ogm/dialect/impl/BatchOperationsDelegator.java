@@ -0,0 +1,381 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.LockMode;
+import org.hibernate.dialect.lock.LockingStrategy;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.ogm.datastore.impl.UnloadedAssociationSnapshot;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
+import org.hibernate.ogm.type.GridType;
+import org.hibernate.persister.entity.Lockable;
+import org.hibernate.type.Type;
+
+/**
+ * A wrapper dialect which collects the write operations issued during a flush in an {@link OperationsQueue} and hands
+ * them over to the real dialect at the end of the flush.
+ * <p>
+ * Each flushing session gets its own queue between {@link #prepareBatch(SessionImplementor)} and
+ * {@link #executeBatch(SessionImplementor)}, which are invoked by the flush event listeners. As the dialect methods
+ * don't know the session they are called for, the queue of the session currently flushing on a thread is exposed to
+ * them; a session flushed while another one is flushing on the same thread (e.g. from within a listener) thus collects
+ * its operations separately. Outside of a flush, operations are passed on to the real dialect right away. Reads of
+ * keys with pending operations are answered from the queue, so the persisters see their own writes.
+ * @see org.hibernate.ogm.cfg.OgmConfiguration#OGM_BATCH_OPERATIONS
+ */
+public class BatchOperationsDelegator implements GridDialect {
+
+	private final GridDialect gridDialect;
+	private final ThreadLocal<SessionBatch> currentBatch = new ThreadLocal<SessionBatch>();
+
+	public BatchOperationsDelegator(GridDialect gridDialect) {
+		this.gridDialect = gridDialect;
+	}
+
+	/**
+	 * Start collecting operations for the given session.
+	 *
+	 * @return {@code true} if a new batch has been started, {@code false} if a batch is already in progress for the
+	 * given session
+	 */
+	public boolean prepareBatch(SessionImplementor session) {
+		SessionBatch batch = currentBatch.get();
+		if ( batch != null && batch.session == session ) {
+			return false;
+		}
+		currentBatch.set( new SessionBatch( session, batch ) );
+		return true;
+	}
+
+	/**
+	 * Execute the operations collected for the given session and stop collecting.
+	 */
+	public void executeBatch(SessionImplementor session) {
+		SessionBatch batch = unbindBatch( session );
+		if ( batch != null && !batch.queue.isEmpty() ) {
+			gridDialect.executeBatch( batch.queue );
+		}
+	}
+
+	/**
+	 * Discard the operations collected for the given session, if any, and stop collecting.
+	 */
+	public void clearBatch(SessionImplementor session) {
+		unbindBatch( session );
+	}
+
+	/**
+	 * Removes the batch of the given session, making the batch of the session whose flush has been interrupted by it the
+	 * current one again.
+	 */
+	private SessionBatch unbindBatch(SessionImplementor session) {
+		SessionBatch batch = currentBatch.get();
+		if ( batch == null || batch.session != session ) {
+			return null;
+		}
+		if ( batch.previous == null ) {
+			currentBatch.remove();
+		}
+		else {
+			currentBatch.set( batch.previous );
+		}
+		return batch;
+	}
+
+	@Override
+	public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode) {
+		return gridDialect.getLockingStrategy( lockable, lockMode );
+	}
+
+	@Override
+	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+		Operation operation = getPendingOperation( key );
+		if ( operation == null ) {
+			return gridDialect.getTuple( key, tupleContext );
+		}
+		return getTuple( operation );
+	}
+
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null || queue.isEmpty() ) {
+			return gridDialect.getTuples( keys, tupleContext );
+		}
+
+		List<EntityKey> keysToRead = new ArrayList<EntityKey>( keys.length );
+		for ( EntityKey key : keys ) {
+			if ( queue.getOperation( key ) == null ) {
+				keysToRead.add( key );
+			}
+		}
+		Iterator<Tuple> readTuples = keysToRead.isEmpty()
+				? null
+				: gridDialect.getTuples( keysToRead.toArray( new EntityKey[keysToRead.size()] ), tupleContext ).iterator();
+
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			Operation operation = queue.getOperation( key );
+			tuples.add( operation == null ? readTuples.next() : getTuple( operation ) );
+		}
+		return tuples;
+	}
+
+	private Tuple getTuple(Operation operation) {
+		return operation instanceof UpdateTupleOperation ? ( (UpdateTupleOperation) operation ).getTuple() : null;
+	}
+
+	@Override
+	public Tuple createTuple(EntityKey key) {
+		executePendingRemoval( key, RemoveTupleOperation.class );
+		return gridDialect.createTuple( key );
+	}
+
+	@Override
+	public void updateTuple(Tuple tuple, EntityKey key) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null ) {
+			gridDialect.updateTuple( tuple, key );
+		}
+		else {
+			queue.add( new UpdateTupleOperation( tuple, key ) );
+		}
+	}
+
+	@Override
+	public void removeTuple(EntityKey key) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null ) {
+			gridDialect.removeTuple( key );
+		}
+		else {
+			queue.add( new RemoveTupleOperation( key ) );
+		}
+	}
+
+	@Override
+	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+		executePendingBlindUpdate( key );
+		Operation operation = getPendingOperation( key );
+		if ( operation == null ) {
+			return gridDialect.getAssociation( key, associationContext );
+		}
+		return getAssociation( operation );
+	}
+
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null || queue.isEmpty() ) {
+			return gridDialect.getAssociations( keys, associationContext );
+		}
+		for ( AssociationKey key : keys ) {
+			executePendingBlindUpdate( key );
+		}
+
+		List<AssociationKey> keysToRead = new ArrayList<AssociationKey>( keys.length );
+		for ( AssociationKey key : keys ) {
+			if ( queue.getOperation( key ) == null ) {
+				keysToRead.add( key );
+			}
+		}
+		Iterator<Association> readAssociations = keysToRead.isEmpty()
+				? null
+				: gridDialect.getAssociations( keysToRead.toArray( new AssociationKey[keysToRead.size()] ), associationContext ).iterator();
+
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( AssociationKey key : keys ) {
+			Operation operation = queue.getOperation( key );
+			associations.add( operation == null ? readAssociations.next() : getAssociation( operation ) );
+		}
+		return associations;
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		executePendingBlindUpdate( key );
+		Operation operation = getPendingOperation( key );
+		if ( operation == null ) {
+			return gridDialect.getAssociationSize( key, associationContext );
+		}
+		Association association = getAssociation( operation );
+		return association == null ? 0 : association.size();
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		executePendingBlindUpdate( key );
+		Operation operation = getPendingOperation( key );
+		if ( operation == null ) {
+			return gridDialect.associationContainsRow( key, rowKey, associationContext );
+		}
+		Association association = getAssociation( operation );
+		return association != null && association.get( rowKey ) != null;
+	}
+
+	/**
+	 * Several blind updates of the same association within one flush are collected by the same association object.
+	 */
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		Operation operation = getPendingOperation( key );
+		if ( operation instanceof UpdateAssociationOperation ) {
+			return ( (UpdateAssociationOperation) operation ).getAssociation();
+		}
+		executePendingRemoval( key, RemoveAssociationOperation.class );
+		return gridDialect.getAssociationForBlindUpdate( key, associationContext );
+	}
+
+	private Association getAssociation(Operation operation) {
+		return operation instanceof UpdateAssociationOperation ? ( (UpdateAssociationOperation) operation ).getAssociation() : null;
+	}
+
+	@Override
+	public Association createAssociation(AssociationKey key) {
+		executePendingRemoval( key, RemoveAssociationOperation.class );
+		return gridDialect.createAssociation( key );
+	}
+
+	@Override
+	public void updateAssociation(Association association, AssociationKey key) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null ) {
+			gridDialect.updateAssociation( association, key );
+		}
+		else {
+			queue.add( new UpdateAssociationOperation( association, key ) );
+		}
+	}
+
+	@Override
+	public void removeAssociation(AssociationKey key) {
+		OperationsQueue queue = getOperationsQueue();
+		if ( queue == null ) {
+			gridDialect.removeAssociation( key );
+		}
+		else {
+			queue.add( new RemoveAssociationOperation( key ) );
+		}
+	}
+
+	@Override
+	public Tuple createTupleAssociation(AssociationKey associationKey, RowKey rowKey) {
+		return gridDialect.createTupleAssociation( associationKey, rowKey );
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		gridDialect.executeBatch( queue );
+	}
+
+	@Override
+	public void nextValue(RowKey key, IntegralDataTypeHolder value, int increment, int initialValue) {
+		gridDialect.nextValue( key, value, increment, initialValue );
+	}
+
+	@Override
+	public GridType overrideType(Type type) {
+		return gridDialect.overrideType( type );
+	}
+
+	@Override
+	public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetadatas) {
+		gridDialect.forEachTuple( consumer, entityKeyMetadatas );
+	}
+
+	@Override
+	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
+		return gridDialect.executeBackendQuery( customQuery, metadatas );
+	}
+
+	/**
+	 * Returns the queue of the session currently flushing on this thread or {@code null} if no flush is in progress.
+	 */
+	private OperationsQueue getOperationsQueue() {
+		SessionBatch batch = currentBatch.get();
+		return batch == null ? null : batch.queue;
+	}
+
+	private Operation getPendingOperation(Object key) {
+		OperationsQueue queue = getOperationsQueue();
+		return queue == null ? null : queue.getOperation( key );
+	}
+
+	/**
+	 * Some dialects write new tuples and associations to the datastore right away when creating them; a pending removal
+	 * of the same key thus must be applied beforehand.
+	 */
+	private void executePendingRemoval(Object key, Class<? extends Operation> removalType) {
+		Operation operation = getPendingOperation( key );
+		if ( removalType.isInstance( operation ) ) {
+			getOperationsQueue().removeOperation( key );
+			GridDialectHelpers.executeOperation( gridDialect, operation );
+		}
+	}
+
+	/**
+	 * An association updated blindly doesn't know its rows; reading it thus requires the pending operations to be
+	 * executed first. The complete queue is executed in order, as the update may depend on preceding operations.
+	 */
+	private void executePendingBlindUpdate(AssociationKey key) {
+		Operation operation = getPendingOperation( key );
+		if ( operation instanceof UpdateAssociationOperation
+				&& ( (UpdateAssociationOperation) operation ).getAssociation().getSnapshot() == UnloadedAssociationSnapshot.SINGLETON ) {
+			gridDialect.executeBatch( getOperationsQueue() );
+		}
+	}
+
+	/**
+	 * The operations collected during the flush of one session.
+	 */
+	private static class SessionBatch {
+
+		private final SessionImplementor session;
+		private final OperationsQueue queue = new OperationsQueue();
+		private final SessionBatch previous;
+
+		private SessionBatch(SessionImplementor session, SessionBatch previous) {
+			this.session = session;
+			this.previous = previous;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.impl;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+
+/**
+ * Wraps the flush and auto-flush listeners of Hibernate ORM, collecting all the write operations of a flush in a
+ * batch which is executed once the flush is done.
+ * @see BatchOperationsDelegator
+ */
+public class FlushBatchingEventListener implements FlushEventListener, AutoFlushEventListener {
+
+	private final FlushEventListener flushDelegate;
+	private final AutoFlushEventListener autoFlushDelegate;
+	private final BatchOperationsDelegator gridDialect;
+
+	private FlushBatchingEventListener(FlushEventListener flushDelegate, AutoFlushEventListener autoFlushDelegate, BatchOperationsDelegator gridDialect) {
+		this.flushDelegate = flushDelegate;
+		this.autoFlushDelegate = autoFlushDelegate;
+		this.gridDialect = gridDialect;
+	}
+
+	public static FlushBatchingEventListener forFlush(FlushEventListener delegate, BatchOperationsDelegator gridDialect) {
+		return new FlushBatchingEventListener( delegate, null, gridDialect );
+	}
+
+	public static FlushBatchingEventListener forAutoFlush(AutoFlushEventListener delegate, BatchOperationsDelegator gridDialect) {
+		return new FlushBatchingEventListener( null, delegate, gridDialect );
+	}
+
+	@Override
+	public void onFlush(FlushEvent event) throws HibernateException {
+		boolean newBatch = gridDialect.prepareBatch( event.getSession() );
+		try {
+			flushDelegate.onFlush( event );
+			if ( newBatch ) {
+				gridDialect.executeBatch( event.getSession() );
+			}
+		}
+		finally {
+			if ( newBatch ) {
+				gridDialect.clearBatch( event.getSession() );
+			}
+		}
+	}
+
+	@Override
+	public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
+		boolean newBatch = gridDialect.prepareBatch( event.getSession() );
+		try {
+			autoFlushDelegate.onAutoFlush( event );
+			if ( newBatch ) {
+				gridDialect.executeBatch( event.getSession() );
+			}
+		}
+		finally {
+			if ( newBatch ) {
+				gridDialect.clearBatch( event.getSession() );
+			}
+		}
+	}
+}
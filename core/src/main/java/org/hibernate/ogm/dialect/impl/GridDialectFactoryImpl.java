@@ -24,6 +24,8 @@
 import java.util.Map;
 
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.ogm.cfg.OgmConfiguration;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.dialect.GridDialectLogger;
@@ -47,7 +49,12 @@ public GridDialectFactoryImpl(DatastoreProvider datastore) {
 	public GridDialect buildGridDialect(Map configurationValues, ServiceRegistry registry) {
 		Object value = configurationValues.get( GRID_DIALECT );
 		Class<? extends GridDialect> dialectClass = dialectClass( registry, value );
-		return buildDialect( registry, dialectClass );
+		GridDialect gridDialect = buildDialect( registry, dialectClass );
+		if ( ConfigurationHelper.getBoolean( OgmConfiguration.OGM_BATCH_OPERATIONS, configurationValues, false ) ) {
+			gridDialect = new BatchOperationsDelegator( gridDialect );
+			log.info( "Batching of grid dialect operations is enabled" );
+		}
+		return gridDialect;
 	}
 
 	private GridDialect buildDialect(ServiceRegistry registry, Class<? extends GridDialect> dialectClass) {
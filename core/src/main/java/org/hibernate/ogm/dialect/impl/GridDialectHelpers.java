@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.common.AssertionFailure;
+
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.RowKey;
+
+/**
+ * Default implementations of {@link GridDialect} operations which can be expressed in terms of other operations of
+ * the dialect. Dialects without a native way to implement such an operation delegate to these methods.
+ */
+public final class GridDialectHelpers {
+
+	private GridDialectHelpers() {
+		// not meant to be instantiated
+	}
+
+	/**
+	 * Reads the tuples with the given keys one by one.
+	 *
+	 * @see GridDialect#getTuples(EntityKey[], TupleContext)
+	 */
+	public static List<Tuple> getTuplesOneByOne(GridDialect gridDialect, EntityKey[] keys, TupleContext tupleContext) {
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			tuples.add( gridDialect.getTuple( key, tupleContext ) );
+		}
+		return tuples;
+	}
+
+	/**
+	 * Reads the associations with the given keys one by one.
+	 *
+	 * @see GridDialect#getAssociations(AssociationKey[], AssociationContext)
+	 */
+	public static List<Association> getAssociationsOneByOne(GridDialect gridDialect, AssociationKey[] keys, AssociationContext associationContext) {
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( AssociationKey key : keys ) {
+			associations.add( gridDialect.getAssociation( key, associationContext ) );
+		}
+		return associations;
+	}
+
+	/**
+	 * Determines the size of the given association by loading it.
+	 *
+	 * @see GridDialect#getAssociationSize(AssociationKey, AssociationContext)
+	 */
+	public static int getAssociationSizeByLoading(GridDialect gridDialect, AssociationKey key, AssociationContext associationContext) {
+		Association association = gridDialect.getAssociation( key, associationContext );
+		return association == null ? 0 : association.size();
+	}
+
+	/**
+	 * Determines whether the given association contains the given row by loading the association.
+	 *
+	 * @see GridDialect#associationContainsRow(AssociationKey, RowKey, AssociationContext)
+	 */
+	public static boolean associationContainsRowByLoading(GridDialect gridDialect, AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		Association association = gridDialect.getAssociation( key, associationContext );
+		return association != null && association.get( rowKey ) != null;
+	}
+
+	/**
+	 * Executes the operations of the given queue one by one.
+	 *
+	 * @see GridDialect#executeBatch(OperationsQueue)
+	 */
+	public static void executeBatchOneByOne(GridDialect gridDialect, OperationsQueue queue) {
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			executeOperation( gridDialect, operation );
+			operation = queue.poll();
+		}
+	}
+
+	/**
+	 * Executes the given operation using the corresponding single-key method of the given dialect.
+	 */
+	public static void executeOperation(GridDialect gridDialect, Operation operation) {
+		if ( operation instanceof UpdateTupleOperation ) {
+			UpdateTupleOperation update = (UpdateTupleOperation) operation;
+			gridDialect.updateTuple( update.getTuple(), update.getEntityKey() );
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			gridDialect.removeTuple( ( (RemoveTupleOperation) operation ).getEntityKey() );
+		}
+		else if ( operation instanceof UpdateAssociationOperation ) {
+			UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+			gridDialect.updateAssociation( update.getAssociation(), update.getAssociationKey() );
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			gridDialect.removeAssociation( ( (RemoveAssociationOperation) operation ).getAssociationKey() );
+		}
+		else {
+			throw new AssertionFailure( "Unknown operation type: " + operation );
+		}
+	}
+}
@@ -85,7 +85,17 @@ public List list() throws HibernateException {
 	 */
 	private Query getExecutingQuery() {
 		Map<String,Object> namedParameters = toUntypedParameters();
-		return queryParserService.getParsedQueryExecutor( session, getQueryString(), namedParameters );
+		Query query = queryParserService.getParsedQueryExecutor( session, getQueryString(), namedParameters );
+		if ( getFirstResult() != null ) {
+			query.setFirstResult( getFirstResult() );
+		}
+		if ( getMaxResults() != null ) {
+			query.setMaxResults( getMaxResults() );
+		}
+		if ( getFetchSize() != null ) {
+			query.setFetchSize( getFetchSize() );
+		}
+		return query;
 	}
 
 	/**
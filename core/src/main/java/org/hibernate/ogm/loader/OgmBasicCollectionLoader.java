@@ -36,10 +36,14 @@ public OgmBasicCollectionLoader(OgmCollectionPersister collectionPersister) {
 		super( new OgmCollectionPersister[] { collectionPersister } );
 	}
 
+	public OgmBasicCollectionLoader(OgmCollectionPersister collectionPersister, int batchSize) {
+		super( new OgmCollectionPersister[] { collectionPersister }, batchSize );
+	}
+
 	@Override
 	public void initialize(Serializable id, SessionImplementor session)
 	throws HibernateException {
-		loadCollection( session, id, getKeyType() );
+		loadCollectionBatch( session, id, getKeyType() );
 	}
 
 	protected Type getKeyType() {
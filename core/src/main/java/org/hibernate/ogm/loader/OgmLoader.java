@@ -24,6 +24,7 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hibernate.HibernateException;
@@ -45,9 +46,11 @@
 import org.hibernate.loader.CollectionAliases;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.datastore.impl.SnapshotCache;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.jdbc.TupleAsMapResultSet;
@@ -83,11 +86,19 @@ public class OgmLoader implements UniqueEntityLoader {
 	private final LockMode[] defaultLockModes;
 	private final CollectionAliases[] collectionAliases;
 	private final GridDialect gridDialect;
+	private final int batchSize;
 
 	/**
 	 * Load a collection
 	 */
 	public OgmLoader(OgmCollectionPersister[] collectionPersisters) {
+		this( collectionPersisters, 1 );
+	}
+
+	/**
+	 * Load a collection, initializing up to {@code batchSize} uninitialized collections of the same role at once
+	 */
+	public OgmLoader(OgmCollectionPersister[] collectionPersisters, int batchSize) {
 		if ( collectionPersisters == null || collectionPersisters.length == 0 ) {
 			throw new AssertionFailure( "CollectionPersister[] must not be null or empty" );
 		}
@@ -95,6 +106,7 @@ public OgmLoader(OgmCollectionPersister[] collectionPersisters) {
 		this.collectionPersisters = collectionPersisters;
 		this.factory = collectionPersisters[0].getFactory();
 		this.gridDialect = this.factory.getServiceRegistry().getService( DatastoreServices.class ).getGridDialect();
+		this.batchSize = batchSize;
 
 		//NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -109,6 +121,13 @@ public OgmLoader(OgmCollectionPersister[] collectionPersisters) {
 	 * Load an entity
 	 */
 	public OgmLoader(OgmEntityPersister[] entityPersisters) {
+		this( entityPersisters, 1 );
+	}
+
+	/**
+	 * Load an entity, loading up to {@code batchSize} pending proxies of the same entity type at once
+	 */
+	public OgmLoader(OgmEntityPersister[] entityPersisters, int batchSize) {
 		if ( entityPersisters == null || entityPersisters.length == 0 ) {
 			throw new AssertionFailure( "EntityPersister[] must not be null or empty" );
 		}
@@ -116,6 +135,7 @@ public OgmLoader(OgmEntityPersister[] entityPersisters) {
 		this.collectionPersisters = new OgmCollectionPersister[] {};
 		this.factory = entityPersisters[0].getFactory();
 		this.gridDialect = this.factory.getServiceRegistry().getService( DatastoreServices.class ).getGridDialect();
+		this.batchSize = batchSize;
 
 		// NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -145,6 +165,15 @@ public Object load(Serializable id, Object optionalObject, SessionImplementor se
 	 */
 	@Override
 	public Object load(Serializable id, Object optionalObject, SessionImplementor session, LockOptions lockOptions) {
+		if ( batchSize > 1 ) {
+			Serializable[] batch = session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getEntityBatch( entityPersisters[0], id, batchSize, entityPersisters[0].getEntityMode() );
+			Serializable[] ids = removeNullIds( batch );
+			if ( ids.length > 1 ) {
+				return loadEntityBatch( id, ids, optionalObject, session, lockOptions );
+			}
+		}
 		List results = loadEntity( id, optionalObject, session, lockOptions, OgmLoadingContext.EMPTY_CONTEXT );
 		if ( results.size() == 1 ) {
 			return results.get( 0 );
@@ -160,6 +189,67 @@ else if ( results.size() == 0 ) {
 		}
 	}
 
+	/**
+	 * Load the entities with the given ids using a single datastore call and return the one with the requested id
+	 */
+	private Object loadEntityBatch(
+			Serializable id,
+			Serializable[] ids,
+			Object optionalObject,
+			SessionImplementor session,
+			LockOptions lockOptions) {
+		final OgmEntityPersister persister = entityPersisters[0];
+		if ( log.isDebugEnabled() ) {
+			log.debug( "batch loading entity: " + MessageHelper.infoString( persister, ids, getFactory() ) );
+		}
+		EntityKey[] keys = new EntityKey[ids.length];
+		for ( int i = 0; i < ids.length; i++ ) {
+			keys[i] = EntityKeyBuilder.fromPersister( persister, ids[i], session );
+		}
+		List<Tuple> tuples = new ArrayList<Tuple>( ids.length );
+		SnapshotCache snapshotCache = SnapshotCache.forSession( session );
+		List<EntityKey> keysToRead = new ArrayList<EntityKey>( keys.length );
+		for ( EntityKey key : keys ) {
+			Tuple tuple = snapshotCache.getTuple( key );
+			if ( tuple == null ) {
+				keysToRead.add( key );
+			}
+			else {
+				tuples.add( tuple );
+			}
+		}
+		if ( !keysToRead.isEmpty() ) {
+			EntityKey[] readKeys = keysToRead.toArray( new EntityKey[keysToRead.size()] );
+			int i = 0;
+			for ( Tuple tuple : gridDialect.getTuples( readKeys, persister.getTupleContext() ) ) {
+				if ( tuple != null ) {
+					tuples.add( tuple );
+					snapshotCache.putTuple( readKeys[i], tuple );
+				}
+				i++;
+			}
+		}
+		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
+		ogmLoadingContext.setTuples( tuples );
+		List<Object> results = loadEntity( id, optionalObject, session, lockOptions, ogmLoadingContext );
+		for ( Object result : results ) {
+			if ( persister.getIdentifierType().isEqual( id, session.getContextEntityIdentifier( result ), getFactory() ) ) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	private static Serializable[] removeNullIds(Serializable[] ids) {
+		List<Serializable> nonNullIds = new ArrayList<Serializable>( ids.length );
+		for ( Serializable id : ids ) {
+			if ( id != null ) {
+				nonNullIds.add( id );
+			}
+		}
+		return nonNullIds.toArray( new Serializable[nonNullIds.size()] );
+	}
+
 	private List<Object> loadEntity(
 			Serializable id,
 			Object optionalObject,
@@ -234,6 +324,46 @@ public final void loadCollection(
 
 	}
 
+	/**
+	 * Called by subclasses that initialize collections, loading the collection with the given key together with
+	 * other uninitialized collections of the same role pending in the persistence context
+	 */
+	public final void loadCollectionBatch(
+		final SessionImplementor session,
+		final Serializable id,
+		final Type type) throws HibernateException {
+
+		Serializable[] ids = new Serializable[] { id };
+		if ( batchSize > 1 ) {
+			ids = removeNullIds( session.getPersistenceContext()
+					.getBatchFetchQueue()
+					.getCollectionBatch( getCollectionPersisters()[0], id, batchSize ) );
+		}
+		if ( ids.length <= 1 ) {
+			loadCollection( session, id, type );
+			return;
+		}
+
+		if ( log.isDebugEnabled() ) {
+			log.debug(
+					"batch loading collection: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() )
+				);
+		}
+
+		Type[] idTypes = new Type[ids.length];
+		Arrays.fill( idTypes, type );
+		QueryParameters qp = new QueryParameters( idTypes, ids, ids );
+		doQueryAndInitializeNonLazyCollections(
+				session,
+				qp,
+				OgmLoadingContext.EMPTY_CONTEXT,
+				true
+			);
+
+		log.debug( "done batch loading collection" );
+	}
+
 	OgmEntityPersister[] getEntityPersisters() {
 		return entityPersisters;
 	}
@@ -302,7 +432,7 @@ else if ( ogmLoadingContext.hasResultSet() ) {
 		else {
 			id = qp.getCollectionKeys()[0];
 		}
-		TupleAsMapResultSet resultset = getResultSet( id, ogmLoadingContext, session );
+		TupleAsMapResultSet resultset = getResultSet( id, qp.getCollectionKeys(), ogmLoadingContext, session );
 
 		//Todo implement lockmode
 		//final LockMode[] lockModesArray = getLockModes( queryParameters.getLockOptions() );
@@ -449,7 +579,8 @@ private void extractKeysFromResultSet(
 			//do nothing, this is a collection
 		}
 		else {
-			if (optionalId == null) {
+			//in case of a batch load, the ids of the rows differ from the requested one
+			if ( optionalId == null || ogmLoadingContext.hasResultSet() ) {
 				final OgmEntityPersister currentPersister = entityPersisters[0];
 				Tuple tuple =  ogmLoadingContext.getResultSet().getTuple();
 				GridType gridIdentifierType = currentPersister.getGridIdentifierType();
@@ -460,8 +591,8 @@ private void extractKeysFromResultSet(
 		}
 	}
 
-	private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmLoadingContext, SessionImplementor session) {
-		if ( id == null && ogmLoadingContext.hasResultSet() ) {
+	private TupleAsMapResultSet getResultSet(Serializable id, Serializable[] collectionKeys, OgmLoadingContext ogmLoadingContext, SessionImplementor session) {
+		if ( ogmLoadingContext.hasResultSet() ) {
 			return ogmLoadingContext.getResultSet();
 		}
 
@@ -470,7 +601,13 @@ private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmL
 		if ( getEntityPersisters().length > 0 ) {
 			OgmEntityPersister persister = getEntityPersisters()[0];
 			final EntityKey key = EntityKeyBuilder.fromPersister( persister, id, session );
-			Tuple entry = gridDialect.getTuple( key, persister.getTupleContext() );
+			final SnapshotCache snapshotCache = SnapshotCache.forSession( session );
+			Tuple entry = snapshotCache.getTuple( key );
+			if ( entry == null ) {
+				entry = gridDialect.getTuple( key, persister.getTupleContext() );
+				// keep the tuple around so it does not need to be read again when updating the entity
+				snapshotCache.putTuple( key, entry );
+			}
 			if ( entry != null ) {
 				resultset.addTuple( entry );
 			}
@@ -481,23 +618,55 @@ private TupleAsMapResultSet getResultSet(Serializable id, OgmLoadingContext ogmL
 				throw new AssertionFailure( "Found an unexpected number of collection persisters: " + getCollectionPersisters().length );
 			}
 			final OgmCollectionPersister persister = (OgmCollectionPersister) getCollectionPersisters()[0];
-			PropertyMetadataProvider metadataProvider = new PropertyMetadataProvider()
-				.gridDialect( gridDialect )
-				.key( id )
-				.keyGridType( persister.getKeyGridType() )
-				.collectionPersister( persister )
-				.associationMetadataKey( persister.getAssociationKeyMetadata() )
-				.session( session );
-			Association assoc = metadataProvider.getCollectionMetadataOrNull();
-			if ( assoc != null ) {
-				for ( RowKey rowKey : assoc.getKeys() ) {
-					resultset.addTuple( assoc.get( rowKey ) );
+			if ( collectionKeys != null && collectionKeys.length > 1 ) {
+				final SnapshotCache snapshotCache = SnapshotCache.forSession( session );
+				List<AssociationKey> keysToRead = new ArrayList<AssociationKey>( collectionKeys.length );
+				for ( Serializable collectionKey : collectionKeys ) {
+					AssociationKey associationKey = getCollectionMetadataProvider( persister, collectionKey, session ).getCollectionMetadataKey();
+					Association assoc = snapshotCache.getAssociation( associationKey );
+					if ( assoc == null ) {
+						keysToRead.add( associationKey );
+					}
+					else {
+						addAssociationRows( resultset, assoc );
+					}
+				}
+				if ( !keysToRead.isEmpty() ) {
+					AssociationKey[] readKeys = keysToRead.toArray( new AssociationKey[keysToRead.size()] );
+					int i = 0;
+					for ( Association assoc : gridDialect.getAssociations( readKeys, persister.getAssociationContext() ) ) {
+						snapshotCache.putAssociation( readKeys[i], assoc );
+						addAssociationRows( resultset, assoc );
+						i++;
+					}
 				}
 			}
+			else {
+				Association assoc = getCollectionMetadataProvider( persister, id, session ).getCollectionMetadataOrNull();
+				addAssociationRows( resultset, assoc );
+			}
 		}
 		return resultset;
 	}
 
+	private PropertyMetadataProvider getCollectionMetadataProvider(OgmCollectionPersister persister, Serializable id, SessionImplementor session) {
+		return new PropertyMetadataProvider()
+			.gridDialect( gridDialect )
+			.key( id )
+			.keyGridType( persister.getKeyGridType() )
+			.collectionPersister( persister )
+			.associationMetadataKey( persister.getAssociationKeyMetadata() )
+			.session( session );
+	}
+
+	private void addAssociationRows(TupleAsMapResultSet resultset, Association assoc) {
+		if ( assoc != null ) {
+			for ( RowKey rowKey : assoc.getKeys() ) {
+				resultset.addTuple( assoc.get( rowKey ) );
+			}
+		}
+	}
+
 	private Object getResultColumnOrRow(Object[] row) {
 		//getResultColumnOrRow
 		//today we don't use this to apply the result transformer and we don't have operations to do like other loaders
@@ -191,7 +191,8 @@ private void doAddPropertyMetadata(int tableIndex, int propertyIndex, Object[] n
 				//does not set .collectionPersister as it does not make sense here for a ToOne or a unique key
 				.tableName( persister.getTableName( tableIndex ) )
 				.propertyType( persister.getPropertyTypes()[propertyIndex] )
-				.rowKeyColumnNames( rowKeyColumnNames );
+				.rowKeyColumnNames( rowKeyColumnNames )
+				.blindUpdate();
 		Tuple tuple = new Tuple( EmptyTupleSnapshot.SINGLETON );
 		//add the id column
 		final String[] identifierColumnNames = persister.getIdentifierColumnNames();
@@ -239,7 +240,8 @@ private void doRemovePropertyMetadata(int tableIndex,
 				//does not set .collectionPersister as it does not make sense here for a ToOne or a unique key
 				.tableName( persister.getTableName( tableIndex ) )
 				.propertyType( persister.getPropertyTypes()[propertyIndex] )
-				.rowKeyColumnNames( rowKeyColumnNames );
+				.rowKeyColumnNames( rowKeyColumnNames )
+				.blindUpdate();
 		//add fk column value in TupleKey
 		Tuple tupleKey = new Tuple( EmptyTupleSnapshot.SINGLETON );
 		for (int index = 0 ; index < propertyColumnNames.length ; index++) {
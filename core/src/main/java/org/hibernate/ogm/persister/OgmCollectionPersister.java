@@ -46,6 +46,7 @@
 import org.hibernate.mapping.Collection;
 import org.hibernate.ogm.datastore.impl.DatastoreServices;
 import org.hibernate.ogm.datastore.impl.EmptyTupleSnapshot;
+import org.hibernate.ogm.datastore.impl.SnapshotCache;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
@@ -90,6 +91,7 @@ public class OgmCollectionPersister extends AbstractCollectionPersister implemen
 	private final AssociationContext associationContext;
 	private final AssociationKeyMetadata associationKeyMetadata;
 	private final AssociationKeyMetadata associationKeyMetadataFromElement;
+	private final int batchSize;
 
 	public OgmCollectionPersister(final Collection collection, final CollectionRegionAccessStrategy cacheAccessStrategy, final Configuration cfg, final SessionFactoryImplementor factory)
 			throws MappingException, CacheException {
@@ -97,6 +99,12 @@ public OgmCollectionPersister(final Collection collection, final CollectionRegio
 		ServiceRegistry registry = factory.getServiceRegistry();
 		final TypeTranslator typeTranslator = registry.getService( TypeTranslator.class );
 		this.gridDialect = registry.getService( DatastoreServices.class ).getGridDialect();
+		// same defaulting as in AbstractCollectionPersister
+		int batch = collection.getBatchSize();
+		if ( batch == -1 ) {
+			batch = factory.getSettings().getDefaultBatchFetchSize();
+		}
+		this.batchSize = batch;
 		keyGridType = typeTranslator.getType( getKeyType() );
 		elementGridType = typeTranslator.getType( getElementType() );
 		indexGridType = typeTranslator.getType( getIndexType() );
@@ -213,7 +221,7 @@ protected CollectionInitializer createSubselectInitializer(SubselectFetch subsel
 	protected CollectionInitializer createCollectionInitializer(LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
 		// TODO pass constructor
-		return new OgmBasicCollectionLoader( this );
+		return new OgmBasicCollectionLoader( this, batchSize );
 	}
 
 	@Override
@@ -431,18 +439,69 @@ private RowKey getTupleKeyForDelete(Serializable key, PersistentCollection colle
 
 	@Override
 	public int getSize(Serializable key, SessionImplementor session) {
-		PropertyMetadataProvider metadataProvider = new PropertyMetadataProvider()
+		return getMetadataProvider( key, session ).getCollectionSize();
+	}
+
+	@Override
+	public boolean indexExists(Serializable key, Object index, SessionImplementor session) {
+		PropertyMetadataProvider metadataProvider = getMetadataProvider( key, session );
+		// see initializeRowKeyBuilder()
+		if ( !hasIdentifier && !isOneToMany() && hasIndex && !indexContainsFormula ) {
+			return metadataProvider.collectionContainsRow( getTupleKeyForDelete( key, null, session, index, true ) );
+		}
+		return containsColumnValues( metadataProvider, incrementIndexByBase( index ), indexGridType, getIndexColumnNames(), session );
+	}
+
+	@Override
+	public boolean elementExists(Serializable key, Object element, SessionImplementor session) {
+		PropertyMetadataProvider metadataProvider = getMetadataProvider( key, session );
+		// see initializeRowKeyBuilder()
+		if ( !hasIdentifier && ( isOneToMany() || !hasIndex || indexContainsFormula ) ) {
+			return metadataProvider.collectionContainsRow( getTupleKeyForDelete( key, null, session, element, false ) );
+		}
+		return containsColumnValues( metadataProvider, element, getElementGridType(), getElementColumnNames(), session );
+	}
+
+	/**
+	 * Whether the collection contains a row with the given value in the given columns. Requires the collection to be
+	 * loaded, so only used if the columns are not part of the row key.
+	 */
+	private boolean containsColumnValues(PropertyMetadataProvider metadataProvider, Object value, GridType gridType, String[] columnNames, SessionImplementor session) {
+		final Association collectionMetadata = metadataProvider.getCollectionMetadataOrNull();
+		if ( collectionMetadata == null ) {
+			return false;
+		}
+		Tuple expected = new Tuple( EmptyTupleSnapshot.SINGLETON );
+		gridType.nullSafeSet( expected, value, columnNames, session );
+		for ( RowKey rowKey : collectionMetadata.getKeys() ) {
+			Tuple row = collectionMetadata.get( rowKey );
+			if ( row != null && hasSameValues( row, expected, columnNames ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSameValues(Tuple row, Tuple expected, String[] columnNames) {
+		for ( String columnName : columnNames ) {
+			Object expectedValue = expected.get( columnName );
+			Object value = row.get( columnName );
+			if ( expectedValue == null ? value != null : !expectedValue.equals( value ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private PropertyMetadataProvider getMetadataProvider(Serializable key, SessionImplementor session) {
+		return new PropertyMetadataProvider()
 				.key( key )
 				.tableName( getTableName() )
 				.session( session )
 				.gridDialect( gridDialect )
-				.tableName( getTableName() )
 				.keyGridType( getKeyGridType() )
 				.associationMetadataKey( associationKeyMetadata )
 				.collectionPersister( this );
-
-		final Association collectionMetadata = metadataProvider.getCollectionMetadataOrNull();
-		return collectionMetadata == null ? 0 : collectionMetadata.size();
 	}
 
 	@Override
@@ -598,7 +657,11 @@ private void updateInverseSideOfAssociationNavigation(SessionImplementor session
 			Serializable entityId = (Serializable) gridTypeOfAssociatedId.nullSafeGet( tuple, getElementColumnNames(), session, null );
 			OgmEntityPersister persister = (OgmEntityPersister) getElementPersister();
 			final EntityKey entityKey = EntityKeyBuilder.fromPersister( persister, entityId, session );
-			final Tuple entityTuple = gridDialect.getTuple( entityKey, persister.getTupleContext() );
+			// the tuple is about to be written, so it is taken out of the snapshot cache
+			Tuple entityTuple = SnapshotCache.forSession( session ).removeTuple( entityKey );
+			if ( entityTuple == null ) {
+				entityTuple = gridDialect.getTuple( entityKey, persister.getTupleContext() );
+			}
 			// the entity tuple could already be gone (not 100% sure this can happen but that feels right)
 			if ( entityTuple == null ) {
 				return;
@@ -635,7 +698,8 @@ else if ( associationType == AssociationType.ASSOCIATION_TABLE_TO_ENTITY ) {
 					.associationMetadataKey( associationKeyMetadataFromElement )
 					.collectionPersister( this )
 					.key( entityId )
-					.inverse();
+					.inverse()
+					.blindUpdate();
 
 			// TODO what happens when a row should be *updated* ?: I suspect ADD works OK as it's a put()
 			if ( action == Action.ADD ) {
@@ -52,11 +52,14 @@
 import org.hibernate.engine.spi.ValueInclusion;
 import org.hibernate.internal.DynamicFilterAliasGenerator;
 import org.hibernate.internal.FilterAliasGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Table;
+import org.hibernate.ogm.cfg.OgmConfiguration;
 import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.datastore.impl.SnapshotCache;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
@@ -107,6 +110,8 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 	private final GridType gridIdentifierType;
 	private final String jpaEntityName;
 	private final TupleContext tupleContext;
+	private final int batchSize;
+	private final boolean optimisticInserts;
 
 	//service references
 	private final GridDialect gridDialect;
@@ -128,6 +133,14 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 		ServiceRegistryImplementor serviceRegistry = factory.getServiceRegistry();
 		this.gridDialect = serviceRegistry.getService( DatastoreServices.class ).getGridDialect();
 
+		// same defaulting as in AbstractEntityPersister
+		int batch = persistentClass.getBatchSize();
+		if ( batch == -1 ) {
+			batch = factory.getSettings().getDefaultBatchFetchSize();
+		}
+		this.batchSize = batch;
+		this.optimisticInserts = ConfigurationHelper.getBoolean( OgmConfiguration.OGM_OPTIMISTIC_INSERTS, factory.getProperties(), false );
+
 		tableName = persistentClass.getTable().getQualifiedName(
 				factory.getDialect(),
 				factory.getSettings().getDefaultCatalogName(),
@@ -294,7 +307,12 @@ public Object[] getDatabaseSnapshot(Serializable id, SessionImplementor session)
 
 	private Tuple getResultsetById(Serializable id, SessionImplementor session) {
 		final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
-		final Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
+		final SnapshotCache snapshotCache = SnapshotCache.forSession( session );
+		Tuple resultset = snapshotCache.getTuple( key );
+		if ( resultset == null ) {
+			resultset = gridDialect.getTuple( key, this.getTupleContext() );
+			snapshotCache.putTuple( key, resultset );
+		}
 		return resultset;
 	}
 
@@ -363,7 +381,9 @@ public Object getCurrentVersion(Serializable id, SessionImplementor session) thr
 		if ( log.isTraceEnabled() ) {
 			log.trace( "Getting version: " + MessageHelper.infoString( this, id, getFactory() ) );
 		}
-		final Tuple resultset = getResultsetById( id, session );
+		// the version must be read from the datastore, bypassing the snapshot cache
+		final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
+		final Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
 
 		if (resultset == null) {
 			return null;
@@ -400,6 +420,7 @@ public Object forceVersionIncrement(Serializable id, Object currentVersion, Sess
 		 * TODO should we use cache.replace() it seems more expensive to pass the resultset around "just" the atomicity of the operation
 		 */
 		final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
+		removeLoadedTuple( key, session );
 		final Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
 		checkVersionAndRaiseSOSE( id, currentVersion, session, resultset );
 		gridVersionType.nullSafeSet( resultset, nextVersion, new String[] { getVersionColumnName() }, session );
@@ -539,14 +560,14 @@ protected void createLoaders() {
 	protected UniqueEntityLoader createEntityLoader(LockMode lockMode, LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
 		//FIXME add support to lock mode and loadQueryInfluencers
-		return new OgmLoader( new OgmEntityPersister[] { this } );
+		return new OgmLoader( new OgmEntityPersister[] { this }, batchSize );
 	}
 
 	@Override
 	protected UniqueEntityLoader createEntityLoader(LockOptions lockOptions, LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
 		//FIXME add support to lock options and loadQueryInfluencers
-		return new OgmLoader( new OgmEntityPersister[] { this } );
+		return new OgmLoader( new OgmEntityPersister[] { this }, batchSize );
 	}
 
 	@Override
@@ -753,20 +774,27 @@ else if ( ! isModifiableEntity( entry ) ) {
 			// Now update only the tables with dirty properties (and the table with the version number)
 			if ( tableUpdateNeeded[j] ) {
 				final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
-				Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
 				final boolean useVersion = j == 0 && isVersioned();
+				final EntityMetamodel entityMetamodel = getEntityMetamodel();
+				final boolean checkVersion = useVersion
+						&& entityMetamodel.getOptimisticLockStyle() == OptimisticLockStyle.VERSION
+						&& checkVersion( propsToUpdate );
+				final boolean checkOldFields = !checkVersion && isAllOrDirtyOptLocking() && oldFields != null;
+
+				// optimistic lock checks need the current state from the datastore, otherwise the tuple read when
+				// loading the entity can be re-used
+				Tuple resultset = removeLoadedTuple( key, session );
+				if ( resultset == null || checkVersion || checkOldFields ) {
+					resultset = gridDialect.getTuple( key, this.getTupleContext() );
+				}
 
 				resultset = createNewResultSetIfNull( key, resultset, id, session );
 
-				final EntityMetamodel entityMetamodel = getEntityMetamodel();
-
 				// Write any appropriate versioning conditional parameters
-				if ( useVersion && entityMetamodel.getOptimisticLockStyle() == OptimisticLockStyle.VERSION ) {
-					if ( checkVersion( propsToUpdate ) ) {
-						checkVersionAndRaiseSOSE( id, oldVersion, session, resultset );
-					}
+				if ( checkVersion ) {
+					checkVersionAndRaiseSOSE( id, oldVersion, session, resultset );
 				}
-				else if ( isAllOrDirtyOptLocking() && oldFields != null ) {
+				else if ( checkOldFields ) {
 					boolean[] versionability = getPropertyVersionability(); //TODO: is this really necessary????
 					boolean[] includeOldField = entityMetamodel.getOptimisticLockStyle() == OptimisticLockStyle.ALL
 							? getPropertyUpdateability()
@@ -803,6 +831,14 @@ resultset, getPropertyColumnNames( i ), session, object
 		}
 	}
 
+	/**
+	 * Returns the tuple read when loading the entity with the given key in the current transaction, if any. The tuple
+	 * is removed from the snapshot cache as it is about to be written.
+	 */
+	private Tuple removeLoadedTuple(EntityKey key, SessionImplementor session) {
+		return SnapshotCache.forSession( session ).removeTuple( key );
+	}
+
 	//Copied from AbstractEntityPersister
 	private boolean isAllOrDirtyOptLocking() {
 		EntityMetamodel entityMetamodel = getEntityMetamodel();
@@ -900,7 +936,9 @@ public void insert(Serializable id, Object[] fields, Object object, SessionImple
 			}
 
 			final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
-			Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
+			removeLoadedTuple( key, session );
+			// with optimistic inserts, duplicates are detected by the dialect when creating or writing the tuple
+			Tuple resultset = optimisticInserts ? null : gridDialect.getTuple( key, this.getTupleContext() );
 			// add the discriminator
 			if ( j == 0 ) {
 				if (resultset != null) {
@@ -977,7 +1015,10 @@ public void delete(Serializable id, Object version, Object object, SessionImplem
 		}
 
 		final EntityKey key = EntityKeyBuilder.fromPersister( this, id, session );
-		final Tuple resultset = gridDialect.getTuple( key, this.getTupleContext() );
+		final Tuple loadedTuple = removeLoadedTuple( key, session );
+		final Tuple resultset = loadedTuple != null && !isImpliedOptimisticLocking && !entityMetamodel.isVersioned()
+				? loadedTuple
+				: gridDialect.getTuple( key, this.getTupleContext() );
 		final SessionFactoryImplementor factory = getFactory();
 		if ( isImpliedOptimisticLocking && loadedState != null ) {
 			// we need to utilize dynamic delete statements
@@ -23,18 +23,31 @@
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
 import org.hibernate.integrator.spi.Integrator;
 import org.hibernate.integrator.spi.ServiceContributingIntegrator;
 import org.hibernate.metamodel.source.MetadataImplementor;
 import org.hibernate.ogm.cfg.impl.OgmNamingStrategy;
 import org.hibernate.ogm.cfg.impl.Version;
+import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.datastore.impl.SnapshotCacheDiscardingEventListener;
+import org.hibernate.ogm.dialect.GridDialect;
 import org.hibernate.ogm.dialect.OgmDialectFactoryInitiator;
+import org.hibernate.ogm.dialect.impl.BatchOperationsDelegator;
+import org.hibernate.ogm.dialect.impl.FlushBatchingEventListener;
 import org.hibernate.ogm.jdbc.OgmConnectionProviderInitiator;
 import org.hibernate.ogm.jpa.impl.OgmPersisterClassResolverInitiator;
 import org.hibernate.ogm.transaction.impl.OgmJtaPlatformInitiator;
 import org.hibernate.ogm.transaction.impl.OgmTransactionFactoryInitiator;
 import org.hibernate.service.spi.SessionFactoryServiceRegistry;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Apply required services changes to run Hibernate OGM atop Hibernate Core
  *
@@ -44,6 +57,8 @@
  * - replace ConnectionProvider
  * - replace DialectFactory
  * - replace (if not provided by the user) NamingStrategy
+ * - wrap the flush listeners if operations are to be batched
+ * - discard the snapshot cache of a session when refreshing entities or clearing the session
  *
  * Also enforce an OGM NamingStrategy
  *
@@ -58,6 +73,43 @@ public void integrate(Configuration configuration, SessionFactoryImplementor ses
 		}
 		Version.touch();
 		configuration.setNamingStrategy( OgmNamingStrategy.INSTANCE );
+		attachBatchListenersIfRequired( serviceRegistry );
+		attachSnapshotCacheListeners( serviceRegistry );
+	}
+
+	private void attachSnapshotCacheListeners(SessionFactoryServiceRegistry serviceRegistry) {
+		EventListenerRegistry eventListenerRegistry = serviceRegistry.getService( EventListenerRegistry.class );
+		// the cache must be discarded before the refreshed entity is loaded again
+		eventListenerRegistry.prependListeners( EventType.REFRESH, SnapshotCacheDiscardingEventListener.INSTANCE );
+		eventListenerRegistry.prependListeners( EventType.CLEAR, SnapshotCacheDiscardingEventListener.INSTANCE );
+	}
+
+	private void attachBatchListenersIfRequired(SessionFactoryServiceRegistry serviceRegistry) {
+		GridDialect gridDialect = serviceRegistry.getService( DatastoreServices.class ).getGridDialect();
+		if ( gridDialect instanceof BatchOperationsDelegator ) {
+			BatchOperationsDelegator batchDelegator = (BatchOperationsDelegator) gridDialect;
+			EventListenerRegistry eventListenerRegistry = serviceRegistry.getService( EventListenerRegistry.class );
+
+			EventListenerGroup<FlushEventListener> flushListeners = eventListenerRegistry.getEventListenerGroup( EventType.FLUSH );
+			List<FlushEventListener> wrappedFlushListeners = new ArrayList<FlushEventListener>();
+			for ( FlushEventListener listener : flushListeners.listeners() ) {
+				wrappedFlushListeners.add( FlushBatchingEventListener.forFlush( listener, batchDelegator ) );
+			}
+			flushListeners.clear();
+			for ( FlushEventListener listener : wrappedFlushListeners ) {
+				flushListeners.appendListener( listener );
+			}
+
+			EventListenerGroup<AutoFlushEventListener> autoFlushListeners = eventListenerRegistry.getEventListenerGroup( EventType.AUTO_FLUSH );
+			List<AutoFlushEventListener> wrappedAutoFlushListeners = new ArrayList<AutoFlushEventListener>();
+			for ( AutoFlushEventListener listener : autoFlushListeners.listeners() ) {
+				wrappedAutoFlushListeners.add( FlushBatchingEventListener.forAutoFlush( listener, batchDelegator ) );
+			}
+			autoFlushListeners.clear();
+			for ( AutoFlushEventListener listener : wrappedAutoFlushListeners ) {
+				autoFlushListeners.appendListener( listener );
+			}
+		}
 	}
 
 	@Override
@@ -33,6 +33,7 @@
 import org.hibernate.TransactionException;
 import org.hibernate.hql.internal.ast.QuerySyntaxException;
 import org.hibernate.ogm.datastore.impl.DatastoreProviderInitiator;
+import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.options.spi.AnnotationConverter;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Cause;
@@ -177,4 +178,10 @@ public interface Log extends BasicLogger {
 
 	@Message(id = 42, value = "The given element type %1$s is neither FIELD nor METHOD.")
 	HibernateException getUnsupportedElementTypeException(ElementType elementType);
+
+	@Message(id = 43, value = "Invalid value '%2$s' for configuration property %1$s.")
+	HibernateException invalidConfigurationValue(String property, String value);
+
+	@Message(id = 44, value = "Trying to insert an already existing entity: %1$s")
+	HibernateException mustNotInsertSameEntityTwice(EntityKey key);
 }
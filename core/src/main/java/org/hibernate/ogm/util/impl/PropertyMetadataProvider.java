@@ -23,6 +23,8 @@
 import org.hibernate.HibernateException;
 import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.ogm.datastore.impl.SnapshotCache;
+import org.hibernate.ogm.datastore.impl.UnloadedAssociationSnapshot;
 import org.hibernate.ogm.datastore.map.impl.MapAssociationSnapshot;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.AssociationContext;
@@ -66,6 +68,7 @@ public class PropertyMetadataProvider {
 	private GridDialect gridDialect;
 	private OgmCollectionPersister collectionPersister;
 	private boolean inverse;
+	private boolean blindUpdate;
 	private Type propertyType;
 	private String[] rowKeyColumnNames;
 	private AssociationContext associationContext;
@@ -122,9 +125,18 @@ public PropertyMetadataProvider inverse() {
 		return this;
 	}
 
+	/*
+	 * Rows will only be added and removed, so the association doesn't need to be read if the dialect can apply
+	 * such changes without knowing the existing rows
+	 */
+	public PropertyMetadataProvider blindUpdate() {
+		this.blindUpdate = true;
+		return this;
+	}
+
 	//action methods
 
-	private AssociationKey getCollectionMetadataKey() {
+	public AssociationKey getCollectionMetadataKey() {
 		if ( collectionMetadataKey == null ) {
 			if ( associationKeyMetadata == null ) {
 				associationKeyMetadata = new AssociationKeyMetadata( tableName, keyColumnNames );
@@ -329,8 +341,11 @@ public Association getCollectionMetadata() {
 				//fake association to prevent unidirectional associations to keep record of the inverse side
 				collectionMetadata = new Association( new MapAssociationSnapshot( Collections.EMPTY_MAP ) );
 			}
-			else {
-				collectionMetadata = gridDialect.getAssociation( key, this.getAssociationContext() );
+			else if ( blindUpdate && SnapshotCache.forSession( session ).getAssociation( key ) == null ) {
+				collectionMetadata = gridDialect.getAssociationForBlindUpdate( key, this.getAssociationContext() );
+			}
+			if ( collectionMetadata == null ) {
+				collectionMetadata = getAssociation( key );
 				if (collectionMetadata == null) {
 					collectionMetadata = gridDialect.createAssociation( key );
 				}
@@ -344,22 +359,67 @@ public Association getCollectionMetadata() {
 	 */
 	public Association getCollectionMetadataOrNull() {
 		if ( collectionMetadata == null ) {
-			collectionMetadata = gridDialect.getAssociation( getCollectionMetadataKey(), this.getAssociationContext() );
+			collectionMetadata = getAssociation( getCollectionMetadataKey() );
 		}
 		return collectionMetadata;
 	}
 
+	/*
+	 * Return the number of rows of the collection, without loading it unless it has been loaded before
+	 */
+	public int getCollectionSize() {
+		Association association = getLoadedCollectionMetadata();
+		if ( association != null ) {
+			return association.size();
+		}
+		return gridDialect.getAssociationSize( getCollectionMetadataKey(), this.getAssociationContext() );
+	}
+
+	/*
+	 * Whether the collection contains a row with the given key, without loading it unless it has been loaded before
+	 */
+	public boolean collectionContainsRow(RowKey rowKey) {
+		Association association = getLoadedCollectionMetadata();
+		if ( association != null ) {
+			return association.get( rowKey ) != null;
+		}
+		return gridDialect.associationContainsRow( getCollectionMetadataKey(), rowKey, this.getAssociationContext() );
+	}
+
+	private Association getLoadedCollectionMetadata() {
+		if ( collectionMetadata != null ) {
+			return collectionMetadata;
+		}
+		return SnapshotCache.forSession( session ).getAssociation( getCollectionMetadataKey() );
+	}
+
+	/*
+	 * Get the association from the snapshot cache of the session or read it from the datastore
+	 */
+	private Association getAssociation(AssociationKey key) {
+		final SnapshotCache snapshotCache = SnapshotCache.forSession( session );
+		Association association = snapshotCache.getAssociation( key );
+		if ( association == null ) {
+			association = gridDialect.getAssociation( key, this.getAssociationContext() );
+			snapshotCache.putAssociation( key, association );
+		}
+		return association;
+	}
+
 	public void flushToCache() {
 		//If we don't have a bidirectional association, do not update the info
 		//to prevent unidirectional associations to keep record of the inverse side
 		if ( isBidirectional != Boolean.FALSE ) {
-			if ( getCollectionMetadata().isEmpty() ) {
+			// the dialect removes a blindly updated association once it is empty
+			if ( getCollectionMetadata().getSnapshot() != UnloadedAssociationSnapshot.SINGLETON && getCollectionMetadata().isEmpty() ) {
 				gridDialect.removeAssociation( getCollectionMetadataKey() );
 				collectionMetadata = null;
 			}
 			else {
 				gridDialect.updateAssociation( getCollectionMetadata(), getCollectionMetadataKey() );
 			}
+			// the changes have been written, so the cached association must not be used anymore
+			SnapshotCache.forSession( session ).removeAssociation( getCollectionMetadataKey() );
 		}
 	}
 
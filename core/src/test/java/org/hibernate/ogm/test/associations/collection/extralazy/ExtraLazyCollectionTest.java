@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.associations.collection.extralazy;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test that the size and contents of extra lazy collections can be queried without initializing them.
+ */
+public class ExtraLazyCollectionTest extends OgmTestCase {
+
+	@Test
+	public void testSizeAndContainsWithoutInitialization() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Library library = new Library( "library-1" );
+		library.getTopics().add( "history" );
+		library.getTopics().add( "science" );
+		library.getShelves().put( "A", "novels" );
+		session.persist( library );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		library = (Library) session.get( Library.class, "library-1" );
+		assertThat( library.getTopics().size() ).isEqualTo( 2 );
+		assertThat( library.getTopics().contains( "history" ) ).isTrue();
+		assertThat( library.getTopics().contains( "poetry" ) ).isFalse();
+		assertThat( Hibernate.isInitialized( library.getTopics() ) ).isFalse();
+
+		assertThat( library.getShelves().size() ).isEqualTo( 1 );
+		assertThat( library.getShelves().containsKey( "A" ) ).isTrue();
+		assertThat( library.getShelves().containsKey( "B" ) ).isFalse();
+		assertThat( Hibernate.isInitialized( library.getShelves() ) ).isFalse();
+
+		session.delete( library );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Library.class };
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.batch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.ogm.cfg.OgmConfiguration;
+import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.dialect.impl.BatchOperationsDelegator;
+import org.hibernate.ogm.test.loader.Band;
+import org.hibernate.ogm.test.loader.Musician;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test that entities and associations are written and read correctly when the datastore operations are batched.
+ */
+public class BatchOperationsTest extends OgmTestCase {
+
+	@Test
+	public void testCrudWithBatchedOperations() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band beatles = new Band( "beatles", "The Beatles" );
+		beatles.getAlbums().add( "Revolver" );
+		session.persist( beatles );
+		session.persist( new Musician( "john", "John", beatles ) );
+		session.persist( new Musician( "paul", "Paul", beatles ) );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		Band band = (Band) session.get( Band.class, "beatles" );
+		assertThat( band.getName() ).isEqualTo( "The Beatles" );
+		assertThat( band.getAlbums() ).containsOnly( "Revolver" );
+		band.setName( "Beatles" );
+		band.getAlbums().add( "Abbey Road" );
+		// several flushes within one transaction
+		session.flush();
+		band.getAlbums().remove( "Revolver" );
+		session.delete( session.get( Musician.class, "paul" ) );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		band = (Band) session.get( Band.class, "beatles" );
+		assertThat( band.getName() ).isEqualTo( "Beatles" );
+		assertThat( band.getAlbums() ).containsOnly( "Abbey Road" );
+		assertThat( session.get( Musician.class, "paul" ) ).isNull();
+
+		// re-creation of a removed entity
+		Musician john = (Musician) session.get( Musician.class, "john" );
+		session.delete( john );
+		session.flush();
+		session.persist( new Musician( "john", "John Lennon", band ) );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		john = (Musician) session.get( Musician.class, "john" );
+		assertThat( john.getName() ).isEqualTo( "John Lennon" );
+		session.delete( john );
+		session.delete( john.getBand() );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Test
+	public void testSessionFlushedDuringFlushOfAnotherSessionUsesOwnBatch() throws Exception {
+		BatchOperationsDelegator gridDialect = (BatchOperationsDelegator) sfi().getServiceRegistry()
+				.getService( DatastoreServices.class ).getGridDialect();
+		Session outerSession = openSession();
+
+		// simulates the outer session being in the middle of its flush
+		assertThat( gridDialect.prepareBatch( (SessionImplementor) outerSession ) ).isTrue();
+		try {
+			Session innerSession = openSession();
+			Transaction transaction = innerSession.beginTransaction();
+			innerSession.persist( new Band( "stones", "The Rolling Stones" ) );
+			transaction.commit();
+			innerSession.close();
+		}
+		finally {
+			gridDialect.clearBatch( (SessionImplementor) outerSession );
+		}
+		outerSession.close();
+
+		// the inner flush has been written although the batch of the outer session has been discarded
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band band = (Band) session.get( Band.class, "stones" );
+		assertThat( band ).isNotNull();
+		session.delete( band );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmConfiguration.OGM_BATCH_OPERATIONS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Band.class, Musician.class };
+	}
+}
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.test.datastore;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.cfg.Configuration;
@@ -37,6 +38,7 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -116,6 +118,11 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		@Override
+		public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+			return null;
+		}
+
 		@Override
 		public Tuple createTuple(EntityKey key) {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
@@ -136,6 +143,31 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
 		}
 
+		@Override
+		public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+			return null;
+		}
+
+		@Override
+		public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+			return 0;  //To change body of implemented methods use File | Settings | File Templates.
+		}
+
+		@Override
+		public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+			return false;  //To change body of implemented methods use File | Settings | File Templates.
+		}
+
+		@Override
+		public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+			return null;
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			//To change body of implemented methods use File | Settings | File Templates.
+		}
+
 		@Override
 		public Association createAssociation(AssociationKey key) {
 			return null;  //To change body of implemented methods use File | Settings | File Templates.
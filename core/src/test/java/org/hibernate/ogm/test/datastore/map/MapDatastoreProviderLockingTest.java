@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.datastore.map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.persistence.PessimisticLockException;
+
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the pessimistic locking support of {@link MapDatastoreProvider}.
+ */
+public class MapDatastoreProviderLockingTest {
+
+	private MapDatastoreProvider provider;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		provider = new MapDatastoreProvider();
+		provider.configure( Collections.singletonMap( MapDatastoreProvider.LOCK_STRIPES, "4" ) );
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		provider.releaseLocks();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void shouldReleaseAllLocksOfCurrentThread() throws Exception {
+		for ( int i = 0; i < 100; i++ ) {
+			provider.writeLock( key( i ), 0 );
+		}
+		assertThat( provider.hasAcquiredLocks() ).isTrue();
+		assertThat( tryWriteLockInOtherThread( key( 42 ) ) ).isFalse();
+
+		provider.releaseLocks();
+
+		assertThat( provider.hasAcquiredLocks() ).isFalse();
+		assertThat( tryWriteLockInOtherThread( key( 42 ) ) ).isTrue();
+	}
+
+	@Test
+	public void shouldShareReadLocks() throws Exception {
+		provider.readLock( key( 1 ), 0 );
+
+		assertThat( tryReadLockInOtherThread( key( 1 ) ) ).isTrue();
+		assertThat( tryWriteLockInOtherThread( key( 1 ) ) ).isFalse();
+	}
+
+	@Test(expected = PessimisticLockException.class)
+	public void shouldFailUpgradingReadLock() {
+		provider.readLock( key( 1 ), 0 );
+		provider.writeLock( key( 1 ), -1 );
+	}
+
+	@Test
+	public void shouldWriteLockKeyOfStripeHoldingReadLockOnOtherKey() throws Exception {
+		// with a single stripe all the keys share it
+		provider.configure( Collections.singletonMap( MapDatastoreProvider.LOCK_STRIPES, "1" ) );
+
+		provider.readLock( key( 1 ), 0 );
+		provider.writeLock( key( 2 ), 0 );
+
+		assertThat( tryReadLockInOtherThread( key( 1 ) ) ).isTrue();
+		assertThat( tryWriteLockInOtherThread( key( 1 ) ) ).isFalse();
+		assertThat( tryReadLockInOtherThread( key( 2 ) ) ).isFalse();
+		assertThat( tryWriteLockInOtherThread( key( 3 ) ) ).isTrue();
+
+		provider.releaseLocks();
+
+		assertThat( tryWriteLockInOtherThread( key( 1 ) ) ).isTrue();
+		assertThat( tryWriteLockInOtherThread( key( 2 ) ) ).isTrue();
+	}
+
+	private boolean tryWriteLockInOtherThread(final EntityKey key) throws Exception {
+		return executor.submit( new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				try {
+					provider.writeLock( key, 0 );
+					return true;
+				}
+				catch (PessimisticLockException e) {
+					return false;
+				}
+				finally {
+					provider.releaseLocks();
+				}
+			}
+		} ).get();
+	}
+
+	private boolean tryReadLockInOtherThread(final EntityKey key) throws Exception {
+		return executor.submit( new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				try {
+					provider.readLock( key, 0 );
+					return true;
+				}
+				catch (PessimisticLockException e) {
+					return false;
+				}
+				finally {
+					provider.releaseLocks();
+				}
+			}
+		} ).get();
+	}
+
+	private EntityKey key(int id) {
+		return new EntityKey( new EntityKeyMetadata( "Foo", new String[] { "id" } ), new Object[] { id } );
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.datastore.map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.junit.Test;
+
+/**
+ * Unit test for the per-table storage of entities in {@link MapDatastoreProvider}.
+ */
+public class MapDatastoreProviderPartitioningTest {
+
+	@Test
+	public void shouldStoreEntitiesPerTable() {
+		MapDatastoreProvider provider = new MapDatastoreProvider();
+		provider.putEntity( key( "Foo", 1 ), entity( "name", "foo-1" ) );
+		provider.putEntity( key( "Foo", 2 ), entity( "name", "foo-2" ) );
+		provider.putEntity( key( "Bar", 1 ), entity( "name", "bar-1" ) );
+
+		assertThat( provider.getNumberOfEntities( "Foo" ) ).isEqualTo( 2 );
+		assertThat( provider.getNumberOfEntities( "Bar" ) ).isEqualTo( 1 );
+		assertThat( provider.getNumberOfEntities( "Baz" ) ).isEqualTo( 0 );
+		assertThat( provider.getEntityMap( "Foo" ).keySet() ).containsOnly( key( "Foo", 1 ), key( "Foo", 2 ) );
+		assertThat( provider.getEntityMap() ).hasSize( 3 );
+		assertThat( provider.getEntityTuple( key( "Bar", 1 ) ).get( "name" ) ).isEqualTo( "bar-1" );
+
+		provider.removeEntityTuple( key( "Foo", 1 ) );
+
+		assertThat( provider.getEntityTuple( key( "Foo", 1 ) ) ).isNull();
+		assertThat( provider.getNumberOfEntities( "Foo" ) ).isEqualTo( 1 );
+	}
+
+	private EntityKey key(String table, int id) {
+		return new EntityKey( new EntityKeyMetadata( table, new String[] { "id" } ), new Object[] { id } );
+	}
+
+	private Map<String, Object> entity(String column, Object value) {
+		Map<String, Object> entity = new HashMap<String, Object>();
+		entity.put( column, value );
+		return entity;
+	}
+}
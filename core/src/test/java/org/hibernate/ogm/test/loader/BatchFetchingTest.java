@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.loader;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test that entities and collections with a batch size are loaded together with other pending instances.
+ */
+public class BatchFetchingTest extends OgmTestCase {
+
+	@Test
+	public void testEntitiesAndCollectionsAreLoadedInBatches() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band beatles = new Band( "beatles", "The Beatles" );
+		beatles.getAlbums().add( "Revolver" );
+		Band stones = new Band( "stones", "The Rolling Stones" );
+		stones.getAlbums().add( "Beggars Banquet" );
+		Band kinks = new Band( "kinks", "The Kinks" );
+		kinks.getAlbums().add( "Arthur" );
+		session.persist( beatles );
+		session.persist( stones );
+		session.persist( kinks );
+		session.persist( new Musician( "john", "John", beatles ) );
+		session.persist( new Musician( "mick", "Mick", stones ) );
+		session.persist( new Musician( "ray", "Ray", kinks ) );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		Musician john = (Musician) session.get( Musician.class, "john" );
+		Musician mick = (Musician) session.get( Musician.class, "mick" );
+		Musician ray = (Musician) session.get( Musician.class, "ray" );
+		assertThat( Hibernate.isInitialized( john.getBand() ) ).isFalse();
+		assertThat( Hibernate.isInitialized( mick.getBand() ) ).isFalse();
+
+		// initializing one proxy loads the other pending ones as well
+		assertThat( john.getBand().getName() ).isEqualTo( "The Beatles" );
+		assertThat( Hibernate.isInitialized( mick.getBand() ) ).isTrue();
+		assertThat( Hibernate.isInitialized( ray.getBand() ) ).isTrue();
+		assertThat( ray.getBand().getName() ).isEqualTo( "The Kinks" );
+
+		// same for collections
+		assertThat( Hibernate.isInitialized( mick.getBand().getAlbums() ) ).isFalse();
+		assertThat( john.getBand().getAlbums() ).containsOnly( "Revolver" );
+		assertThat( Hibernate.isInitialized( mick.getBand().getAlbums() ) ).isTrue();
+		assertThat( Hibernate.isInitialized( ray.getBand().getAlbums() ) ).isTrue();
+		assertThat( mick.getBand().getAlbums() ).containsOnly( "Beggars Banquet" );
+
+		session.delete( john );
+		session.delete( mick );
+		session.delete( ray );
+		session.delete( john.getBand() );
+		session.delete( mick.getBand() );
+		session.delete( ray.getBand() );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Band.class, Musician.class };
+	}
+}
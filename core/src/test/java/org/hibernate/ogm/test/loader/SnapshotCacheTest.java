@@ -0,0 +1,213 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+package org.hibernate.ogm.test.loader;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.ogm.datastore.impl.MapTupleSnapshot;
+import org.hibernate.ogm.datastore.impl.SnapshotCache;
+import org.hibernate.ogm.datastore.map.impl.HashMapDialect;
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.impl.GridDialectFactory;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.test.utils.GridDialectType;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.SkipByGridDialect;
+import org.hibernate.ogm.test.utils.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the tuples and associations read within a transaction are re-used instead of being read again, and that
+ * they are read again after refreshing, clearing or completing the transaction.
+ */
+@SkipByGridDialect(value = { GridDialectType.INFINISPAN, GridDialectType.EHCACHE, GridDialectType.MONGODB, GridDialectType.NEO4J,
+		GridDialectType.COUCHDB }, comment = "Counts the reads of the map dialect")
+public class SnapshotCacheTest extends OgmTestCase {
+
+	@Before
+	public void createBand() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band band = new Band( "beatles", "The Beatles" );
+		band.getAlbums().add( "Revolver" );
+		session.persist( band );
+		transaction.commit();
+		session.close();
+		ReadCountingDialect.resetReads();
+	}
+
+	@After
+	public void deleteBand() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.delete( session.get( Band.class, "beatles" ) );
+		transaction.commit();
+		session.close();
+		checkCleanCache();
+	}
+
+	@Test
+	public void testLoadedTupleAndAssociationAreNotReadAgainForUpdate() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band band = (Band) session.get( Band.class, "beatles" );
+		assertThat( band.getAlbums() ).containsOnly( "Revolver" );
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 1 );
+		assertThat( ReadCountingDialect.getAssociationReads() ).isEqualTo( 1 );
+
+		band.setName( "Beatles" );
+		band.getAlbums().add( "Abbey Road" );
+		session.flush();
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 1 );
+		assertThat( ReadCountingDialect.getAssociationReads() ).isEqualTo( 1 );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testRefreshReadsTupleAgain() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band band = (Band) session.get( Band.class, "beatles" );
+		session.refresh( band );
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 2 );
+
+		// the refreshed tuple is cached in turn
+		band.setName( "Beatles" );
+		session.flush();
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 2 );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testClearReadsTupleAgain() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.get( Band.class, "beatles" );
+		session.clear();
+		session.get( Band.class, "beatles" );
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 2 );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testNextTransactionReadsTupleAgain() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Band band = (Band) session.get( Band.class, "beatles" );
+		transaction.commit();
+
+		transaction = session.beginTransaction();
+		session.evict( band );
+		session.get( Band.class, "beatles" );
+		assertThat( ReadCountingDialect.getTupleReads() ).isEqualTo( 2 );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void testChangesOfReturnedTupleDoNotAffectCachedTuple() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		SnapshotCache snapshotCache = SnapshotCache.forSession( (SessionImplementor) session );
+		EntityKey key = new EntityKey( new EntityKeyMetadata( "Band", new String[] { "id" } ), new Object[] { "stones" } );
+		Map<String, Object> columns = new HashMap<String, Object>();
+		columns.put( "name", "The Rolling Stones" );
+		snapshotCache.putTuple( key, new Tuple( new MapTupleSnapshot( columns ) ) );
+
+		Tuple tuple = snapshotCache.getTuple( key );
+		tuple.put( "name", "Stones" );
+
+		Tuple cachedTuple = snapshotCache.getTuple( key );
+		assertThat( cachedTuple ).isNotSameAs( tuple );
+		assertThat( cachedTuple.get( "name" ) ).isEqualTo( "The Rolling Stones" );
+		assertThat( cachedTuple.getOperations() ).isEmpty();
+		transaction.commit();
+		session.close();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		if ( TestHelper.getCurrentDialectType() == GridDialectType.HASHMAP ) {
+			cfg.setProperty( GridDialectFactory.GRID_DIALECT, ReadCountingDialect.class.getName() );
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Band.class, Musician.class };
+	}
+
+	/**
+	 * Counts the reads of single tuples and associations; the map dialect reads several ones one by one.
+	 */
+	public static class ReadCountingDialect extends HashMapDialect {
+
+		private static final AtomicInteger tupleReads = new AtomicInteger();
+		private static final AtomicInteger associationReads = new AtomicInteger();
+
+		public ReadCountingDialect(MapDatastoreProvider provider) {
+			super( provider );
+		}
+
+		static void resetReads() {
+			tupleReads.set( 0 );
+			associationReads.set( 0 );
+		}
+
+		static int getTupleReads() {
+			return tupleReads.get();
+		}
+
+		static int getAssociationReads() {
+			return associationReads.get();
+		}
+
+		@Override
+		public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
+			tupleReads.incrementAndGet();
+			return super.getTuple( key, tupleContext );
+		}
+
+		@Override
+		public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+			associationReads.incrementAndGet();
+			return super.getAssociation( key, associationContext );
+		}
+	}
+}
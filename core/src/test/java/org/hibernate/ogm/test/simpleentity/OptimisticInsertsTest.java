@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.simpleentity;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmConfiguration;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test inserting and updating entities without reading them from the datastore beforehand.
+ */
+public class OptimisticInsertsTest extends OgmTestCase {
+
+	@Test
+	public void testInsertAndUpdateWithoutPriorRead() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Hypothesis hypothesis = new Hypothesis();
+		hypothesis.setId( "hyp-1" );
+		hypothesis.setDescription( "P != NP" );
+		hypothesis.setPosition( 1 );
+		session.persist( hypothesis );
+		transaction.commit();
+		session.clear();
+
+		// the tuple read when loading is re-used for the update
+		transaction = session.beginTransaction();
+		hypothesis = (Hypothesis) session.get( Hypothesis.class, "hyp-1" );
+		hypothesis.setDescription( "P = NP" );
+		session.flush();
+		hypothesis.setPosition( 2 );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		hypothesis = (Hypothesis) session.get( Hypothesis.class, "hyp-1" );
+		assertThat( hypothesis.getDescription() ).isEqualTo( "P = NP" );
+		assertThat( hypothesis.getPosition() ).isEqualTo( 2 );
+		session.delete( hypothesis );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Test
+	public void testDuplicateInsertIsDetectedWithoutPriorRead() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.persist( createHypothesis( "hyp-2", "P != NP" ) );
+		transaction.commit();
+		session.close();
+
+		session = openSession();
+		transaction = session.beginTransaction();
+		session.persist( createHypothesis( "hyp-2", "P = NP" ) );
+		try {
+			session.flush();
+			fail( "Expected the duplicate insert to be detected" );
+		}
+		catch (HibernateException e) {
+			// raised by the dialect when writing the tuple; a read by the persister would have raised another error
+			assertThat( e.getMessage() ).startsWith( "OGM000044" );
+		}
+		transaction.rollback();
+		session.close();
+
+		session = openSession();
+		transaction = session.beginTransaction();
+		Hypothesis hypothesis = (Hypothesis) session.get( Hypothesis.class, "hyp-2" );
+		assertThat( hypothesis.getDescription() ).isEqualTo( "P != NP" );
+		session.delete( hypothesis );
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	private Hypothesis createHypothesis(String id, String description) {
+		Hypothesis hypothesis = new Hypothesis();
+		hypothesis.setId( id );
+		hypothesis.setDescription( description );
+		hypothesis.setPosition( 1 );
+		return hypothesis;
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmConfiguration.OGM_OPTIMISTIC_INSERTS, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
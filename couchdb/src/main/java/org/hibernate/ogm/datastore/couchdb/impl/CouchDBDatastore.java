@@ -20,15 +20,16 @@
  */
 package org.hibernate.ogm.datastore.couchdb.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.ProcessingException;
-import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
 
 import org.hibernate.HibernateException;
+import org.hibernate.ogm.datastore.couchdb.impl.util.CouchDBConfiguration;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.dialect.couchdb.designdocument.AssociationsDesignDocument;
 import org.hibernate.ogm.dialect.couchdb.designdocument.CouchDBDesignDocument;
@@ -36,10 +37,14 @@
 import org.hibernate.ogm.dialect.couchdb.designdocument.EntityTupleRows;
 import org.hibernate.ogm.dialect.couchdb.designdocument.TuplesDesignDocument;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociation;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociationRow;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBBulkDocuments;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBCountResponse;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBDocument;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBDocumentRows;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBEntity;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBKeyValue;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBKeys;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBResponse;
 import org.hibernate.ogm.dialect.couchdb.json.DatabaseClient;
 import org.hibernate.ogm.dialect.couchdb.json.ServerClient;
@@ -48,6 +53,7 @@
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.logging.couchdb.impl.Log;
 import org.hibernate.ogm.logging.couchdb.impl.LoggerFactory;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.jboss.resteasy.client.exception.ResteasyClientException;
 import org.jboss.resteasy.client.jaxrs.ResteasyClient;
 import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
@@ -63,11 +69,28 @@
 public class CouchDBDatastore {
 
 	private static final Log logger = LoggerFactory.getLogger();
+
+	/**
+	 * The number of documents retrieved per request when iterating over all the tuples of a table
+	 */
+	private static final int TUPLES_PAGE_SIZE = 1000;
+
+	/**
+	 * Appended to an id prefix in order to obtain the end of the range of all ids starting with that prefix
+	 */
+	private static final String ID_RANGE_END = "\ufff0";
+
+	/**
+	 * The client shared by the server and database proxies; It is backed by a thread-safe pool of keep-alive
+	 * connections, so the proxies can be used by several sessions concurrently.
+	 */
+	private final ResteasyClient client;
 	private final DatabaseClient databaseClient;
 	private final ServerClient serverClient;
 
-	private CouchDBDatastore(DataBaseURL databaseUrl, String userName, String password) {
+	private CouchDBDatastore(DataBaseURL databaseUrl, String userName, String password, CouchDBConfiguration configuration) {
 		logger.connectingToCouchDB( databaseUrl.toString() );
+		client = createClient( configuration );
 		serverClient = createServerClient( databaseUrl );
 		databaseClient = createDataBaseClient( databaseUrl );
 	}
@@ -83,9 +106,23 @@ private CouchDBDatastore(DataBaseURL databaseUrl, String userName, String passwo
 	 * @return an instance of CouchDBDatastore
 	 */
 	public static CouchDBDatastore newInstance(DataBaseURL databaseURL, String userName, String password, boolean createDatabase) {
+		return newInstance( databaseURL, userName, password, createDatabase, new CouchDBConfiguration() );
+	}
+
+	/**
+	 * Creates an instance of CouchDBDatastore, using the connection pool settings of the given configuration.
+	 *
+	 * @param databaseURL the url of the database
+	 * @param userName the username of the database user or null if authentication is not required
+	 * @param password the password of the database user or null if authentication is not required
+	 * @param createDatabase if true the database is created
+	 * @param configuration the configuration providing the connection pool settings
+	 * @return an instance of CouchDBDatastore
+	 */
+	public static CouchDBDatastore newInstance(DataBaseURL databaseURL, String userName, String password, boolean createDatabase, CouchDBConfiguration configuration) {
 		RegisterBuiltin.register( ResteasyProviderFactory.getInstance() );
 
-		CouchDBDatastore couchDBDatastore = new CouchDBDatastore( databaseURL, userName, password );
+		CouchDBDatastore couchDBDatastore = new CouchDBDatastore( databaseURL, userName, password, configuration );
 
 		if ( createDatabase ) {
 			couchDBDatastore.createDatabase( databaseURL );
@@ -116,6 +153,43 @@ public CouchDBDocument saveDocument(CouchDBDesignDocument design) {
 		return doSaveDocument( design, true );
 	}
 
+	/**
+	 * Saves, updates or deletes the given documents using a single request. Successfully written documents get their
+	 * revision updated; failures of single documents (e.g. conflicts) are reported via the returned results rather
+	 * than by raising an exception.
+	 *
+	 * @param documents the documents to write
+	 * @return the result for each given document, in the order of the given documents
+	 */
+	public List<CouchDBResponse> saveDocuments(List<CouchDBDocument> documents) {
+		Response response = null;
+		try {
+			response = databaseClient.saveDocuments( new CouchDBBulkDocuments( documents ) );
+			if ( response.getStatus() == Response.Status.CREATED.getStatusCode() ) {
+				List<CouchDBResponse> results = Arrays.asList( response.readEntity( CouchDBResponse[].class ) );
+				for ( int i = 0; i < results.size(); i++ ) {
+					CouchDBResponse result = results.get( i );
+					if ( result.getError() == null ) {
+						updateDocumentRevision( documents.get( i ), result.getRev() );
+					}
+				}
+				return results;
+			}
+			else {
+				CouchDBResponse entity = response.readEntity( CouchDBResponse.class );
+				throw logger.errorSavingDocuments( documents.size(), response.getStatus(), entity.getError(), entity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
 	private CouchDBDocument doSaveDocument(CouchDBDocument document, boolean isDesignDocument) {
 		Response response = null;
 		try {
@@ -245,14 +319,86 @@ else if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
 	}
 
 	/**
-	 * Retrieves all the tuples matching the {@link EntityKeyMetadata}
+	 * Retrieves the documents with the given ids using a single request
 	 *
+	 * @param ids the ids of the documents to retrieve
+	 * @return the found documents in the order of the given ids, {@code null} for each id without a document
+	 */
+	public List<CouchDBDocument> getDocuments(List<String> ids) {
+		Response response = null;
+		try {
+			response = databaseClient.getDocumentsByIds( new CouchDBKeys( ids ), true );
+			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
+				return response.readEntity( CouchDBDocumentRows.class ).getDocuments();
+			}
+			else {
+				CouchDBResponse responseEntity = response.readEntity( CouchDBResponse.class );
+				throw logger.errorRetrievingDocuments( ids.size(), response.getStatus(), responseEntity.getError(), responseEntity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
+	/**
+	 * Retrieves all the association row documents whose id starts with the given prefix.
+	 *
+	 * @param idPrefix the prefix shared by the ids of the rows of one association
+	 * @return the rows of the association, ordered by id; an empty list if the association has no rows
+	 */
+	public List<CouchDBAssociationRow> getAssociationRows(String idPrefix) {
+		Response response = null;
+		try {
+			response = databaseClient.getDocumentsByIdRange( toJsonString( idPrefix ), toJsonString( idPrefix + ID_RANGE_END ), true );
+			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
+				List<CouchDBDocument> documents = response.readEntity( CouchDBDocumentRows.class ).getDocuments();
+				List<CouchDBAssociationRow> rows = new ArrayList<CouchDBAssociationRow>( documents.size() );
+				for ( CouchDBDocument document : documents ) {
+					if ( document instanceof CouchDBAssociationRow ) {
+						rows.add( (CouchDBAssociationRow) document );
+					}
+				}
+				return rows;
+			}
+			else {
+				CouchDBResponse responseEntity = response.readEntity( CouchDBResponse.class );
+				throw logger.errorRetrievingAssociationRows( idPrefix, response.getStatus(), responseEntity.getError(), responseEntity.getReason() );
+			}
+		}
+		catch (ResteasyClientException e) {
+			throw logger.couchDBConnectionProblem( e );
+		}
+		finally {
+			if ( response != null ) {
+				response.close();
+			}
+		}
+	}
+
+	/**
+	 * Passes all the tuples matching the {@link EntityKeyMetadata} to the given consumer. The tuples are retrieved in
+	 * pages of {@link #TUPLES_PAGE_SIZE} documents, so only one page is kept in memory at a time.
+	 *
+	 * @param consumer the consumer of the tuples
 	 * @param entityKeyMetadata the EntityKeyMetadata used to filter the tuples
-	 * @return all the tuples matching the given entityKeyMetadata
 	 */
-	public List<Tuple> getTuples(EntityKeyMetadata entityKeyMetadata) {
+	public void forEachTuple(Consumer consumer, EntityKeyMetadata entityKeyMetadata) {
 		final String tableName = getTableName( entityKeyMetadata );
-		return getTuplesByTableName( tableName );
+		String startDocumentId = null;
+		do {
+			EntityTupleRows page = getTuplesByTableName( tableName, startDocumentId );
+			for ( Tuple tuple : page.getTuples( TUPLES_PAGE_SIZE ) ) {
+				consumer.consume( tuple );
+			}
+			startDocumentId = page.getDocumentIdAfter( TUPLES_PAGE_SIZE );
+		}
+		while ( startDocumentId != null );
 	}
 
 	public long nextValue(RowKey key, int increment, int initialValue) {
@@ -375,6 +521,12 @@ public void dropDatabase() {
 	 * Releases all the resources
 	 */
 	public void shutDown() {
+		try {
+			client.close();
+		}
+		catch (RuntimeException e) {
+			throw logger.shutDownDatastoreException( e );
+		}
 	}
 
 	private void createDatabase(DataBaseURL url) {
@@ -425,12 +577,17 @@ private boolean databaseExists(String databaseName) {
 		}
 	}
 
-	private List<Tuple> getTuplesByTableName(String tableName) {
+	/**
+	 * Retrieves one page of tuples; One more row than the page size is requested in order to obtain the id of the
+	 * first document of the next page.
+	 */
+	private EntityTupleRows getTuplesByTableName(String tableName, String startDocumentId) {
 		Response response = null;
 		try {
-			response = databaseClient.getEntityTuplesByTableName( "\"" + tableName + "\"" );
+			String key = "\"" + tableName + "\"";
+			response = databaseClient.getEntityTuplesByTableName( key, key, startDocumentId, TUPLES_PAGE_SIZE + 1, true );
 			if ( response.getStatus() == Response.Status.OK.getStatusCode() ) {
-				return response.readEntity( EntityTupleRows.class ).getTuples();
+				return response.readEntity( EntityTupleRows.class );
 			}
 			else {
 				CouchDBResponse responseEntity = response.readEntity( CouchDBResponse.class );
@@ -456,21 +613,32 @@ private String getTableName(EntityKeyMetadata entityKeyMetadata) {
 		return entityKeyMetadata.getTable();
 	}
 
+	private ResteasyClient createClient(CouchDBConfiguration configuration) {
+		return new ResteasyClientBuilder()
+				.connectionPoolSize( configuration.getMaxConnections() )
+				.maxPooledPerRoute( configuration.getMaxConnectionsPerRoute() )
+				.connectionTTL( configuration.getConnectionKeepAlive(), TimeUnit.MILLISECONDS )
+				.establishConnectionTimeout( configuration.getConnectTimeout(), TimeUnit.MILLISECONDS )
+				.socketTimeout( configuration.getSocketTimeout(), TimeUnit.MILLISECONDS )
+				.build();
+	}
+
 	private ServerClient createServerClient(DataBaseURL databaseUrl) {
-		ResteasyClient client = new ResteasyClientBuilder().build();
 		ResteasyWebTarget target = client.target( databaseUrl.getServerUrl() );
 		ServerClient serverClient = target.proxy( ServerClient.class );
 		return serverClient;
 	}
 
 	private DatabaseClient createDataBaseClient(DataBaseURL databaseUrl) {
-		Client client = ClientBuilder.newBuilder().build();
-		WebTarget target = client.target( databaseUrl.toString() );
-		ResteasyWebTarget rtarget = (ResteasyWebTarget) target;
-		DatabaseClient dbClient = rtarget.proxy( DatabaseClient.class );
+		ResteasyWebTarget target = client.target( databaseUrl.toString() );
+		DatabaseClient dbClient = target.proxy( DatabaseClient.class );
 		return dbClient;
 	}
 
+	private static String toJsonString(String value) {
+		return "\"" + value.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ) + "\"";
+	}
+
 	private void updateDocumentRevision(CouchDBDocument document, String revision) {
 		document.setRevision( revision );
 	}
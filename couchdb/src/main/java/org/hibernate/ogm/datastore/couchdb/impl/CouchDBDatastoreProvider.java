@@ -21,8 +21,15 @@
 package org.hibernate.ogm.datastore.couchdb.impl;
 
 import java.net.MalformedURLException;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.mapping.Collection;
+import org.hibernate.ogm.datastore.StartStoppable;
+import org.hibernate.ogm.datastore.couchdb.AssociationStorageType;
 import org.hibernate.ogm.datastore.couchdb.impl.util.CouchDBConfiguration;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
@@ -31,23 +38,26 @@
 import org.hibernate.ogm.dialect.couchdb.util.DataBaseURL;
 import org.hibernate.ogm.logging.couchdb.impl.Log;
 import org.hibernate.ogm.logging.couchdb.impl.LoggerFactory;
-import org.hibernate.ogm.options.navigation.context.GlobalContext;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.options.couchdb.AssociationStorageOption;
+import org.hibernate.ogm.options.couchdb.mapping.impl.CouchDBEntityOptions;
+import org.hibernate.ogm.options.couchdb.mapping.impl.CouchDBGlobalOptions;
+import org.hibernate.ogm.options.couchdb.mapping.impl.CouchDBPropertyOptions;
 import org.hibernate.ogm.options.navigation.impl.ConfigurationContext;
-import org.hibernate.ogm.options.navigation.impl.GenericOptionModel;
+import org.hibernate.ogm.options.spi.OptionsService;
 import org.hibernate.ogm.service.impl.LuceneBasedQueryParserService;
 import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.service.spi.Configurable;
 import org.hibernate.service.spi.ServiceRegistryAwareService;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 import org.hibernate.service.spi.Startable;
-import org.hibernate.service.spi.Stoppable;
 
 /**
  * Creates a fully configured instance of {@link CouchDBDatastore}
  *
  * @author Andrea Boriero <dreborier@gmail.com/>
  */
-public class CouchDBDatastoreProvider implements DatastoreProvider, Startable, Stoppable, ServiceRegistryAwareService, Configurable {
+public class CouchDBDatastoreProvider implements DatastoreProvider, Startable, StartStoppable, ServiceRegistryAwareService, Configurable {
 
 	private static final Log logger = LoggerFactory.getLogger();
 
@@ -55,6 +65,13 @@ public class CouchDBDatastoreProvider implements DatastoreProvider, Startable, S
 
 	private CouchDBConfiguration configuration;
 
+	private AssociationStorageType defaultAssociationStorage;
+
+	/**
+	 * The association storage types configured via the option API, by the name of the table of the associations.
+	 */
+	private final Map<String, AssociationStorageType> associationStoragesByTable = new ConcurrentHashMap<String, AssociationStorageType>();
+
 	public CouchDBDatastoreProvider() {
 		configuration = new CouchDBConfiguration();
 	}
@@ -62,6 +79,7 @@ public CouchDBDatastoreProvider() {
 	@Override
 	public void configure(Map configurationValues) {
 		configuration.setConfigurationValues( configurationValues );
+		defaultAssociationStorage = configuration.getAssociationStorage();
 	}
 
 	@Override
@@ -79,10 +97,51 @@ public void stop() {
 	@Override
 	public void start() {
 		if ( isDatastoreNotInitialized() ) {
-			datastore = CouchDBDatastore.newInstance( retrieveDataBaseURL(), retrieveUsername(), retrievePassword(), isCreateDatabase() );
+			datastore = CouchDBDatastore.newInstance( retrieveDataBaseURL(), retrieveUsername(), retrievePassword(), isCreateDatabase(), configuration );
 		}
 	}
 
+	/**
+	 * Registers the association storage types configured via the option API for the mapped collections.
+	 */
+	@Override
+	public void start(Configuration configuration, SessionFactoryImplementor sessionFactoryImplementor) {
+		if ( configuration == null ) {
+			return;
+		}
+
+		OptionsService optionsService = sessionFactoryImplementor.getServiceRegistry().getService( OptionsService.class );
+		Iterator<?> collectionMappings = configuration.getCollectionMappings();
+		while ( collectionMappings.hasNext() ) {
+			Collection collectionMapping = (Collection) collectionMappings.next();
+			Class<?> ownerType = collectionMapping.getOwner().getMappedClass();
+			if ( ownerType == null ) {
+				continue;
+			}
+
+			String propertyName = collectionMapping.getRole().substring( collectionMapping.getOwnerEntityName().length() + 1 );
+			AssociationStorageType associationStorage = optionsService.context()
+					.getPropertyOptions( ownerType, propertyName )
+					.getUnique( AssociationStorageOption.class );
+
+			if ( associationStorage != null ) {
+				associationStoragesByTable.put( collectionMapping.getCollectionTable().getName(), associationStorage );
+			}
+		}
+	}
+
+	/**
+	 * Returns the storage type for the given association, as configured via the option API for the association
+	 * property or globally via {@link Environment#COUCHDB_ASSOCIATION_STORAGE}.
+	 *
+	 * @param key the key of an association
+	 * @return the storage type of the given association
+	 */
+	public AssociationStorageType getAssociationStorage(AssociationKey key) {
+		AssociationStorageType associationStorage = associationStoragesByTable.get( key.getTable() );
+		return associationStorage != null ? associationStorage : defaultAssociationStorage;
+	}
+
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
 		return CouchDBDialect.class;
@@ -94,8 +153,8 @@ public Class<? extends QueryParserService> getDefaultQueryParserServiceType() {
 	}
 
 	@Override
-	public GlobalContext<?, ?> getConfigurationBuilder(ConfigurationContext context) {
-		return GenericOptionModel.createGlobalContext( context );
+	public CouchDBGlobalOptions getConfigurationBuilder(ConfigurationContext context) {
+		return context.createGlobalContext( CouchDBGlobalOptions.class, CouchDBEntityOptions.class, CouchDBPropertyOptions.class );
 	}
 
 	/**
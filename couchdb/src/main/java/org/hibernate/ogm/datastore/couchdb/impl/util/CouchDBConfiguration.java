@@ -20,10 +20,14 @@
  */
 package org.hibernate.ogm.datastore.couchdb.impl.util;
 
-import org.hibernate.ogm.dialect.couchdb.Environment;
-
+import java.util.Locale;
 import java.util.Map;
 
+import org.hibernate.ogm.datastore.couchdb.AssociationStorageType;
+import org.hibernate.ogm.dialect.couchdb.Environment;
+import org.hibernate.ogm.logging.couchdb.impl.Log;
+import org.hibernate.ogm.logging.couchdb.impl.LoggerFactory;
+
 /**
  * Provides utility methods to access the CouchDB configuration value
  *
@@ -31,8 +35,12 @@
  */
 public class CouchDBConfiguration {
 
+	private static final Log logger = LoggerFactory.getLogger();
+
 	public static final String DEFAULT_COUCHDB_PORT = "5984";
 	public static final String LOCALHOST = "localhost";
+	public static final String DEFAULT_MAX_CONNECTIONS = "20";
+	public static final String NO_LIMIT = "-1";
 
 	private Map configurationValues;
 
@@ -64,6 +72,36 @@ public boolean isDatabaseToBeCreated() {
 		return Boolean.valueOf( getPropertyValue( Environment.COUCHDB_CREATE_DATABASE, Boolean.toString( false ) ) );
 	}
 
+	public int getMaxConnections() {
+		return Integer.valueOf( getPropertyValue( Environment.COUCHDB_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS ) );
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return Integer.valueOf( getPropertyValue( Environment.COUCHDB_MAX_CONNECTIONS_PER_ROUTE, String.valueOf( getMaxConnections() ) ) );
+	}
+
+	public long getConnectionKeepAlive() {
+		return Long.valueOf( getPropertyValue( Environment.COUCHDB_CONNECTION_KEEP_ALIVE, NO_LIMIT ) );
+	}
+
+	public long getConnectTimeout() {
+		return Long.valueOf( getPropertyValue( Environment.COUCHDB_CONNECT_TIMEOUT, NO_LIMIT ) );
+	}
+
+	public long getSocketTimeout() {
+		return Long.valueOf( getPropertyValue( Environment.COUCHDB_SOCKET_TIMEOUT, NO_LIMIT ) );
+	}
+
+	public AssociationStorageType getAssociationStorage() {
+		String associationStorage = getPropertyValue( Environment.COUCHDB_ASSOCIATION_STORAGE, AssociationStorageType.ASSOCIATION_DOCUMENT.name() );
+		try {
+			return AssociationStorageType.valueOf( associationStorage.toUpperCase( Locale.ENGLISH ) );
+		}
+		catch (IllegalArgumentException e) {
+			throw logger.unknownAssociationStorageStrategy( associationStorage, AssociationStorageType.class );
+		}
+	}
+
 	public boolean isDatabaseNameConfigured() {
 		return isValueConfigured( getDatabaseName() );
 	}
@@ -77,7 +115,11 @@ private String getPropertyValue(String propertyKey, String defaultValue) {
 	}
 
 	private String getConfigurationValue(String propertyName) {
-		return (String) configurationValues.get( propertyName );
+		if ( configurationValues == null ) {
+			return null;
+		}
+		Object value = configurationValues.get( propertyName );
+		return value != null ? value.toString() : null;
 	}
 
 	private boolean isValueConfigured(String property) {
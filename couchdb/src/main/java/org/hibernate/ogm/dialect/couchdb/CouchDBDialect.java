@@ -20,32 +20,60 @@
  */
 package org.hibernate.ogm.dialect.couchdb;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.persistence.OptimisticLockException;
 
 import org.hibernate.LockMode;
+import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.loader.custom.CustomQuery;
+import org.hibernate.ogm.datastore.couchdb.AssociationStorageType;
 import org.hibernate.ogm.datastore.couchdb.impl.CouchDBDatastore;
 import org.hibernate.ogm.datastore.couchdb.impl.CouchDBDatastoreProvider;
 import org.hibernate.ogm.datastore.spi.Association;
 import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.AssociationOperation;
+import org.hibernate.ogm.datastore.spi.AssociationOperationType;
+import org.hibernate.ogm.datastore.spi.AssociationSnapshot;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.datastore.spi.TupleSnapshot;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociation;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociationRow;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBDeletedDocument;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBDocument;
 import org.hibernate.ogm.dialect.couchdb.json.CouchDBEntity;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBResponse;
+import org.hibernate.ogm.dialect.couchdb.model.CouchDBAssociationRowsSnapshot;
 import org.hibernate.ogm.dialect.couchdb.model.CouchDBAssociationSnapshot;
 import org.hibernate.ogm.dialect.couchdb.model.CouchDBTupleSnapshot;
 import org.hibernate.ogm.dialect.couchdb.type.CouchDBBlobType;
 import org.hibernate.ogm.dialect.couchdb.type.CouchDBByteType;
 import org.hibernate.ogm.dialect.couchdb.type.CouchDBLongType;
 import org.hibernate.ogm.dialect.couchdb.util.Identifier;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.logging.couchdb.impl.Log;
+import org.hibernate.ogm.logging.couchdb.impl.LoggerFactory;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
 import org.hibernate.ogm.type.Iso8601StringCalendarType;
@@ -59,14 +87,41 @@
  * <p>
  * Tuples are stored in CouchDB documents obtained as a JSON serialization of a {@link CouchDBEntity} object.
  * Associations are stored in CouchDB documents obtained as a JSON serialization of a {@link CouchDBAssociation} object.
+ * Alternatively, each row of an association can be stored in a separate {@link CouchDBAssociationRow} document, see
+ * {@link AssociationStorageType#ROW_DOCUMENTS}.
  *
  * @author Andrea Boriero <dreborier@gmail.com/>
  * @author Gunnar Morling
  */
 public class CouchDBDialect implements GridDialect {
 
+	private static final Log logger = LoggerFactory.getLogger();
+
+	private static final int REVISIONS_CACHE_SIZE = 10000;
+
+	/**
+	 * The error reported by CouchDB for a document which has been modified concurrently
+	 */
+	private static final String CONFLICT_ERROR = "conflict";
+
+	/**
+	 * The error reported by CouchDB for a document which doesn't exist
+	 */
+	private static final String NOT_FOUND_ERROR = "not_found";
+
 	private final CouchDBDatastoreProvider provider;
 
+	/**
+	 * The last known revisions of the documents read or written by this dialect, used to delete documents without
+	 * retrieving their current revision first. A stale revision results in a conflict, upon which the current revision
+	 * is retrieved.
+	 */
+	private final ConcurrentMap<String, String> revisions = new BoundedConcurrentHashMap<String, String>(
+			REVISIONS_CACHE_SIZE,
+			20,
+			BoundedConcurrentHashMap.Eviction.LRU
+	);
+
 	public CouchDBDialect(CouchDBDatastoreProvider provider) {
 		this.provider = provider;
 	}
@@ -80,25 +135,75 @@ public LockingStrategy getLockingStrategy(Lockable lockable, LockMode lockMode)
 	public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		CouchDBEntity entity = getDataStore().getEntity( Identifier.createEntityId( key ) );
 		if ( entity != null ) {
-			return new Tuple( new CouchDBTupleSnapshot( entity.getProperties() ) );
+			rememberRevision( entity );
+			return new Tuple( new CouchDBTupleSnapshot( entity.getProperties(), entity.getRevision() ) );
 		}
 
 		return null;
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		List<String> ids = new ArrayList<String>( keys.length );
+		for ( EntityKey key : keys ) {
+			ids.add( Identifier.createEntityId( key ) );
+		}
+
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( CouchDBDocument document : getDataStore().getDocuments( ids ) ) {
+			if ( document instanceof CouchDBEntity ) {
+				CouchDBEntity entity = (CouchDBEntity) document;
+				rememberRevision( entity );
+				tuples.add( new Tuple( new CouchDBTupleSnapshot( entity.getProperties(), entity.getRevision() ) ) );
+			}
+			else {
+				tuples.add( null );
+			}
+		}
+		return tuples;
+	}
+
 	@Override
 	public Tuple createTuple(EntityKey key) {
 		return new Tuple( new CouchDBTupleSnapshot( key ) );
 	}
 
+	/**
+	 * If the tuple is based on a {@link CouchDBTupleSnapshot}, the revision of the document is known and the document
+	 * is saved right away. Only if there is no such snapshot or the document has been modified in the meantime, the
+	 * current document is retrieved and the changes are applied to it. A snapshot without revision belongs to a new
+	 * entity; a conflict then means that there is an entity with the same key already.
+	 */
 	@Override
 	public void updateTuple(Tuple tuple, EntityKey key) {
-		CouchDBEntity entity = getDataStore().getEntity( Identifier.createEntityId( key ) );
-		if ( entity == null ) {
+		CouchDBTupleSnapshot snapshot = tuple.getSnapshot() instanceof CouchDBTupleSnapshot ? (CouchDBTupleSnapshot) tuple.getSnapshot() : null;
+		CouchDBEntity entity = null;
+
+		if ( snapshot != null ) {
 			entity = new CouchDBEntity( key );
+			entity.setRevision( snapshot.getRevision() );
+			entity.update( tuple );
+			if ( !trySaveDocument( entity ) ) {
+				if ( snapshot.getRevision() == null ) {
+					throw logger.mustNotInsertSameEntityTwice( key );
+				}
+				entity = null;
+			}
+		}
+
+		if ( entity == null ) {
+			entity = getDataStore().getEntity( Identifier.createEntityId( key ) );
+			if ( entity == null ) {
+				entity = new CouchDBEntity( key );
+			}
+			entity.update( tuple );
+			getDataStore().saveDocument( entity );
+		}
+
+		rememberRevision( entity );
+		if ( snapshot != null ) {
+			snapshot.setRevision( entity.getRevision() );
 		}
-		entity.update( tuple );
-		getDataStore().saveDocument( entity );
 	}
 
 	@Override
@@ -108,32 +213,189 @@ public void removeTuple(EntityKey key) {
 
 	@Override
 	public Association getAssociation(AssociationKey key, AssociationContext associationContext) {
+		if ( isStoredInRowDocuments( key ) ) {
+			List<CouchDBAssociationRow> rows = getDataStore().getAssociationRows( Identifier.createAssociationRowIdPrefix( key ) );
+			return rows.isEmpty() ? null : new Association( new CouchDBAssociationRowsSnapshot( rows, key ) );
+		}
+
 		CouchDBAssociation association = getDataStore().getAssociation( Identifier.createAssociationId( key ) );
 		if ( association != null ) {
+			rememberRevision( association );
 			return new Association( new CouchDBAssociationSnapshot( association, key ) );
 		}
 		return null;
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		List<String> ids = new ArrayList<String>( keys.length );
+		for ( AssociationKey key : keys ) {
+			if ( !isStoredInRowDocuments( key ) ) {
+				ids.add( Identifier.createAssociationId( key ) );
+			}
+		}
+
+		// associations stored in row documents are retrieved one by one
+		Iterator<CouchDBDocument> documents = ids.isEmpty()
+				? Collections.<CouchDBDocument>emptyList().iterator()
+				: getDataStore().getDocuments( ids ).iterator();
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( isStoredInRowDocuments( keys[i] ) ) {
+				associations.add( getAssociation( keys[i], associationContext ) );
+				continue;
+			}
+
+			CouchDBDocument document = documents.next();
+			if ( document instanceof CouchDBAssociation ) {
+				rememberRevision( document );
+				associations.add( new Association( new CouchDBAssociationSnapshot( (CouchDBAssociation) document, keys[i] ) ) );
+			}
+			else {
+				associations.add( null );
+			}
+		}
+		return associations;
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		return GridDialectHelpers.getAssociationSizeByLoading( this, key, associationContext );
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		return GridDialectHelpers.associationContainsRowByLoading( this, key, rowKey, associationContext );
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		return null;
+	}
+
+	/**
+	 * Writes the documents of all the given operations using a single {@code _bulk_docs} request. The documents whose
+	 * revision is neither known from a snapshot nor from a previous read are retrieved beforehand using one multi-get.
+	 * Operations failing due to a conflict are re-executed one by one. Operations on associations stored in row
+	 * documents are executed one by one, each of them writing its row documents with one request.
+	 */
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		List<PendingWrite> writes = new ArrayList<PendingWrite>( queue.size() );
+		List<PendingWrite> unresolvedWrites = new ArrayList<PendingWrite>();
+		List<Operation> rowDocumentsOperations = new ArrayList<Operation>();
+
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( isStoredInRowDocuments( operation ) ) {
+				rowDocumentsOperations.add( operation );
+			}
+			else {
+				PendingWrite write = new PendingWrite( operation );
+				write.document = createDocument( write );
+				if ( write.document == null ) {
+					unresolvedWrites.add( write );
+				}
+				writes.add( write );
+			}
+			operation = queue.poll();
+		}
+
+		// these operations already write all their row documents with one request
+		for ( Operation rowDocumentsOperation : rowDocumentsOperations ) {
+			GridDialectHelpers.executeOperation( this, rowDocumentsOperation );
+		}
+
+		resolveDocuments( unresolvedWrites );
+
+		List<PendingWrite> writesToExecute = new ArrayList<PendingWrite>( writes.size() );
+		List<CouchDBDocument> documents = new ArrayList<CouchDBDocument>( writes.size() );
+		for ( PendingWrite write : writes ) {
+			if ( write.document != null ) {
+				writesToExecute.add( write );
+				documents.add( write.document );
+			}
+		}
+
+		if ( documents.isEmpty() ) {
+			return;
+		}
+
+		List<CouchDBResponse> results = getDataStore().saveDocuments( documents );
+		for ( int i = 0; i < writesToExecute.size(); i++ ) {
+			PendingWrite write = writesToExecute.get( i );
+			CouchDBResponse result = results.get( i );
+
+			if ( result.getError() == null ) {
+				afterSuccessfulWrite( write );
+			}
+			else if ( CONFLICT_ERROR.equals( result.getError() ) ) {
+				GridDialectHelpers.executeOperation( this, write.operation );
+			}
+			else {
+				throw logger.errorWritingDocument( write.operation.getKey(), result.getError(), result.getReason() );
+			}
+		}
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
+		if ( isStoredInRowDocuments( key ) ) {
+			return new Association( new CouchDBAssociationRowsSnapshot() );
+		}
+
 		CouchDBAssociation association = new CouchDBAssociation( Identifier.createAssociationId( key ) );
 		return new Association( new CouchDBAssociationSnapshot( association, key ) );
 	}
 
+	/**
+	 * As the rows of the association document are rebuilt from the given association, the document only needs to be
+	 * retrieved if its revision isn't known from the snapshot or the document has been modified in the meantime.
+	 */
 	@Override
 	public void updateAssociation(Association association, AssociationKey key) {
-		CouchDBAssociation couchDBAssociation = getDataStore().getAssociation( Identifier.createAssociationId( key ) );
-		if ( couchDBAssociation == null ) {
+		if ( isStoredInRowDocuments( key ) ) {
+			updateAssociationRows( association, key );
+			return;
+		}
+
+		CouchDBAssociationSnapshot snapshot = association.getSnapshot() instanceof CouchDBAssociationSnapshot
+				? (CouchDBAssociationSnapshot) association.getSnapshot()
+				: null;
+		CouchDBAssociation couchDBAssociation = null;
+
+		if ( snapshot != null ) {
 			couchDBAssociation = new CouchDBAssociation( Identifier.createAssociationId( key ) );
+			couchDBAssociation.setRevision( snapshot.getRevision() );
+			couchDBAssociation.update( association, key );
+			if ( !trySaveDocument( couchDBAssociation ) ) {
+				couchDBAssociation = null;
+			}
+		}
+
+		if ( couchDBAssociation == null ) {
+			couchDBAssociation = getDataStore().getAssociation( Identifier.createAssociationId( key ) );
+			if ( couchDBAssociation == null ) {
+				couchDBAssociation = new CouchDBAssociation( Identifier.createAssociationId( key ) );
+			}
+			couchDBAssociation.update( association, key );
+			getDataStore().saveDocument( couchDBAssociation );
+		}
+
+		rememberRevision( couchDBAssociation );
+		if ( snapshot != null ) {
+			snapshot.setRevision( couchDBAssociation.getRevision() );
 		}
-		couchDBAssociation.update( association, key );
-		getDataStore().saveDocument( couchDBAssociation );
 	}
 
 	@Override
 	public void removeAssociation(AssociationKey key) {
-		removeDocumentIfPresent( Identifier.createAssociationId( key ) );
+		if ( isStoredInRowDocuments( key ) ) {
+			removeAssociationRows( key );
+		}
+		else {
+			removeDocumentIfPresent( Identifier.createAssociationId( key ) );
+		}
 	}
 
 	@Override
@@ -181,7 +443,7 @@ else if ( type == StandardBasicTypes.LONG ) {
 	@Override
 	public void forEachTuple(Consumer consumer, EntityKeyMetadata... entityKeyMetadatas) {
 		for ( EntityKeyMetadata entityKeyMetadata : entityKeyMetadatas ) {
-			forTuple( consumer, entityKeyMetadata );
+			getDataStore().forEachTuple( consumer, entityKeyMetadata );
 		}
 	}
 
@@ -203,28 +465,315 @@ public int getEntitiesSize() {
 		return getDataStore().getNumberOfEntities();
 	}
 
-	private void forTuple(Consumer consumer, EntityKeyMetadata entityKeyMetadata) {
-		List<Tuple> tuples = getTuples( entityKeyMetadata );
-		for ( Tuple tuple : tuples ) {
-			consumer.consume( tuple );
-		}
-	}
-
-	private List<Tuple> getTuples(EntityKeyMetadata entityKeyMetadata) {
-		return getDataStore().getTuples( entityKeyMetadata );
-	}
-
 	private CouchDBDatastore getDataStore() {
 		return provider.getDataStore();
 	}
 
 	private void removeDocumentIfPresent(String id) {
+		String knownRevision = revisions.remove( id );
+		if ( knownRevision != null && tryDeleteDocument( id, knownRevision ) ) {
+			return;
+		}
+
 		String currentRevision = getDataStore().getCurrentRevision( id );
 		if ( currentRevision != null ) {
 			getDataStore().deleteDocument( id, currentRevision );
 		}
 	}
 
+	/**
+	 * Saves the given document with its current revision.
+	 *
+	 * @return {@code false} if the document couldn't be saved as it has been modified in the meantime, {@code true}
+	 * otherwise
+	 */
+	private boolean trySaveDocument(CouchDBDocument document) {
+		try {
+			getDataStore().saveDocument( document );
+			return true;
+		}
+		catch (OptimisticLockException e) {
+			return false;
+		}
+	}
+
+	private boolean tryDeleteDocument(String id, String revision) {
+		try {
+			getDataStore().deleteDocument( id, revision );
+			return true;
+		}
+		catch (OptimisticLockException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Creates the document to be written for the given operation, based on the revision known from the snapshot or a
+	 * previous read.
+	 *
+	 * @return the document to write or {@code null} if the current document needs to be retrieved first
+	 */
+	private CouchDBDocument createDocument(PendingWrite write) {
+		if ( write.operation instanceof UpdateTupleOperation ) {
+			UpdateTupleOperation update = (UpdateTupleOperation) write.operation;
+			if ( update.getTuple().getSnapshot() instanceof CouchDBTupleSnapshot ) {
+				CouchDBEntity entity = new CouchDBEntity( update.getEntityKey() );
+				entity.setRevision( ( (CouchDBTupleSnapshot) update.getTuple().getSnapshot() ).getRevision() );
+				entity.update( update.getTuple() );
+				return entity;
+			}
+		}
+		else if ( write.operation instanceof UpdateAssociationOperation ) {
+			UpdateAssociationOperation update = (UpdateAssociationOperation) write.operation;
+			if ( update.getAssociation().getSnapshot() instanceof CouchDBAssociationSnapshot ) {
+				CouchDBAssociation association = new CouchDBAssociation( write.id );
+				association.setRevision( ( (CouchDBAssociationSnapshot) update.getAssociation().getSnapshot() ).getRevision() );
+				association.update( update.getAssociation(), update.getAssociationKey() );
+				return association;
+			}
+		}
+		else {
+			String knownRevision = revisions.get( write.id );
+			if ( knownRevision != null ) {
+				return new CouchDBDeletedDocument( write.id, knownRevision );
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Retrieves the current documents for the given writes and creates the documents to be written from them. Removals
+	 * of non-existing documents are dropped.
+	 */
+	private void resolveDocuments(List<PendingWrite> writes) {
+		if ( writes.isEmpty() ) {
+			return;
+		}
+
+		List<String> ids = new ArrayList<String>( writes.size() );
+		for ( PendingWrite write : writes ) {
+			ids.add( write.id );
+		}
+
+		List<CouchDBDocument> currentDocuments = getDataStore().getDocuments( ids );
+		for ( int i = 0; i < writes.size(); i++ ) {
+			PendingWrite write = writes.get( i );
+			CouchDBDocument current = currentDocuments.get( i );
+
+			if ( write.operation instanceof UpdateTupleOperation ) {
+				UpdateTupleOperation update = (UpdateTupleOperation) write.operation;
+				CouchDBEntity entity = current instanceof CouchDBEntity ? (CouchDBEntity) current : new CouchDBEntity( update.getEntityKey() );
+				entity.update( update.getTuple() );
+				write.document = entity;
+			}
+			else if ( write.operation instanceof UpdateAssociationOperation ) {
+				UpdateAssociationOperation update = (UpdateAssociationOperation) write.operation;
+				CouchDBAssociation association = current instanceof CouchDBAssociation ? (CouchDBAssociation) current : new CouchDBAssociation( write.id );
+				association.update( update.getAssociation(), update.getAssociationKey() );
+				write.document = association;
+			}
+			else if ( current != null ) {
+				write.document = new CouchDBDeletedDocument( write.id, current.getRevision() );
+			}
+		}
+	}
+
+	private void afterSuccessfulWrite(PendingWrite write) {
+		if ( write.document instanceof CouchDBDeletedDocument ) {
+			revisions.remove( write.id );
+			return;
+		}
+
+		rememberRevision( write.document );
+
+		if ( write.operation instanceof UpdateTupleOperation ) {
+			TupleSnapshot snapshot = ( (UpdateTupleOperation) write.operation ).getTuple().getSnapshot();
+			if ( snapshot instanceof CouchDBTupleSnapshot ) {
+				( (CouchDBTupleSnapshot) snapshot ).setRevision( write.document.getRevision() );
+			}
+		}
+		else if ( write.operation instanceof UpdateAssociationOperation ) {
+			AssociationSnapshot snapshot = ( (UpdateAssociationOperation) write.operation ).getAssociation().getSnapshot();
+			if ( snapshot instanceof CouchDBAssociationSnapshot ) {
+				( (CouchDBAssociationSnapshot) snapshot ).setRevision( write.document.getRevision() );
+			}
+		}
+	}
+
+	private boolean isStoredInRowDocuments(AssociationKey key) {
+		return provider.getAssociationStorage( key ) == AssociationStorageType.ROW_DOCUMENTS;
+	}
+
+	private boolean isStoredInRowDocuments(Operation operation) {
+		if ( operation instanceof UpdateAssociationOperation ) {
+			return isStoredInRowDocuments( ( (UpdateAssociationOperation) operation ).getAssociationKey() );
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			return isStoredInRowDocuments( ( (RemoveAssociationOperation) operation ).getAssociationKey() );
+		}
+		else {
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the changes of the given association to its row documents. Only the documents of the rows added, updated
+	 * or removed since the snapshot has been taken are written, all of them with a single request.
+	 */
+	private void updateAssociationRows(Association association, AssociationKey key) {
+		CouchDBAssociationRowsSnapshot snapshot = association.getSnapshot() instanceof CouchDBAssociationRowsSnapshot
+				? (CouchDBAssociationRowsSnapshot) association.getSnapshot()
+				: new CouchDBAssociationRowsSnapshot( getDataStore().getAssociationRows( Identifier.createAssociationRowIdPrefix( key ) ), key );
+
+		boolean cleared = false;
+		Set<RowKey> changedRowKeys = new HashSet<RowKey>();
+		List<RowKey> rowKeys = new ArrayList<RowKey>();
+		List<CouchDBDocument> documents = new ArrayList<CouchDBDocument>();
+
+		for ( AssociationOperation operation : association.getOperations() ) {
+			if ( operation.getType() == AssociationOperationType.CLEAR ) {
+				cleared = true;
+				continue;
+			}
+
+			RowKey rowKey = operation.getKey();
+			String id = Identifier.createAssociationRowId( key, rowKey );
+			String revision = snapshot.getRevision( rowKey );
+			changedRowKeys.add( rowKey );
+
+			if ( operation.getType() == AssociationOperationType.PUT && operation.getValue() != null ) {
+				CouchDBAssociationRow row = new CouchDBAssociationRow( id );
+				row.setRevision( revision );
+				row.update( operation.getValue(), key );
+				rowKeys.add( rowKey );
+				documents.add( row );
+			}
+			else if ( revision != null ) {
+				rowKeys.add( rowKey );
+				documents.add( new CouchDBDeletedDocument( id, revision ) );
+			}
+		}
+
+		if ( cleared ) {
+			for ( RowKey rowKey : snapshot.getStoredRowKeys() ) {
+				if ( !changedRowKeys.contains( rowKey ) ) {
+					rowKeys.add( rowKey );
+					documents.add( new CouchDBDeletedDocument( Identifier.createAssociationRowId( key, rowKey ), snapshot.getRevision( rowKey ) ) );
+				}
+			}
+		}
+
+		if ( documents.isEmpty() ) {
+			return;
+		}
+
+		List<CouchDBResponse> results = getDataStore().saveDocuments( documents );
+		for ( int i = 0; i < documents.size(); i++ ) {
+			CouchDBDocument document = documents.get( i );
+			CouchDBResponse result = results.get( i );
+
+			if ( result.getError() != null && !isAlreadyDeleted( document, result ) ) {
+				if ( !CONFLICT_ERROR.equals( result.getError() ) ) {
+					throw logger.errorWritingDocument( key, result.getError(), result.getReason() );
+				}
+				writeRowWithCurrentRevision( document );
+			}
+
+			boolean deleted = document instanceof CouchDBDeletedDocument;
+			snapshot.setRevision( rowKeys.get( i ), deleted ? null : document.getRevision() );
+		}
+	}
+
+	private boolean isAlreadyDeleted(CouchDBDocument document, CouchDBResponse result) {
+		return document instanceof CouchDBDeletedDocument && NOT_FOUND_ERROR.equals( result.getError() );
+	}
+
+	/**
+	 * Saves or deletes the given row document after retrieving its current revision.
+	 */
+	private void writeRowWithCurrentRevision(CouchDBDocument document) {
+		String currentRevision = getDataStore().getCurrentRevision( document.getId() );
+
+		if ( document instanceof CouchDBDeletedDocument ) {
+			if ( currentRevision != null ) {
+				getDataStore().deleteDocument( document.getId(), currentRevision );
+			}
+		}
+		else {
+			document.setRevision( currentRevision );
+			getDataStore().saveDocument( document );
+		}
+	}
+
+	/**
+	 * Deletes all the row documents of the given association with a single request.
+	 */
+	private void removeAssociationRows(AssociationKey key) {
+		List<CouchDBAssociationRow> rows = getDataStore().getAssociationRows( Identifier.createAssociationRowIdPrefix( key ) );
+		if ( rows.isEmpty() ) {
+			return;
+		}
+
+		List<CouchDBDocument> documents = new ArrayList<CouchDBDocument>( rows.size() );
+		for ( CouchDBAssociationRow row : rows ) {
+			documents.add( new CouchDBDeletedDocument( row.getId(), row.getRevision() ) );
+		}
+
+		List<CouchDBResponse> results = getDataStore().saveDocuments( documents );
+		for ( int i = 0; i < documents.size(); i++ ) {
+			CouchDBResponse result = results.get( i );
+			if ( result.getError() == null || isAlreadyDeleted( documents.get( i ), result ) ) {
+				continue;
+			}
+			else if ( CONFLICT_ERROR.equals( result.getError() ) ) {
+				writeRowWithCurrentRevision( documents.get( i ) );
+			}
+			else {
+				throw logger.errorWritingDocument( key, result.getError(), result.getReason() );
+			}
+		}
+	}
+
+	private void rememberRevision(CouchDBDocument document) {
+		if ( document.getRevision() != null ) {
+			revisions.put( document.getId(), document.getRevision() );
+		}
+	}
+
+	/**
+	 * An operation of a batch together with the document to be written for it.
+	 */
+	private static class PendingWrite {
+
+		private final Operation operation;
+		private final String id;
+		private CouchDBDocument document;
+
+		private PendingWrite(Operation operation) {
+			this.operation = operation;
+			this.id = createId( operation );
+		}
+
+		private static String createId(Operation operation) {
+			if ( operation instanceof UpdateTupleOperation ) {
+				return Identifier.createEntityId( ( (UpdateTupleOperation) operation ).getEntityKey() );
+			}
+			else if ( operation instanceof RemoveTupleOperation ) {
+				return Identifier.createEntityId( ( (RemoveTupleOperation) operation ).getEntityKey() );
+			}
+			else if ( operation instanceof UpdateAssociationOperation ) {
+				return Identifier.createAssociationId( ( (UpdateAssociationOperation) operation ).getAssociationKey() );
+			}
+			else if ( operation instanceof RemoveAssociationOperation ) {
+				return Identifier.createAssociationId( ( (RemoveAssociationOperation) operation ).getAssociationKey() );
+			}
+			else {
+				throw new AssertionFailure( "Unknown operation type: " + operation );
+			}
+		}
+	}
+
 	@Override
 	public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMetadata[] metadatas) {
 		throw new UnsupportedOperationException( "Native queries not supported for CouchDB" );
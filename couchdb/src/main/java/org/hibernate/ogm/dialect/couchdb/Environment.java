@@ -61,4 +61,40 @@ public interface Environment {
 	 */
 	String COUCHDB_CREATE_DATABASE = "hibernate.org.couchdb.createdatabase";
 
+	/**
+	 * The maximum number of pooled HTTP connections to the CouchDB instance, shared by all sessions. Defaults to 20.
+	 */
+	String COUCHDB_MAX_CONNECTIONS = "hibernate.ogm.couchdb.max_connections";
+
+	/**
+	 * The maximum number of pooled HTTP connections per route. As all requests go to the same CouchDB instance, this
+	 * defaults to the value of {@link #COUCHDB_MAX_CONNECTIONS}.
+	 */
+	String COUCHDB_MAX_CONNECTIONS_PER_ROUTE = "hibernate.ogm.couchdb.max_connections_per_route";
+
+	/**
+	 * The time in milliseconds for which an idle pooled connection is kept alive for re-use. Defaults to -1, keeping
+	 * connections alive until they are closed by the server.
+	 */
+	String COUCHDB_CONNECTION_KEEP_ALIVE = "hibernate.ogm.couchdb.connection_keep_alive";
+
+	/**
+	 * The timeout in milliseconds for establishing a connection to the CouchDB instance. Defaults to -1, meaning no
+	 * timeout.
+	 */
+	String COUCHDB_CONNECT_TIMEOUT = "hibernate.ogm.couchdb.connect_timeout";
+
+	/**
+	 * The timeout in milliseconds for waiting for data from the CouchDB instance. Defaults to -1, meaning no timeout.
+	 */
+	String COUCHDB_SOCKET_TIMEOUT = "hibernate.ogm.couchdb.socket_timeout";
+
+	/**
+	 * How to store the rows of associations, given as one of the values of
+	 * {@link org.hibernate.ogm.datastore.couchdb.AssociationStorageType}. Defaults to {@code ASSOCIATION_DOCUMENT}.
+	 * Can be overridden for specific associations using
+	 * {@link org.hibernate.ogm.options.couchdb.AssociationStorageOption}.
+	 */
+	String COUCHDB_ASSOCIATION_STORAGE = "hibernate.ogm.couchdb.association_storage";
+
 }
@@ -30,7 +30,8 @@
 import org.hibernate.ogm.dialect.couchdb.model.CouchDBTupleSnapshot;
 
 /**
- * Represents the Result of the REST call associated with the {@link TuplesDesignDocument}
+ * Represents a page of the result of the REST call associated with the {@link TuplesDesignDocument}, retrieved with
+ * {@code include_docs=true}
  *
  * @author Andrea Boriero <dreborier@gmail.com>
  */
@@ -47,27 +48,53 @@ void setRows(List<Row> rows) {
 		this.rows = rows;
 	}
 
+	/**
+	 * Returns the tuples of the first rows of this page.
+	 *
+	 * @param count the maximum number of tuples to return
+	 * @return the tuples of the first {@code count} rows
+	 */
 	@JsonIgnore
-	public List<Tuple> getTuples() {
-		List<Tuple> tuples = new ArrayList<Tuple>( rows.size() );
-		if ( rows.size() > 0 ) {
-			for ( Row row : rows ) {
-				tuples.add( new Tuple( new CouchDBTupleSnapshot( row.getValue().getProperties() ) ) );
-			}
+	public List<Tuple> getTuples(int count) {
+		int size = Math.min( count, rows.size() );
+		List<Tuple> tuples = new ArrayList<Tuple>( size );
+		for ( int i = 0; i < size; i++ ) {
+			CouchDBEntity entity = rows.get( i ).getDoc();
+			tuples.add( new Tuple( new CouchDBTupleSnapshot( entity.getProperties(), entity.getRevision() ) ) );
 		}
 		return tuples;
 	}
 
+	/**
+	 * Returns the id of the document of the row following the first rows of this page.
+	 *
+	 * @param count the number of rows to skip
+	 * @return the id of the document after the first {@code count} rows or {@code null} if there is no such row
+	 */
+	@JsonIgnore
+	public String getDocumentIdAfter(int count) {
+		return rows.size() > count ? rows.get( count ).getId() : null;
+	}
+
 	@JsonIgnoreProperties(ignoreUnknown = true)
 	private static class Row {
-		private CouchDBEntity value;
+		private String id;
+		private CouchDBEntity doc;
+
+		public String getId() {
+			return id;
+		}
+
+		void setId(String id) {
+			this.id = id;
+		}
 
-		public CouchDBEntity getValue() {
-			return value;
+		public CouchDBEntity getDoc() {
+			return doc;
 		}
 
-		void setValue(CouchDBEntity value) {
-			this.value = value;
+		void setDoc(CouchDBEntity doc) {
+			this.doc = doc;
 		}
 	}
 
@@ -28,8 +28,9 @@
  * Creates a CouchDB Design Document with a view used to retrieve the entities of a given table.
  * <p>
  * The map function of this view emits those documents whose type is {@link CouchDBEntity#TYPE_NAME}, keyed by table
- * name. This allows to limit the result set to entities of specific tables by specifying the "key" query parameter when
- * querying the view.
+ * name. This allows to limit the result set to entities of specific tables by specifying the "startkey" and "endkey"
+ * query parameters when querying the view. No value is emitted, the documents are to be retrieved using
+ * "include_docs=true", avoiding a copy of each document in the view index.
  *
  * @author Andrea Boriero <dreborier@gmail.com>
  */
@@ -53,10 +54,11 @@ public class TuplesDesignDocument extends CouchDBDesignDocument {
 			+ ENTITY_TUPLE_BY_TABLE_NAME_VIEW_NAME;
 
 	/**
-	 * The JavaScript map function; each document of type "entity" will be emitted, using the table name as key.
+	 * The JavaScript map function; the id of each document of type "entity" will be emitted, using the table name as
+	 * key.
 	 */
 	public static final String MAP = "function(doc) {if(doc." + CouchDBDocument.TYPE_DISCRIMINATOR_FIELD_NAME + " == \"" + CouchDBEntity.TYPE_NAME
-			+ "\") {emit(doc.$table , doc);}}";
+			+ "\") {emit(doc.$table , null);}}";
 
 	public TuplesDesignDocument() {
 		setId( DOCUMENT_ID );
@@ -73,21 +73,25 @@ public void update(Association association, AssociationKey associationKey) {
 		rows.clear();
 
 		for ( RowKey rowKey : association.getKeys() ) {
-			Tuple tuple = association.get( rowKey );
+			rows.add( toRow( association.get( rowKey ), associationKey ) );
+		}
+	}
 
-			Map<String, Object> row = new HashMap<String, Object>();
-			for ( String columnName : tuple.getColumnNames() ) {
-				// don't store columns which are part of the association key and can be retrieved from there
-				if ( !isKeyColumn( associationKey, columnName ) ) {
-					row.put( columnName, tuple.get( columnName ) );
-				}
+	/**
+	 * Returns the columns of the given association row to be stored.
+	 */
+	static Map<String, Object> toRow(Tuple tuple, AssociationKey associationKey) {
+		Map<String, Object> row = new HashMap<String, Object>();
+		for ( String columnName : tuple.getColumnNames() ) {
+			// don't store columns which are part of the association key and can be retrieved from there
+			if ( !isKeyColumn( associationKey, columnName ) ) {
+				row.put( columnName, tuple.get( columnName ) );
 			}
-
-			rows.add( row );
 		}
+		return row;
 	}
 
-	private boolean isKeyColumn(AssociationKey associationKey, String columnName) {
+	private static boolean isKeyColumn(AssociationKey associationKey, String columnName) {
 		for ( String keyColumName : associationKey.getColumnNames() ) {
 			if ( keyColumName.equals( columnName ) ) {
 				return true;
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.couchdb.json;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.jackson.annotate.JsonIgnore;
+import org.codehaus.jackson.annotate.JsonTypeName;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+import org.codehaus.jackson.map.annotate.JsonSerialize.Inclusion;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.grid.AssociationKey;
+
+/**
+ * Contains a single row of an association stored with
+ * {@link org.hibernate.ogm.datastore.couchdb.AssociationStorageType#ROW_DOCUMENTS}. The id of the document is made up
+ * from the id of the association and the row key, see
+ * {@link org.hibernate.ogm.dialect.couchdb.util.Identifier#createAssociationRowId}.
+ *
+ * Used to serialize and deserialize the JSON with the following structure:
+ *
+ * { "_id": "", "_rev": " ", "$type": "associationRow", "row": { "key": "value" } }
+ */
+@JsonSerialize(include = Inclusion.NON_NULL)
+@JsonTypeName(CouchDBAssociationRow.TYPE_NAME)
+public class CouchDBAssociationRow extends CouchDBDocument {
+
+	/**
+	 * The name of this document type as materialized in {@link CouchDBDocument#TYPE_DISCRIMINATOR_FIELD_NAME}.
+	 */
+	public static final String TYPE_NAME = "associationRow";
+
+	private Map<String, Object> row = new HashMap<String, Object>();
+
+	public CouchDBAssociationRow() {
+	}
+
+	public CouchDBAssociationRow(String id) {
+		super( id );
+	}
+
+	/**
+	 * Updates this row with the data from the given association row tuple
+	 *
+	 * @param tuple the association row
+	 * @param associationKey the key of the association the row belongs to
+	 */
+	@JsonIgnore
+	public void update(Tuple tuple, AssociationKey associationKey) {
+		row = CouchDBAssociation.toRow( tuple, associationKey );
+	}
+
+	public Map<String, Object> getRow() {
+		return row;
+	}
+
+	public void setRow(Map<String, Object> row) {
+		this.row = row;
+	}
+}
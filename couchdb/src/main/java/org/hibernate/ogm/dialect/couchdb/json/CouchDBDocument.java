@@ -22,6 +22,8 @@
 
 import org.codehaus.jackson.annotate.JsonIgnore;
 import org.codehaus.jackson.annotate.JsonProperty;
+import org.codehaus.jackson.annotate.JsonSubTypes;
+import org.codehaus.jackson.annotate.JsonSubTypes.Type;
 import org.codehaus.jackson.annotate.JsonTypeInfo;
 
 /**
@@ -35,6 +37,13 @@
 	include = JsonTypeInfo.As.PROPERTY,
 	property = CouchDBDocument.TYPE_DISCRIMINATOR_FIELD_NAME
 )
+@JsonSubTypes({
+	@Type(CouchDBEntity.class),
+	@Type(CouchDBAssociation.class),
+	@Type(CouchDBAssociationRow.class),
+	@Type(CouchDBKeyValue.class),
+	@Type(CouchDBDeletedDocument.class)
+})
 public abstract class CouchDBDocument {
 
 	/**
@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.couchdb.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.jackson.annotate.JsonIgnore;
+import org.codehaus.jackson.annotate.JsonIgnoreProperties;
+
+/**
+ * Represents the result of a call to the {@code _all_docs} resource with {@code include_docs=true}. There is one row
+ * per requested key, in the order of the request; rows of non-existing or deleted documents have no document.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CouchDBDocumentRows {
+
+	private List<Row> rows;
+
+	public List<Row> getRows() {
+		return rows;
+	}
+
+	public void setRows(List<Row> rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * Returns the documents of this result, {@code null} being used for each key without a document.
+	 *
+	 * @return the documents of this result, in the order of the requested keys
+	 */
+	@JsonIgnore
+	public List<CouchDBDocument> getDocuments() {
+		List<CouchDBDocument> documents = new ArrayList<CouchDBDocument>( rows.size() );
+		for ( Row row : rows ) {
+			documents.add( row.getDoc() );
+		}
+		return documents;
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public static class Row {
+
+		private String key;
+		private String error;
+		private CouchDBDocument doc;
+
+		public String getKey() {
+			return key;
+		}
+
+		public void setKey(String key) {
+			this.key = key;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public void setError(String error) {
+			this.error = error;
+		}
+
+		public CouchDBDocument getDoc() {
+			return doc;
+		}
+
+		public void setDoc(CouchDBDocument doc) {
+			this.doc = doc;
+		}
+	}
+}
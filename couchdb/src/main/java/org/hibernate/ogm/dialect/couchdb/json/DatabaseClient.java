@@ -24,6 +24,7 @@
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
+import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -109,6 +110,40 @@ public interface DatabaseClient {
 	@Path("{id}")
 	Response getAssociationById(@PathParam("id") String id);
 
+	/**
+	 * Retrieve the documents with the given ids using a single request
+	 *
+	 * @param keys the ids of the documents to retrieve
+	 * @param includeDocs whether to include the documents themselves or only their ids and revisions
+	 * @return the {@link Response} with the {@link CouchDBDocumentRows}
+	 */
+	@POST
+	@Path("_all_docs")
+	Response getDocumentsByIds(CouchDBKeys keys, @QueryParam("include_docs") boolean includeDocs);
+
+	/**
+	 * Retrieve the documents whose ids are within the given range
+	 *
+	 * @param startKey the first id of the range as JSON string
+	 * @param endKey the last id of the range as JSON string
+	 * @param includeDocs must be {@code true} in order to retrieve the documents
+	 * @return the {@link Response} with the {@link CouchDBDocumentRows}
+	 */
+	@GET
+	@Path("_all_docs")
+	Response getDocumentsByIdRange(@QueryParam("startkey") String startKey, @QueryParam("endkey") String endKey,
+			@QueryParam("include_docs") boolean includeDocs);
+
+	/**
+	 * Save, update or delete the given documents using a single request
+	 *
+	 * @param documents the documents to write
+	 * @return the {@link Response} with the result for each document, in the order of the given documents
+	 */
+	@POST
+	@Path("_bulk_docs")
+	Response saveDocuments(CouchDBBulkDocuments documents);
+
 	/**
 	 * Retrieve the {@link CouchDBKeyValue} with the given id
 	 *
@@ -138,14 +173,20 @@ public interface DatabaseClient {
 	Response getNumberOfEntities();
 
 	/**
-	 * Retrieve all the entity tuples with the table name equals to the given one.
+	 * Retrieve a page of the entity tuples with the table name equals to the given one, ordered by document id.
 	 *
-	 * @param tableName name of the entity
+	 * @param startKey the name of the entity as JSON string
+	 * @param endKey the name of the entity as JSON string
+	 * @param startKeyDocumentId the id of the first document to retrieve or {@code null} to start with the first one
+	 * @param limit the maximum number of documents to retrieve
+	 * @param includeDocs must be {@code true} in order to retrieve the documents
 	 * @return the {@link Response} with the {@link org.hibernate.ogm.dialect.couchdb.designdocument.EntityTupleRows}
 	 */
 	@GET
 	@Path(TuplesDesignDocument.ENTITY_TUPLE_BY_TABLE_NAME_PATH)
-	Response getEntityTuplesByTableName(@QueryParam("key") String tableName);
+	Response getEntityTuplesByTableName(@QueryParam("startkey") String startKey, @QueryParam("endkey") String endKey,
+			@QueryParam("startkey_docid") String startKeyDocumentId, @QueryParam("limit") int limit,
+			@QueryParam("include_docs") boolean includeDocs);
 
 	/**
 	 * Retrieves the current revision of the document with the given id.
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.couchdb.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.ogm.datastore.spi.AssociationSnapshot;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociationRow;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.RowKey;
+
+/**
+ * {@link AssociationSnapshot} implementation based on the {@link CouchDBAssociationRow} documents of an association
+ * stored with {@link org.hibernate.ogm.datastore.couchdb.AssociationStorageType#ROW_DOCUMENTS}.
+ * <p>
+ * Besides the rows as retrieved, the revisions of the row documents are tracked. They are kept up to date when the
+ * association based on this snapshot is written, so that only the changed rows need to be written, also when the
+ * association is written several times.
+ */
+public class CouchDBAssociationRowsSnapshot implements AssociationSnapshot {
+
+	private final Map<RowKey, Map<String, Object>> rows = new HashMap<RowKey, Map<String, Object>>();
+
+	/**
+	 * The revisions of the currently stored row documents
+	 */
+	private final Map<RowKey, String> revisions = new HashMap<RowKey, String>();
+
+	/**
+	 * Creates a snapshot for an association without any stored rows.
+	 */
+	public CouchDBAssociationRowsSnapshot() {
+	}
+
+	public CouchDBAssociationRowsSnapshot(List<CouchDBAssociationRow> associationRows, AssociationKey key) {
+		for ( CouchDBAssociationRow associationRow : associationRows ) {
+			RowKey rowKey = CouchDBAssociationSnapshot.createRowKey( associationRow.getRow(), key );
+			rows.put( rowKey, associationRow.getRow() );
+			revisions.put( rowKey, associationRow.getRevision() );
+		}
+	}
+
+	@Override
+	public boolean containsKey(RowKey column) {
+		return rows.containsKey( column );
+	}
+
+	@Override
+	public Tuple get(RowKey column) {
+		Map<String, Object> row = rows.get( column );
+		return row != null ? new Tuple( new CouchDBTupleSnapshot( row ) ) : null;
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	@Override
+	public Set<RowKey> getRowKeys() {
+		return rows.keySet();
+	}
+
+	/**
+	 * Returns the revision of the document of the given row.
+	 *
+	 * @param rowKey the key of a row
+	 * @return the revision of the given row or {@code null} if the row is not stored
+	 */
+	public String getRevision(RowKey rowKey) {
+		return revisions.get( rowKey );
+	}
+
+	/**
+	 * Returns the keys of the currently stored rows.
+	 */
+	public Set<RowKey> getStoredRowKeys() {
+		return revisions.keySet();
+	}
+
+	/**
+	 * Sets the revision of the document of the given row after it has been written.
+	 *
+	 * @param rowKey the key of a row
+	 * @param revision the new revision of the row or {@code null} if the row has been deleted
+	 */
+	public void setRevision(RowKey rowKey, String revision) {
+		if ( revision != null ) {
+			revisions.put( rowKey, revision );
+		}
+		else {
+			revisions.remove( rowKey );
+		}
+	}
+}
@@ -42,21 +42,36 @@ public class CouchDBAssociationSnapshot implements AssociationSnapshot {
 
 	private final Map<RowKey, Map<String, Object>> rows = new HashMap<RowKey, Map<String, Object>>();
 
+	/**
+	 * The revision of the association document or {@code null} if it hasn't been stored yet
+	 */
+	private String revision;
+
 	public CouchDBAssociationSnapshot(CouchDBAssociation association, AssociationKey key) {
+		this.revision = association.getRevision();
+
 		for ( Map<String, Object> row : association.getRows() ) {
-			RowKey rowKey = new RowKeyBuilder()
-					.tableName( key.getTable() )
-					.addColumns( key.getRowKeyColumnNames() )
-					.values( getRowKeyColumnValues( row, key ) )
-					.build();
-
-			// Add values present in the given key to the row data
-			for ( int i = 0; i < key.getColumnNames().length; i++ ) {
-				row.put( key.getColumnNames()[i], key.getColumnValues()[i] );
-			}
+			rows.put( createRowKey( row, key ), row );
+		}
+	}
 
-			rows.put( rowKey, row );
+	/**
+	 * Creates the row key for the given stored association row and adds the values present in the given association
+	 * key to the row data.
+	 */
+	static RowKey createRowKey(Map<String, Object> row, AssociationKey key) {
+		RowKey rowKey = new RowKeyBuilder()
+				.tableName( key.getTable() )
+				.addColumns( key.getRowKeyColumnNames() )
+				.values( getRowKeyColumnValues( row, key ) )
+				.build();
+
+		// Add values present in the given key to the row data
+		for ( int i = 0; i < key.getColumnNames().length; i++ ) {
+			row.put( key.getColumnNames()[i], key.getColumnValues()[i] );
 		}
+
+		return rowKey;
 	}
 
 	/**
@@ -109,4 +124,15 @@ public int size() {
 	public Set<RowKey> getRowKeys() {
 		return rows.keySet();
 	}
+
+	public String getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Sets the revision of the document after the association based on this snapshot has been written.
+	 */
+	public void setRevision(String revision) {
+		this.revision = revision;
+	}
 }
@@ -35,6 +35,11 @@ public class CouchDBTupleSnapshot implements TupleSnapshot {
 
 	private final Map<String, Object> properties;
 
+	/**
+	 * The revision of the document this snapshot is based on or {@code null} if it isn't based on a stored document
+	 */
+	private String revision;
+
 	public CouchDBTupleSnapshot() {
 		this.properties = Collections.emptyMap();
 	}
@@ -47,7 +52,12 @@ public CouchDBTupleSnapshot(EntityKey key) {
 	}
 
 	public CouchDBTupleSnapshot(Map<String, Object> properties) {
+		this( properties, null );
+	}
+
+	public CouchDBTupleSnapshot(Map<String, Object> properties, String revision) {
 		this.properties = properties;
+		this.revision = revision;
 	}
 
 	@Override
@@ -64,4 +74,15 @@ public boolean isEmpty() {
 	public Set<String> getColumnNames() {
 		return properties.keySet();
 	}
+
+	public String getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Sets the revision of the document after the tuple based on this snapshot has been written.
+	 */
+	public void setRevision(String revision) {
+		this.revision = revision;
+	}
 }
@@ -24,6 +24,7 @@
 
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.RowKey;
 
 /**
  * Generates the ids used to create the {@link org.hibernate.ogm.dialect.couchdb.json.CouchDBDocument}
@@ -55,6 +56,29 @@ public static String createAssociationId(AssociationKey key) {
 		return key.getTable() + ":" + fromColumnValues( key.getColumnNames() ) + ":" + fromColumnValues( key.getColumnValues() );
 	}
 
+	/**
+	 * Create the id used to store an {@link org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociationRow}; The ids of
+	 * all the rows of one association start with {@link #createAssociationRowIdPrefix(AssociationKey)}.
+	 *
+	 * @param key the {@link AssociationKey} of the association the row belongs to
+	 * @param rowKey the {@link RowKey} of the row
+	 * @return the value of the generate id
+	 */
+	public static String createAssociationRowId(AssociationKey key, RowKey rowKey) {
+		return createAssociationRowIdPrefix( key ) + fromColumnValues( rowKey.getColumnValues() );
+	}
+
+	/**
+	 * Create the prefix shared by the ids of all the {@link org.hibernate.ogm.dialect.couchdb.json.CouchDBAssociationRow}s
+	 * of the given association
+	 *
+	 * @param key the {@link AssociationKey} of the association
+	 * @return the prefix of the row ids
+	 */
+	public static String createAssociationRowIdPrefix(AssociationKey key) {
+		return createAssociationId( key ) + ":";
+	}
+
 	private static String fromColumnValues(Object[] columnValues) {
 		String id = "";
 		for ( int i = 0; i < columnValues.length; i++ ) {
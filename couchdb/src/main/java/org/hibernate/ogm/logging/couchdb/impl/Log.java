@@ -102,4 +102,19 @@ HibernateException malformedDataBaseUrl(@Cause MalformedURLException e, String d
 
 	@Message(id = 1320, value = "The document with id %s has been concurrently modified.")
 	OptimisticLockException getDocumentHasBeenConcurrentlyModifiedException(String id);
+
+	@Message(id = 1321, value = "An error occurred retrieving %d documents by id, " + ERROR_DESCRIPTION)
+	HibernateException errorRetrievingDocuments(int numberOfDocuments, int status, String error, String reason);
+
+	@Message(id = 1322, value = "An error occurred saving %d documents, " + ERROR_DESCRIPTION)
+	HibernateException errorSavingDocuments(int numberOfDocuments, int status, String error, String reason);
+
+	@Message(id = 1323, value = "An error occurred writing the document for %s, error: '%s', reason: '%s'")
+	HibernateException errorWritingDocument(Object key, String error, String reason);
+
+	@Message(id = 1324, value = "Unknown association storage strategy: [%s]. Supported values in enum %s")
+	HibernateException unknownAssociationStorageStrategy(String associationStorage, Class<?> enumType);
+
+	@Message(id = 1325, value = "An error occurred retrieving the rows of association with id %s, " + ERROR_DESCRIPTION)
+	HibernateException errorRetrievingAssociationRows(String associationId, int status, String error, String reason);
 }
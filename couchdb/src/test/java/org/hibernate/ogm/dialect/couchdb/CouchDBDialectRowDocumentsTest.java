@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.couchdb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.ogm.datastore.couchdb.AssociationStorageType;
+import org.hibernate.ogm.datastore.couchdb.impl.CouchDBDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.couchdb.model.CouchDBTupleSnapshot;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.AssociationKeyMetadata;
+import org.hibernate.ogm.grid.RowKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for associations stored with {@link AssociationStorageType#ROW_DOCUMENTS}.
+ */
+public class CouchDBDialectRowDocumentsTest {
+
+	private static final String[] ROW_KEY_COLUMN_NAMES = new String[] { "user_id", "addresses_id" };
+
+	private final CouchDBDatastoreProvider datastoreProvider = new CouchDBDatastoreProvider();
+	private CouchDBDialect dialect;
+	private AssociationKey key;
+
+	@Before
+	public void setUp() throws Exception {
+		Properties properties = new Properties();
+		properties.load( CouchDBDialectRowDocumentsTest.class.getClassLoader().getResourceAsStream( "hibernate.properties" ) );
+		properties.setProperty( Environment.COUCHDB_ASSOCIATION_STORAGE, AssociationStorageType.ROW_DOCUMENTS.name() );
+		datastoreProvider.configure( properties );
+		datastoreProvider.start();
+
+		dialect = new CouchDBDialect( datastoreProvider );
+
+		AssociationKeyMetadata associationKeyMetadata = new AssociationKeyMetadata( "user_address", new String[] { "user_id" } );
+		associationKeyMetadata.setRowKeyColumnNames( ROW_KEY_COLUMN_NAMES );
+		key = new AssociationKey( associationKeyMetadata, new Object[] { "Emmanuel" } );
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		datastoreProvider.getDataStore().dropDatabase();
+		datastoreProvider.stop();
+	}
+
+	@Test
+	public void getAssociationShouldReturnNullIfThereAreNoRows() {
+		assertThat( dialect.getAssociation( key, emptyAssociationContext() ), nullValue() );
+	}
+
+	@Test
+	public void updateAssociationShouldStoreEachRowInADocument() {
+		Association association = dialect.createAssociation( key );
+		association.put( rowKey( 1 ), row( 1 ) );
+		association.put( rowKey( 2 ), row( 2 ) );
+		dialect.updateAssociation( association, key );
+
+		Association actualAssociation = dialect.getAssociation( key, emptyAssociationContext() );
+		assertThat( actualAssociation.size(), is( 2 ) );
+		assertThat( actualAssociation.get( rowKey( 1 ) ), notNullValue() );
+		assertThat( (String) actualAssociation.get( rowKey( 2 ) ).get( "user_id" ), is( "Emmanuel" ) );
+		assertThat( dialect.getAssociationSize(), is( 0 ) );
+	}
+
+	@Test
+	public void updateAssociationShouldApplySubsequentChangesOfTheSameAssociation() {
+		Association association = dialect.createAssociation( key );
+		association.put( rowKey( 1 ), row( 1 ) );
+		association.put( rowKey( 2 ), row( 2 ) );
+		dialect.updateAssociation( association, key );
+
+		association.remove( rowKey( 1 ) );
+		association.put( rowKey( 3 ), row( 3 ) );
+		dialect.updateAssociation( association, key );
+
+		Association actualAssociation = dialect.getAssociation( key, emptyAssociationContext() );
+		assertThat( actualAssociation.size(), is( 2 ) );
+		assertThat( actualAssociation.get( rowKey( 1 ) ), nullValue() );
+		assertThat( actualAssociation.get( rowKey( 3 ) ), notNullValue() );
+	}
+
+	@Test
+	public void updateAssociationShouldRemoveRowsOfLoadedAssociation() {
+		Association association = dialect.createAssociation( key );
+		association.put( rowKey( 1 ), row( 1 ) );
+		association.put( rowKey( 2 ), row( 2 ) );
+		dialect.updateAssociation( association, key );
+
+		Association loadedAssociation = dialect.getAssociation( key, emptyAssociationContext() );
+		loadedAssociation.clear();
+		loadedAssociation.put( rowKey( 2 ), row( 2 ) );
+		dialect.updateAssociation( loadedAssociation, key );
+
+		Association actualAssociation = dialect.getAssociation( key, emptyAssociationContext() );
+		assertThat( actualAssociation.size(), is( 1 ) );
+		assertThat( actualAssociation.get( rowKey( 2 ) ), notNullValue() );
+	}
+
+	@Test
+	public void removeAssociationShouldDeleteAllRows() {
+		Association association = dialect.createAssociation( key );
+		association.put( rowKey( 1 ), row( 1 ) );
+		association.put( rowKey( 2 ), row( 2 ) );
+		dialect.updateAssociation( association, key );
+
+		dialect.removeAssociation( key );
+
+		assertThat( dialect.getAssociation( key, emptyAssociationContext() ), nullValue() );
+	}
+
+	private AssociationContext emptyAssociationContext() {
+		return new AssociationContext( new ArrayList<String>() );
+	}
+
+	private RowKey rowKey(int addressId) {
+		return new RowKey( "user_address", ROW_KEY_COLUMN_NAMES, new Object[] { "Emmanuel", addressId } );
+	}
+
+	private Tuple row(int addressId) {
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put( "user_id", "Emmanuel" );
+		properties.put( "addresses_id", addressId );
+		return new Tuple( new CouchDBTupleSnapshot( properties ) );
+	}
+}
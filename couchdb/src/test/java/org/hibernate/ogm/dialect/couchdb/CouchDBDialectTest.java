@@ -22,10 +22,14 @@
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -34,12 +38,16 @@
 import org.hibernate.ogm.datastore.spi.AssociationContext;
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
 import org.hibernate.ogm.dialect.couchdb.model.CouchDBTupleSnapshot;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.AssociationKeyMetadata;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -86,6 +94,33 @@ public void getTupleShouldReturnTheSearchedOne() {
 		assertThat( actualTuple.get( "id" ), is( createdTuple.get( "id" ) ) );
 	}
 
+	@Test
+	public void getTuplesShouldReturnTuplesOfAllTablesInOrderOfKeys() {
+		EntityKey userKey = createEntityKey( "user", new String[] { "id" }, new Object[] { "17" } );
+		Tuple user = dialect.createTuple( userKey );
+		user.put( "name", "and" );
+		dialect.updateTuple( user, userKey );
+
+		EntityKey orderKey = createEntityKey( "order", new String[] { "id" }, new Object[] { "17" } );
+		Tuple order = dialect.createTuple( orderKey );
+		order.put( "name", "order1" );
+		dialect.updateTuple( order, orderKey );
+
+		// never stored and removed keys are reported as "not_found" and "deleted" rows respectively
+		EntityKey missingKey = createEntityKey( "user", new String[] { "id" }, new Object[] { "18" } );
+		EntityKey removedKey = createEntityKey( "order", new String[] { "id" }, new Object[] { "18" } );
+		dialect.updateTuple( dialect.createTuple( removedKey ), removedKey );
+		dialect.removeTuple( removedKey );
+
+		List<Tuple> tuples = dialect.getTuples( new EntityKey[] { orderKey, missingKey, userKey, removedKey }, emptyTupleContext() );
+
+		assertThat( tuples.size(), is( 4 ) );
+		assertThat( (String) tuples.get( 0 ).get( "name" ), is( "order1" ) );
+		assertThat( tuples.get( 1 ), nullValue() );
+		assertThat( (String) tuples.get( 2 ).get( "name" ), is( "and" ) );
+		assertThat( tuples.get( 3 ), nullValue() );
+	}
+
 	@Test
 	public void removeTupleShouldDeleteTheCreatedTuple() {
 		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
@@ -105,10 +140,105 @@ public void updateTupleShouldAddTheNewColumnValue() {
 
 		dialect.updateTuple( createdTuple, key );
 
-		Tuple tuple = dialect.getTuple( key, new TupleContext( new ArrayList<String>() ) );
+		Tuple tuple = dialect.getTuple( key, emptyTupleContext() );
 		assertThat( (String) tuple.get( "name" ), is( "and" ) );
 	}
 
+	@Test
+	public void updateTupleShouldApplySubsequentChangesOfTheSameTuple() {
+		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
+		Tuple createdTuple = dialect.createTuple( key );
+		createdTuple.put( "name", "and" );
+		dialect.updateTuple( createdTuple, key );
+
+		createdTuple.put( "name", "andrea" );
+		dialect.updateTuple( createdTuple, key );
+
+		Tuple tuple = dialect.getTuple( key, emptyTupleContext() );
+		assertThat( (String) tuple.get( "name" ), is( "andrea" ) );
+	}
+
+	@Test
+	public void updateTupleShouldApplyChangesOfStaleTuple() {
+		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
+		Tuple createdTuple = dialect.createTuple( key );
+		dialect.updateTuple( createdTuple, key );
+
+		Tuple staleTuple = dialect.getTuple( key, emptyTupleContext() );
+
+		Tuple currentTuple = dialect.getTuple( key, emptyTupleContext() );
+		currentTuple.put( "name", "and" );
+		dialect.updateTuple( currentTuple, key );
+
+		staleTuple.put( "nickname", "dre" );
+		dialect.updateTuple( staleTuple, key );
+
+		Tuple tuple = dialect.getTuple( key, emptyTupleContext() );
+		assertThat( (String) tuple.get( "name" ), is( "and" ) );
+		assertThat( (String) tuple.get( "nickname" ), is( "dre" ) );
+	}
+
+	@Test
+	public void removeTupleShouldDeleteUpdatedTuple() {
+		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
+		Tuple createdTuple = dialect.createTuple( key );
+		dialect.updateTuple( createdTuple, key );
+		createdTuple.put( "name", "and" );
+		dialect.updateTuple( createdTuple, key );
+
+		dialect.removeTuple( key );
+
+		assertThat( dialect.getEntitiesSize(), is( 0 ) );
+	}
+
+	@Test
+	public void executeBatchShouldApplyAllOperations() {
+		EntityKey updatedKey = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
+		Tuple updatedTuple = dialect.createTuple( updatedKey );
+		dialect.updateTuple( updatedTuple, updatedKey );
+
+		EntityKey removedKey = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "18", 37 } );
+		dialect.updateTuple( dialect.createTuple( removedKey ), removedKey );
+
+		EntityKey createdKey = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "19", 38 } );
+		Tuple createdTuple = dialect.createTuple( createdKey );
+		createdTuple.put( "name", "dre" );
+
+		updatedTuple.put( "name", "and" );
+
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new UpdateTupleOperation( updatedTuple, updatedKey ) );
+		queue.add( new RemoveTupleOperation( removedKey ) );
+		queue.add( new UpdateTupleOperation( createdTuple, createdKey ) );
+		dialect.executeBatch( queue );
+
+		assertThat( (String) dialect.getTuple( updatedKey, emptyTupleContext() ).get( "name" ), is( "and" ) );
+		assertThat( (String) dialect.getTuple( createdKey, emptyTupleContext() ).get( "name" ), is( "dre" ) );
+		assertThat( dialect.getTuple( removedKey, emptyTupleContext() ), nullValue() );
+		assertThat( dialect.getEntitiesSize(), is( 2 ) );
+	}
+
+	@Test
+	public void executeBatchShouldApplyChangesOfStaleTuple() {
+		EntityKey key = createEntityKey( "user", new String[] { "id", "age" }, new Object[] { "17", 36 } );
+		dialect.updateTuple( dialect.createTuple( key ), key );
+
+		Tuple staleTuple = dialect.getTuple( key, emptyTupleContext() );
+
+		Tuple currentTuple = dialect.getTuple( key, emptyTupleContext() );
+		currentTuple.put( "name", "and" );
+		dialect.updateTuple( currentTuple, key );
+
+		staleTuple.put( "nickname", "dre" );
+		OperationsQueue queue = new OperationsQueue();
+		queue.add( new UpdateTupleOperation( staleTuple, key ) );
+		dialect.executeBatch( queue );
+
+		Tuple tuple = dialect.getTuple( key, emptyTupleContext() );
+		assertThat( (String) tuple.get( "name" ), is( "and" ) );
+		assertThat( (String) tuple.get( "nickname" ), is( "dre" ) );
+	}
+
 	@Test
 	public void createAssociationShouldCreateAnEmptyAssociation() {
 
@@ -148,6 +278,34 @@ public void updateAnAssociationShouldAddATuple() {
 		assertThat( actualAssociation.get( rowKey ).hashCode(), notNullValue() );
 	}
 
+	@Test
+	public void getAssociationsShouldReturnNullForMissingAssociations() {
+		String[] rowKeyColumnNames = new String[] { "user_id", "addresses_id" };
+		AssociationKey key = createAssociationKey(
+				"user_address", new String[] { "user_id" }, new Object[] { "Emmanuel" }, rowKeyColumnNames
+		);
+		Association association = dialect.createAssociation( key );
+
+		Map<String, Object> properties = new HashMap<String, Object>();
+		properties.put( "user_id", "Emmanuel" );
+		properties.put( "addresses_id", 1 );
+		RowKey rowKey = createRowKey( "user_address", rowKeyColumnNames, new Object[] { "Emmanuel", 1 } );
+		association.put( rowKey, new Tuple( new CouchDBTupleSnapshot( properties ) ) );
+		dialect.updateAssociation( association, key );
+
+		AssociationKey missingKey = createAssociationKey(
+				"user_address", new String[] { "user_id" }, new Object[] { "Sanne" }, rowKeyColumnNames
+		);
+
+		List<Association> associations = dialect.getAssociations(
+				new AssociationKey[] { missingKey, key }, new AssociationContext( new ArrayList<String>() )
+		);
+
+		assertThat( associations.size(), is( 2 ) );
+		assertThat( associations.get( 0 ), nullValue() );
+		assertThat( associations.get( 1 ).get( rowKey ), notNullValue() );
+	}
+
 	@Test
 	public void getNumberOfAssociationsShouldReturnTheCorrectNumber() {
 
@@ -184,6 +342,35 @@ public void getNumberOfEntitiesShouldReturnTheCorrectNumber() {
 		assertThat( dialect.getEntitiesSize(), is( 1 ) );
 	}
 
+	@Test
+	public void forEachTupleShouldPassAllTuplesOfTheGivenTable() {
+		EntityKeyMetadata userMetadata = new EntityKeyMetadata( "user", new String[] { "id" } );
+		for ( int i = 0; i < 3; i++ ) {
+			EntityKey key = new EntityKey( userMetadata, new Object[] { "user" + i } );
+			Tuple tuple = dialect.createTuple( key );
+			tuple.put( "name", "user" + i );
+			dialect.updateTuple( tuple, key );
+		}
+		EntityKey orderKey = createEntityKey( "order", new String[] { "id" }, new Object[] { "order1" } );
+		dialect.updateTuple( dialect.createTuple( orderKey ), orderKey );
+
+		final List<String> names = new ArrayList<String>();
+		dialect.forEachTuple( new Consumer() {
+
+			@Override
+			public void consume(Tuple tuple) {
+				names.add( (String) tuple.get( "name" ) );
+			}
+		}, userMetadata );
+
+		Collections.sort( names );
+		assertThat( names, is( Arrays.asList( "user0", "user1", "user2" ) ) );
+	}
+
+	private TupleContext emptyTupleContext() {
+		return new TupleContext( new ArrayList<String>() );
+	}
+
 	private EntityKey createEntityKey(String tableName, String[] columnNames, Object[] values) {
 		return new EntityKey( new EntityKeyMetadata( tableName, columnNames ), values );
 	}
@@ -20,6 +20,8 @@
  */
 package org.hibernate.ogm.dialect.ehcache;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -46,12 +48,19 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 
@@ -60,6 +69,8 @@
  */
 public class EhcacheDialect implements GridDialect {
 
+	private static final Log log = LoggerFactory.make();
+
 	EhcacheDatastoreProvider datastoreProvider;
 
 	public EhcacheDialect(EhcacheDatastoreProvider datastoreProvider) {
@@ -99,6 +110,17 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		}
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		final Map<Object, Element> elements = getEntityCache().getAll( Arrays.asList( keys ) );
+		final List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			final Element element = elements.get( key );
+			tuples.add( element == null ? null : createTuple( element ) );
+		}
+		return tuples;
+	}
+
 	@SuppressWarnings("unchecked")
 	private Tuple createTuple(final Element element) {
 		return new Tuple( new MapTupleSnapshot( (Map<String, Object>) element.getValue() ) );
@@ -108,7 +130,9 @@ private Tuple createTuple(final Element element) {
 	public Tuple createTuple(EntityKey key) {
 		final Cache entityCache = getEntityCache();
 		final HashMap<String, Object> tuple = new HashMap<String, Object>();
-		entityCache.put( new Element( key, tuple ) );
+		if ( entityCache.putIfAbsent( new Element( key, tuple ) ) != null ) {
+			throw log.mustNotInsertSameEntityTwice( key );
+		}
 		return new Tuple( new MapTupleSnapshot( tuple ) );
 	}
 
@@ -135,6 +159,65 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		}
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		final Map<Object, Element> elements = getAssociationCache().getAll( Arrays.asList( keys ) );
+		final List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( AssociationKey key : keys ) {
+			final Element element = elements.get( key );
+			associations.add( element == null ? null : new Association( new MapAssociationSnapshot( (Map) element.getValue() ) ) );
+		}
+		return associations;
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		final Element element = getAssociationCache().get( key );
+		return element == null ? 0 : ( (Map) element.getValue() ).size();
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		final Element element = getAssociationCache().get( key );
+		return element != null && ( (Map) element.getValue() ).containsKey( rowKey );
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		return null;
+	}
+
+	/**
+	 * Removes the deleted entities and associations with one {@code removeAll()} per cache; updates are applied in
+	 * place on the cached maps. Each key has at most one pending operation, so the order doesn't matter.
+	 */
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		List<Object> removedEntityKeys = new ArrayList<Object>();
+		List<Object> removedAssociationKeys = new ArrayList<Object>();
+
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( operation instanceof RemoveTupleOperation ) {
+				removedEntityKeys.add( operation.getKey() );
+			}
+			else if ( operation instanceof RemoveAssociationOperation ) {
+				removedAssociationKeys.add( operation.getKey() );
+			}
+			else {
+				GridDialectHelpers.executeOperation( this, operation );
+			}
+			operation = queue.poll();
+		}
+
+		if ( !removedEntityKeys.isEmpty() ) {
+			getEntityCache().removeAll( removedEntityKeys );
+		}
+		if ( !removedAssociationKeys.isEmpty() ) {
+			getAssociationCache().removeAll( removedAssociationKeys );
+		}
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
 		final Cache associationCache = getAssociationCache();
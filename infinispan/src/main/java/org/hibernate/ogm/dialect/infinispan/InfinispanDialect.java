@@ -24,7 +24,9 @@
 import static org.hibernate.ogm.datastore.spi.DefaultDatastoreNames.ENTITY_STORE;
 import static org.hibernate.ogm.datastore.spi.DefaultDatastoreNames.IDENTIFIER_STORE;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -44,12 +46,19 @@
 import org.hibernate.ogm.datastore.spi.Tuple;
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.UpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 import org.infinispan.AdvancedCache;
@@ -67,6 +76,8 @@
  */
 public class InfinispanDialect implements GridDialect {
 
+	private static final Log log = LoggerFactory.make();
+
 	private final InfinispanDatastoreProvider provider;
 
 	public InfinispanDialect(InfinispanDatastoreProvider provider) {
@@ -116,11 +127,25 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		}
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		// Infinispan 6 has no multi-get; atomic maps are looked up one by one against the same cache
+		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( EntityKey key : keys ) {
+			FineGrainedAtomicMap<String, Object> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
+			tuples.add( atomicMap == null ? null : new Tuple( new InfinispanTupleSnapshot( atomicMap ) ) );
+		}
+		return tuples;
+	}
+
 	@Override
 	public Tuple createTuple(EntityKey key) {
-		//TODO we don't verify that it does not yet exist assuming that this has been done before by the calling code
-		//should we improve?
 		Cache<EntityKey, Map<String, Object>> cache = provider.getCache( ENTITY_STORE );
+		// the persister may not have looked up the key beforehand, see OgmConfiguration#OGM_OPTIMISTIC_INSERTS
+		if ( cache.containsKey( key ) ) {
+			throw log.mustNotInsertSameEntityTwice( key );
+		}
 		FineGrainedAtomicMap<String,Object> atomicMap =  AtomicMapLookup.getFineGrainedAtomicMap( cache, key, true );
 		return new Tuple( new InfinispanTupleSnapshot( atomicMap ) );
 	}
@@ -144,6 +169,60 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return atomicMap == null ? null : new Association( new MapAssociationSnapshot( atomicMap ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		Cache<AssociationKey, Map<RowKey, Map<String, Object>>> cache = provider.getCache( ASSOCIATION_STORE );
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( AssociationKey key : keys ) {
+			Map<RowKey, Map<String, Object>> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
+			associations.add( atomicMap == null ? null : new Association( new MapAssociationSnapshot( atomicMap ) ) );
+		}
+		return associations;
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		Cache<AssociationKey, Map<RowKey, Map<String, Object>>> cache = provider.getCache( ASSOCIATION_STORE );
+		Map<RowKey, Map<String, Object>> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
+		return atomicMap == null ? 0 : atomicMap.size();
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		Cache<AssociationKey, Map<RowKey, Map<String, Object>>> cache = provider.getCache( ASSOCIATION_STORE );
+		Map<RowKey, Map<String, Object>> atomicMap = AtomicMapLookup.getFineGrainedAtomicMap( cache, key, false );
+		return atomicMap != null && atomicMap.containsKey( rowKey );
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		return null;
+	}
+
+	/**
+	 * Entities and associations are stored as atomic maps, which can't be written to the cache with one
+	 * {@code putAll()}; instead all the changed columns and rows of each of them are written with one {@code putAll()}
+	 * on the atomic map.
+	 */
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( operation instanceof UpdateTupleOperation ) {
+				Tuple tuple = ( (UpdateTupleOperation) operation ).getTuple();
+				MapHelpers.applyTupleOpsOnMapInBulk( tuple, ( (InfinispanTupleSnapshot) tuple.getSnapshot() ).getAtomicMap() );
+			}
+			else if ( operation instanceof UpdateAssociationOperation ) {
+				UpdateAssociationOperation update = (UpdateAssociationOperation) operation;
+				MapHelpers.updateAssociationInBulk( update.getAssociation(), update.getAssociationKey() );
+			}
+			else {
+				GridDialectHelpers.executeOperation( this, operation );
+			}
+			operation = queue.poll();
+		}
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
 		//TODO we don't verify that it does not yet exist assuming that this ahs been done before by the calling code
@@ -21,10 +21,19 @@
 package org.hibernate.ogm.datastore.mongodb.impl;
 
 import java.net.UnknownHostException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.ogm.datastore.StartStoppable;
 import org.hibernate.ogm.datastore.mongodb.AssociationStorageType;
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
+import org.hibernate.ogm.datastore.mongodb.WriteConcernType;
 import org.hibernate.ogm.datastore.mongodb.impl.configuration.MongoDBConfiguration;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.GridDialect;
@@ -32,25 +41,31 @@
 import org.hibernate.ogm.dialect.mongodb.query.parsing.MongoDBBasedQueryParserService;
 import org.hibernate.ogm.logging.mongodb.impl.Log;
 import org.hibernate.ogm.logging.mongodb.impl.LoggerFactory;
+import org.hibernate.ogm.options.mongodb.ReadPreferenceOption;
+import org.hibernate.ogm.options.mongodb.WriteConcernOption;
 import org.hibernate.ogm.options.mongodb.mapping.impl.MongoDBEntityOptions;
 import org.hibernate.ogm.options.mongodb.mapping.impl.MongoDBGlobalOptions;
 import org.hibernate.ogm.options.mongodb.mapping.impl.MongoDBPropertyOptions;
 import org.hibernate.ogm.options.navigation.impl.ConfigurationContext;
+import org.hibernate.ogm.options.spi.OptionsService;
+import org.hibernate.ogm.options.spi.OptionsService.OptionsServiceContext;
+import org.hibernate.ogm.options.spi.UniqueOption;
 import org.hibernate.ogm.service.impl.QueryParserService;
 import org.hibernate.service.spi.Configurable;
 import org.hibernate.service.spi.Startable;
-import org.hibernate.service.spi.Stoppable;
 
 import com.mongodb.DB;
 import com.mongodb.MongoClient;
+import com.mongodb.ReadPreference;
 import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
 
 /**
  * Provides access to MongoDB system
  *
  * @author Guillaume Scheibel<guillaume.scheibel@gmail.com>
  */
-public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, Stoppable, Configurable {
+public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, StartStoppable, Configurable {
 
 	private static final Log log = LoggerFactory.getLogger();
 
@@ -59,6 +74,26 @@ public class MongoDBDatastoreProvider implements DatastoreProvider, Startable, S
 	private DB mongoDb;
 	private final MongoDBConfiguration config = new MongoDBConfiguration();
 
+	/**
+	 * The mapped entity types by the name of their collection.
+	 */
+	private final Map<String, Class<?>> entityTypesByCollection = new ConcurrentHashMap<String, Class<?>>();
+
+	/**
+	 * The read preferences configured for the mapped entity types by the name of their collection; collections without
+	 * a specific read preference are not contained.
+	 */
+	private final Map<String, ReadPreference> readPreferencesByCollection = new ConcurrentHashMap<String, ReadPreference>();
+	private volatile ReadPreference defaultReadPreference;
+
+	/**
+	 * The write concerns configured for the mapped entity types by the name of their collection; collections without
+	 * a specific write concern are not contained.
+	 */
+	private final Map<String, WriteConcern> writeConcernsByCollection = new ConcurrentHashMap<String, WriteConcern>();
+	private volatile WriteConcern defaultWriteConcern;
+	private volatile OptionsService optionsService;
+
 	@Override
 	public void configure(Map configurationValues) {
 		this.config.initialize( configurationValues );
@@ -68,6 +103,14 @@ public AssociationStorageType getAssociationStorage() {
 		return config.getAssociationStorage();
 	}
 
+	public int getBatchSize() {
+		return config.getBatchSize();
+	}
+
+	public int getQueryCacheSize() {
+		return config.getQueryCacheSize();
+	}
+
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
 		return MongoDBDialect.class;
@@ -87,8 +130,13 @@ public MongoDBGlobalOptions getConfigurationBuilder(ConfigurationContext context
 	public void start() {
 		if ( !isCacheStarted ) {
 			try {
-				ServerAddress serverAddress = new ServerAddress( config.getHost(), config.getPort() );
-				this.mongo = new MongoClient( serverAddress, config.buildOptions() );
+				List<ServerAddress> serverAddresses = config.buildServerAddresses();
+				if ( serverAddresses.size() == 1 ) {
+					this.mongo = new MongoClient( serverAddresses.get( 0 ), config.buildOptions() );
+				}
+				else {
+					this.mongo = new MongoClient( serverAddresses, config.buildOptions() );
+				}
 				this.isCacheStarted = true;
 			}
 			catch ( UnknownHostException e ) {
@@ -101,12 +149,116 @@ public void start() {
 		}
 	}
 
+	/**
+	 * Registers the mapped entity types, allowing to look up their options by collection name, and determines the read
+	 * preference and write concern of their collections. Creates or validates
+	 * the indexes derived from the mapping, as configured via
+	 * {@link org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment#MONGODB_INDEX_MANAGEMENT}.
+	 */
+	@Override
+	public void start(Configuration configuration, SessionFactoryImplementor sessionFactoryImplementor) {
+		if ( configuration == null ) {
+			return;
+		}
+
+		optionsService = sessionFactoryImplementor.getServiceRegistry().getService( OptionsService.class );
+		Iterator<?> classMappings = configuration.getClassMappings();
+		while ( classMappings.hasNext() ) {
+			PersistentClass classMapping = (PersistentClass) classMappings.next();
+			// for single table inheritance, the options of the root entity apply
+			Class<?> entityType = classMapping.getTable() == classMapping.getRootTable() ?
+					classMapping.getRootClass().getMappedClass() :
+					classMapping.getMappedClass();
+			entityTypesByCollection.put( classMapping.getTable().getName(), entityType );
+		}
+
+		defaultReadPreference = toReadPreference( getOption( null, ReadPreferenceOption.class ) );
+		defaultWriteConcern = toWriteConcern( getOption( null, WriteConcernOption.class ) );
+		for ( String collection : entityTypesByCollection.keySet() ) {
+			ReadPreference readPreference = toReadPreference( getOption( collection, ReadPreferenceOption.class ) );
+			if ( readPreference != null ) {
+				readPreferencesByCollection.put( collection, readPreference );
+			}
+			WriteConcern writeConcern = toWriteConcern( getOption( collection, WriteConcernOption.class ) );
+			if ( writeConcern != null ) {
+				writeConcernsByCollection.put( collection, writeConcern );
+			}
+		}
+
+		switch ( config.getIndexManagement() ) {
+			case CREATE:
+				new MongoDBIndexManager( mongoDb ).createIndexes( configuration );
+				break;
+			case VALIDATE:
+				new MongoDBIndexManager( mongoDb ).validateIndexes( configuration );
+				break;
+			default:
+				break;
+		}
+	}
+
 	@Override
 	public void stop() {
 		log.disconnectingFromMongo();
 		this.mongo.close();
 	}
 
+	/**
+	 * Returns the read preference for the given collection, as configured via the option API for the entity type
+	 * stored in the collection or globally.
+	 *
+	 * @param collection the name of a collection
+	 * @return the read preference for the given collection or {@code null} if the default read preference configured
+	 * for the client applies
+	 */
+	public ReadPreference getReadPreference(String collection) {
+		ReadPreference readPreference = readPreferencesByCollection.get( collection );
+		return readPreference != null ? readPreference : defaultReadPreference;
+	}
+
+	private ReadPreference toReadPreference(ReadPreferenceType readPreference) {
+		return readPreference != null ? readPreference.getReadPreference() : null;
+	}
+
+	/**
+	 * Returns the write concern for the given collection, as configured via the option API for the entity type stored
+	 * in the collection or globally.
+	 *
+	 * @param collection the name of a collection
+	 * @return the write concern for the given collection or {@code null} if the default write concern configured for
+	 * the client applies
+	 */
+	public WriteConcern getWriteConcern(String collection) {
+		WriteConcern writeConcern = writeConcernsByCollection.get( collection );
+		return writeConcern != null ? writeConcern : defaultWriteConcern;
+	}
+
+	private WriteConcern toWriteConcern(WriteConcernType writeConcern) {
+		return writeConcern != null ? writeConcern.getWriteConcern() : null;
+	}
+
+	/**
+	 * Returns the value of the given option for the entity type stored in the given collection, falling back to the
+	 * global value of the option. Only the global value is returned if no collection is given.
+	 */
+	private <V> V getOption(String collection, Class<? extends UniqueOption<V>> optionType) {
+		if ( optionsService == null ) {
+			return null;
+		}
+
+		OptionsServiceContext context = optionsService.context();
+		Class<?> entityType = collection != null ? entityTypesByCollection.get( collection ) : null;
+
+		if ( entityType != null ) {
+			V value = context.getEntityOptions( entityType ).getUnique( optionType );
+			if ( value != null ) {
+				return value;
+			}
+		}
+
+		return context.getGlobalOptions().getUnique( optionType );
+	}
+
 	public DB getDatabase() {
 		return mongoDb;
 	}
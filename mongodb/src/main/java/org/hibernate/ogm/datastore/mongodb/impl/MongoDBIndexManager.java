@@ -0,0 +1,241 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.datastore.mongodb.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Index;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.PrimaryKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.mapping.UniqueKey;
+import org.hibernate.ogm.dialect.mongodb.MongoDBDialect;
+import org.hibernate.ogm.logging.mongodb.impl.Log;
+import org.hibernate.ogm.logging.mongodb.impl.LoggerFactory;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * Creates or validates the MongoDB indexes derived from the unique keys, unique columns and indexes of the mapped
+ * entity tables.
+ * <p>
+ * Associations don't require any additional indexes, as association documents as well as entity documents are always
+ * looked up by their {@code _id}.
+ */
+public class MongoDBIndexManager {
+
+	private static final Log log = LoggerFactory.getLogger();
+
+	private static final Integer ASCENDING = 1;
+
+	private final DB database;
+
+	public MongoDBIndexManager(DB database) {
+		this.database = database;
+	}
+
+	/**
+	 * Creates all the indexes derived from the given mapping which don't exist yet.
+	 *
+	 * @param configuration the mapping to derive the indexes from
+	 */
+	public void createIndexes(Configuration configuration) {
+		for ( IndexDefinition index : getIndexDefinitions( configuration ) ) {
+			DBCollection collection = database.getCollection( index.collection );
+			log.creatingIndex( index.collection, index.keys );
+			collection.ensureIndex( index.keys, index.getOptions() );
+		}
+	}
+
+	/**
+	 * Verifies that all the indexes derived from the given mapping exist.
+	 *
+	 * @param configuration the mapping to derive the indexes from
+	 * @throws org.hibernate.HibernateException if one or more of the indexes don't exist
+	 */
+	public void validateIndexes(Configuration configuration) {
+		Map<String, List<DBObject>> existingIndexesByCollection = new LinkedHashMap<String, List<DBObject>>();
+		List<IndexDefinition> missingIndexes = new ArrayList<IndexDefinition>();
+
+		for ( IndexDefinition index : getIndexDefinitions( configuration ) ) {
+			List<DBObject> existingIndexes = existingIndexesByCollection.get( index.collection );
+			if ( existingIndexes == null ) {
+				existingIndexes = database.getCollection( index.collection ).getIndexInfo();
+				existingIndexesByCollection.put( index.collection, existingIndexes );
+			}
+
+			if ( !index.isContainedIn( existingIndexes ) ) {
+				missingIndexes.add( index );
+			}
+		}
+
+		if ( !missingIndexes.isEmpty() ) {
+			throw log.missingIndexes( missingIndexes.toString() );
+		}
+	}
+
+	/**
+	 * Returns the indexes derived from the mapped entity tables. Where a unique and a non-unique index are defined on
+	 * the same fields, only the unique one is returned.
+	 */
+	private Collection<IndexDefinition> getIndexDefinitions(Configuration configuration) {
+		Map<String, IndexDefinition> indexes = new LinkedHashMap<String, IndexDefinition>();
+
+		for ( Table table : getEntityTables( configuration ) ) {
+			Iterator<?> uniqueKeys = table.getUniqueKeyIterator();
+			while ( uniqueKeys.hasNext() ) {
+				UniqueKey uniqueKey = (UniqueKey) uniqueKeys.next();
+				addIndex( indexes, table, uniqueKey.getColumnIterator(), true );
+			}
+
+			Iterator<?> columns = table.getColumnIterator();
+			while ( columns.hasNext() ) {
+				Column column = (Column) columns.next();
+				if ( column.isUnique() ) {
+					addIndex( indexes, table, Collections.singletonList( column ).iterator(), true );
+				}
+			}
+
+			Iterator<?> tableIndexes = table.getIndexIterator();
+			while ( tableIndexes.hasNext() ) {
+				Index index = (Index) tableIndexes.next();
+				addIndex( indexes, table, index.getColumnIterator(), false );
+			}
+		}
+
+		return indexes.values();
+	}
+
+	private Set<Table> getEntityTables(Configuration configuration) {
+		Set<Table> tables = new LinkedHashSet<Table>();
+
+		Iterator<?> classMappings = configuration.getClassMappings();
+		while ( classMappings.hasNext() ) {
+			Table table = ( (PersistentClass) classMappings.next() ).getTable();
+			if ( table.isPhysicalTable() ) {
+				tables.add( table );
+			}
+		}
+
+		return tables;
+	}
+
+	private void addIndex(Map<String, IndexDefinition> indexes, Table table, Iterator<?> columns, boolean unique) {
+		DBObject keys = new BasicDBObject();
+		while ( columns.hasNext() ) {
+			keys.put( getFieldName( table, (Column) columns.next() ), ASCENDING );
+		}
+
+		// the _id index always exists
+		if ( keys.keySet().isEmpty() || ( keys.keySet().size() == 1 && keys.containsField( MongoDBDialect.ID_FIELDNAME ) ) ) {
+			return;
+		}
+
+		IndexDefinition index = new IndexDefinition( table.getName(), keys, unique );
+		IndexDefinition existing = indexes.get( index.getIdentifier() );
+
+		if ( existing == null || ( unique && !existing.unique ) ) {
+			indexes.put( index.getIdentifier(), index );
+		}
+	}
+
+	/**
+	 * Returns the name of the document field corresponding to the given column; primary key columns are stored within
+	 * the {@code _id} field.
+	 */
+	private String getFieldName(Table table, Column column) {
+		PrimaryKey primaryKey = table.getPrimaryKey();
+
+		if ( primaryKey != null && primaryKey.containsColumn( column ) ) {
+			return primaryKey.getColumnSpan() == 1 ?
+					MongoDBDialect.ID_FIELDNAME :
+					MongoDBDialect.ID_FIELDNAME + MongoDBDialect.PROPERTY_SEPARATOR + column.getName();
+		}
+		else {
+			return column.getName();
+		}
+	}
+
+	/**
+	 * An index to be created on a given collection.
+	 */
+	private static class IndexDefinition {
+
+		private final String collection;
+		private final DBObject keys;
+		private final boolean unique;
+
+		private IndexDefinition(String collection, DBObject keys, boolean unique) {
+			this.collection = collection;
+			this.keys = keys;
+			this.unique = unique;
+		}
+
+		/**
+		 * Unique indexes are sparse, as null values are not stored and hence documents without the indexed field(s)
+		 * must not be considered as duplicates.
+		 */
+		private DBObject getOptions() {
+			DBObject options = new BasicDBObject();
+			if ( unique ) {
+				options.put( "unique", true );
+				options.put( "sparse", true );
+			}
+			return options;
+		}
+
+		private String getIdentifier() {
+			return collection + keys.keySet();
+		}
+
+		private boolean isContainedIn(List<DBObject> existingIndexes) {
+			List<String> fields = new ArrayList<String>( keys.keySet() );
+
+			for ( DBObject existingIndex : existingIndexes ) {
+				DBObject existingKeys = (DBObject) existingIndex.get( "key" );
+				if ( fields.equals( new ArrayList<String>( existingKeys.keySet() ) )
+						&& ( !unique || Boolean.TRUE.equals( existingIndex.get( "unique" ) ) ) ) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return collection + ( unique ? " unique " : " " ) + keys;
+		}
+	}
+}
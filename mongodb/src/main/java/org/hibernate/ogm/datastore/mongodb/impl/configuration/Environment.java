@@ -54,7 +54,9 @@ public interface Environment {
 	WriteConcern MONGODB_DEFAULT_WRITE_CONCERN = WriteConcern.ACKNOWLEDGED;
 
 	/**
-	 * The hostname of the MongoDB instance.
+	 * The hostname of the MongoDB instance. Several members of a replica set can be given as comma-separated list of
+	 * {@code host[:port]} entries, e.g. {@code "mongo1:27017,mongo2:27017,mongo3"}; {@link #MONGODB_PORT} applies to
+	 * the entries without a port.
 	 */
 	String MONGODB_HOST = "hibernate.ogm.mongodb.host";
 
@@ -99,4 +101,61 @@ public interface Environment {
 	 * @see #MONGODB_TIMEOUT
 	 */
 	int MONGODB_DEFAULT_TIMEOUT = 5000;
+
+	/**
+	 * The maximum number of documents inserted or removed with one request when batching the operations of a flush
+	 * (see {@link org.hibernate.ogm.cfg.OgmConfiguration#OGM_BATCH_OPERATIONS}).
+	 */
+	String MONGODB_BATCH_SIZE = "hibernate.ogm.mongodb.batch_size";
+
+	/**
+	 * The default batch size.
+	 *
+	 * @see #MONGODB_BATCH_SIZE
+	 */
+	int MONGODB_DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * The maximum number of parsed JP-QL queries kept by the query parser service. The least recently used queries are
+	 * evicted from the cache once this size is reached; {@code 0} disables the caching of parsed queries.
+	 */
+	String MONGODB_QUERY_CACHE_SIZE = "hibernate.ogm.mongodb.query_cache_size";
+
+	/**
+	 * The default size of the cache of parsed queries.
+	 *
+	 * @see #MONGODB_QUERY_CACHE_SIZE
+	 */
+	int MONGODB_DEFAULT_QUERY_CACHE_SIZE = 500;
+
+	/**
+	 * How the indexes derived from the unique keys and indexes of the mapped entity tables are handled upon start-up.
+	 * Supported values are the names of {@link org.hibernate.ogm.datastore.mongodb.IndexManagementType} (case
+	 * insensitive); defaults to {@code none}.
+	 */
+	String MONGODB_INDEX_MANAGEMENT = "hibernate.ogm.mongodb.index_management";
+
+	/**
+	 * The maximum number of connections per host kept in the pool of the driver.
+	 */
+	String MONGODB_CONNECTIONS_PER_HOST = "hibernate.ogm.mongodb.connections_per_host";
+
+	/**
+	 * Multiplied with {@link #MONGODB_CONNECTIONS_PER_HOST}, gives the maximum number of threads which may wait for a
+	 * connection to become available from the pool.
+	 */
+	String MONGODB_THREADS_ALLOWED_TO_BLOCK_MULTIPLIER = "hibernate.ogm.mongodb.threads_allowed_to_block_multiplier";
+
+	/**
+	 * The socket timeout in milliseconds; {@code 0} (the default) means no timeout.
+	 */
+	String MONGODB_SOCKET_TIMEOUT = "hibernate.ogm.mongodb.socket_timeout";
+
+	/**
+	 * The default read preference, i.e. from which members of a replica set data is read. Supported values are the
+	 * names of {@link org.hibernate.ogm.datastore.mongodb.ReadPreferenceType} (case insensitive); defaults to
+	 * {@code primary}. Can be overridden globally or per entity using the option API or the
+	 * {@link org.hibernate.ogm.options.mongodb.ReadPreference} annotation.
+	 */
+	String MONGODB_READ_PREFERENCE = "hibernate.ogm.mongodb.read_preference";
 }
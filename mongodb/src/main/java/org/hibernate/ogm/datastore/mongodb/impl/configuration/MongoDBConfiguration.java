@@ -20,13 +20,19 @@
  */
 package org.hibernate.ogm.datastore.mongodb.impl.configuration;
 
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import com.mongodb.MongoClientOptions;
+import com.mongodb.ServerAddress;
 import com.mongodb.WriteConcern;
 
 import org.hibernate.ogm.datastore.mongodb.AssociationStorageType;
+import org.hibernate.ogm.datastore.mongodb.IndexManagementType;
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
 import org.hibernate.ogm.logging.mongodb.impl.Log;
 import org.hibernate.ogm.logging.mongodb.impl.LoggerFactory;
 
@@ -47,6 +53,13 @@ public class MongoDBConfiguration {
 	private String password;
 	private int timeout;
 	private WriteConcern writeConcern;
+	private int batchSize;
+	private int queryCacheSize;
+	private IndexManagementType indexManagement;
+	private Integer connectionsPerHost;
+	private Integer threadsAllowedToBlockMultiplier;
+	private Integer socketTimeout;
+	private ReadPreferenceType readPreference;
 
 	/**
 	 * @see Environment#MONGODB_HOST
@@ -96,6 +109,38 @@ public int getPort() {
 		return port;
 	}
 
+	/**
+	 * @see Environment#MONGODB_BATCH_SIZE
+	 * @return The maximum number of documents inserted or removed with one request
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @see Environment#MONGODB_QUERY_CACHE_SIZE
+	 * @return The maximum number of parsed queries to be cached
+	 */
+	public int getQueryCacheSize() {
+		return queryCacheSize;
+	}
+
+	/**
+	 * @see Environment#MONGODB_INDEX_MANAGEMENT
+	 * @return how to handle the indexes derived from the mapping
+	 */
+	public IndexManagementType getIndexManagement() {
+		return indexManagement;
+	}
+
+	/**
+	 * @see Environment#MONGODB_READ_PREFERENCE
+	 * @return the default read preference
+	 */
+	public ReadPreferenceType getReadPreference() {
+		return readPreference;
+	}
+
 	/**
 	 * Initialize the internal values from the given {@link Map}.
 	 *
@@ -114,6 +159,13 @@ public void initialize(Map configurationMap) {
 		this.databaseName = this.buildDatabase( configurationMap );
 		this.username = this.buildUsername( configurationMap );
 		this.password = this.buildPassword( configurationMap );
+		this.batchSize = this.buildBatchSize( configurationMap );
+		this.queryCacheSize = this.buildQueryCacheSize( configurationMap );
+		this.indexManagement = this.buildIndexManagement( configurationMap );
+		this.connectionsPerHost = this.buildOptionalInt( configurationMap, Environment.MONGODB_CONNECTIONS_PER_HOST, 1 );
+		this.threadsAllowedToBlockMultiplier = this.buildOptionalInt( configurationMap, Environment.MONGODB_THREADS_ALLOWED_TO_BLOCK_MULTIPLIER, 1 );
+		this.socketTimeout = this.buildOptionalInt( configurationMap, Environment.MONGODB_SOCKET_TIMEOUT, 0 );
+		this.readPreference = this.buildReadPreference( configurationMap );
 	}
 
 	private String buildHost(Map<?, ?> cfg) {
@@ -124,22 +176,26 @@ private String buildHost(Map<?, ?> cfg) {
 	private int buildPort(Map<?, ?> cfg) {
 		Object cfgPort = cfg.get( Environment.MONGODB_PORT );
 		if ( cfgPort != null ) {
-			try {
-				int temporaryPort = Integer.valueOf( cfgPort.toString() );
-				if ( temporaryPort < 1 || temporaryPort > 65535 ) {
-					throw log.mongoPortIllegalValue( cfgPort.toString() );
-				}
-				return temporaryPort;
-			}
-			catch ( NumberFormatException e ) {
-				throw log.mongoPortIllegalValue( cfgPort.toString() );
-			}
+			return buildPort( cfgPort.toString() );
 		}
 		else {
 			return Environment.MONGODB_DEFAULT_PORT;
 		}
 	}
 
+	private int buildPort(String cfgPort) {
+		try {
+			int temporaryPort = Integer.valueOf( cfgPort );
+			if ( temporaryPort < 1 || temporaryPort > 65535 ) {
+				throw log.mongoPortIllegalValue( cfgPort );
+			}
+			return temporaryPort;
+		}
+		catch ( NumberFormatException e ) {
+			throw log.mongoPortIllegalValue( cfgPort );
+		}
+	}
+
 	private AssociationStorageType buildAssociationStorage(Map<?, ?> cfg) {
 		String assocStoreString = (String) cfg.get( Environment.MONGODB_ASSOCIATIONS_STORE );
 		if ( assocStoreString == null ) {
@@ -156,6 +212,61 @@ private AssociationStorageType buildAssociationStorage(Map<?, ?> cfg) {
 		}
 	}
 
+	private IndexManagementType buildIndexManagement(Map<?, ?> cfg) {
+		Object indexManagementObject = cfg.get( Environment.MONGODB_INDEX_MANAGEMENT );
+		if ( indexManagementObject == null ) {
+			return IndexManagementType.NONE;
+		}
+		else {
+			String indexManagementString = indexManagementObject.toString();
+			try {
+				return IndexManagementType.valueOf( indexManagementString.toUpperCase( Locale.ENGLISH ) );
+			}
+			catch ( IllegalArgumentException e ) {
+				throw log.unknownIndexManagementStrategy( indexManagementString, IndexManagementType.class );
+			}
+		}
+	}
+
+	private ReadPreferenceType buildReadPreference(Map<?, ?> cfg) {
+		Object readPreferenceObject = cfg.get( Environment.MONGODB_READ_PREFERENCE );
+		if ( readPreferenceObject == null ) {
+			return ReadPreferenceType.PRIMARY;
+		}
+		else {
+			String readPreferenceString = readPreferenceObject.toString();
+			try {
+				return ReadPreferenceType.valueOf( readPreferenceString.toUpperCase( Locale.ENGLISH ) );
+			}
+			catch ( IllegalArgumentException e ) {
+				throw log.unknownReadPreference( readPreferenceString, ReadPreferenceType.class );
+			}
+		}
+	}
+
+	/**
+	 * Returns the integer value of the given property or {@code null} if it is not set, in which case the driver's
+	 * default applies.
+	 */
+	private Integer buildOptionalInt(Map<?, ?> cfg, String property, int minValue) {
+		Object cfgValue = cfg.get( property );
+		if ( cfgValue != null ) {
+			try {
+				int value = Integer.valueOf( cfgValue.toString() );
+				if ( value < minValue ) {
+					throw log.illegalIntegerValue( property, minValue, cfgValue.toString() );
+				}
+				return value;
+			}
+			catch ( NumberFormatException e ) {
+				throw log.illegalIntegerValue( property, minValue, cfgValue.toString() );
+			}
+		}
+		else {
+			return null;
+		}
+	}
+
 	private WriteConcern buildWriteConcern(Map<?, ?> cfg) {
 		Object cfgWriteConcern = cfg.get( Environment.MONGODB_WRITE_CONCERN );
 		WriteConcern writeConcern = Environment.MONGODB_DEFAULT_WRITE_CONCERN;
@@ -196,6 +307,44 @@ private int buildTimeout(Map<?, ?> cfg) {
 		}
 	}
 
+	private int buildBatchSize(Map<?, ?> cfg) {
+		Object cfgBatchSize = cfg.get( Environment.MONGODB_BATCH_SIZE );
+		if ( cfgBatchSize != null ) {
+			try {
+				int temporaryBatchSize = Integer.valueOf( cfgBatchSize.toString() );
+				if ( temporaryBatchSize < 1 ) {
+					throw log.mongoDBBatchSizeIllegalValue( cfgBatchSize.toString() );
+				}
+				return temporaryBatchSize;
+			}
+			catch ( NumberFormatException e ) {
+				throw log.mongoDBBatchSizeIllegalValue( cfgBatchSize.toString() );
+			}
+		}
+		else {
+			return Environment.MONGODB_DEFAULT_BATCH_SIZE;
+		}
+	}
+
+	private int buildQueryCacheSize(Map<?, ?> cfg) {
+		Object cfgQueryCacheSize = cfg.get( Environment.MONGODB_QUERY_CACHE_SIZE );
+		if ( cfgQueryCacheSize != null ) {
+			try {
+				int temporaryQueryCacheSize = Integer.valueOf( cfgQueryCacheSize.toString() );
+				if ( temporaryQueryCacheSize < 0 ) {
+					throw log.mongoDBQueryCacheSizeIllegalValue( cfgQueryCacheSize.toString() );
+				}
+				return temporaryQueryCacheSize;
+			}
+			catch ( NumberFormatException e ) {
+				throw log.mongoDBQueryCacheSizeIllegalValue( cfgQueryCacheSize.toString() );
+			}
+		}
+		else {
+			return Environment.MONGODB_DEFAULT_QUERY_CACHE_SIZE;
+		}
+	}
+
 	private String buildDatabase(Map<?, ?> cfg) {
 		Object dbNameObject = cfg.get( Environment.MONGODB_DATABASE );
 		if ( dbNameObject == null ) {
@@ -224,7 +373,44 @@ public MongoClientOptions buildOptions() {
 		MongoClientOptions.Builder optionsBuilder = new MongoClientOptions.Builder();
 		optionsBuilder.connectTimeout( timeout );
 		optionsBuilder.writeConcern( writeConcern );
+		optionsBuilder.readPreference( readPreference.getReadPreference() );
+
+		if ( connectionsPerHost != null ) {
+			optionsBuilder.connectionsPerHost( connectionsPerHost );
+		}
+		if ( threadsAllowedToBlockMultiplier != null ) {
+			optionsBuilder.threadsAllowedToBlockForConnectionMultiplier( threadsAllowedToBlockMultiplier );
+		}
+		if ( socketTimeout != null ) {
+			optionsBuilder.socketTimeout( socketTimeout );
+		}
 
 		return optionsBuilder.build();
 	}
+
+	/**
+	 * Create the addresses of the configured MongoDB hosts.
+	 *
+	 * @see Environment#MONGODB_HOST
+	 * @return the addresses of the configured hosts, one element per member of a replica set
+	 * @throws UnknownHostException if one of the hosts can't be resolved
+	 */
+	public List<ServerAddress> buildServerAddresses() throws UnknownHostException {
+		List<ServerAddress> addresses = new ArrayList<ServerAddress>();
+
+		for ( String hostAndPort : host.split( "," ) ) {
+			hostAndPort = hostAndPort.trim();
+			int separatorIndex = hostAndPort.indexOf( ':' );
+
+			if ( separatorIndex == -1 ) {
+				addresses.add( new ServerAddress( hostAndPort, port ) );
+			}
+			else {
+				String hostPort = hostAndPort.substring( separatorIndex + 1 );
+				addresses.add( new ServerAddress( hostAndPort.substring( 0, separatorIndex ), buildPort( hostPort ) ) );
+			}
+		}
+
+		return addresses;
+	}
 }
@@ -20,11 +20,8 @@
  */
 package org.hibernate.ogm.dialect.mongodb;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,10 +43,14 @@
  */
 public class MongoDBAssociationSnapshot implements AssociationSnapshot {
 
-	private final Map<RowKey, DBObject> map;
 	private final DBObject dbObject;
-	private AssociationKey associationKey;
-	private AssociationStorageType storage;
+	private final AssociationKey associationKey;
+	private final AssociationStorageType storage;
+
+	/**
+	 * Index of the rows by their row key; built upon first access as only few callers actually need it
+	 */
+	private Map<RowKey, DBObject> map;
 
 	/**
 	 * @param document DBObject containing the association information
@@ -58,44 +59,53 @@ public class MongoDBAssociationSnapshot implements AssociationSnapshot {
 	public MongoDBAssociationSnapshot(DBObject document, AssociationKey key, AssociationStorageType storage) {
 		this.storage = storage;
 		this.dbObject = document;
-		this.map = new LinkedHashMap<RowKey, DBObject>();
 		this.associationKey = key;
-		//for each element in the association property
-		for ( DBObject row : getRows() ) {
-			DBObject mongodbColumnData = row;
-			Collection<String> columnNames = Arrays.asList( key.getRowKeyColumnNames() );
-
-			//build data to construct the associated RowKey is column names and values
-			List<Object> columnValues = new ArrayList<Object>();
-			for ( String columnKey : columnNames ) {
-				boolean getFromMongoData = true;
-				int length = key.getColumnNames().length;
-				// try and find the value in the key metadata
-				for ( int index = 0 ; index < length; index++ ) {
-					String assocColumn = key.getColumnNames()[index];
-					if ( assocColumn.equals( columnKey ) ) {
-						columnValues.add( associationKey.getColumnValues()[index] );
-						getFromMongoData = false;
-						break;
-					}
-				}
-				//otherwise read it from the database structure
-				if ( getFromMongoData == true ) {
-					columnValues.add( mongodbColumnData.get( columnKey ) );
+	}
+
+	private Map<RowKey, DBObject> getMap() {
+		if ( map == null ) {
+			map = buildMap();
+		}
+		return map;
+	}
+
+	private Map<RowKey, DBObject> buildMap() {
+		Collection<DBObject> rows = getRows();
+		Map<RowKey, DBObject> rowsByKey = new LinkedHashMap<RowKey, DBObject>( rows.size() * 4 / 3 + 1 );
+		String[] rowKeyColumnNames = associationKey.getRowKeyColumnNames();
+		String[] associationColumnNames = associationKey.getColumnNames();
+
+		// resolve once which row key columns are taken from the association key metadata
+		int[] associationColumnIndexes = new int[rowKeyColumnNames.length];
+		for ( int i = 0; i < rowKeyColumnNames.length; i++ ) {
+			associationColumnIndexes[i] = -1;
+			for ( int index = 0; index < associationColumnNames.length; index++ ) {
+				if ( associationColumnNames[index].equals( rowKeyColumnNames[i] ) ) {
+					associationColumnIndexes[i] = index;
+					break;
 				}
 			}
-			RowKey rowKey = new RowKey(
-					key.getTable(),
-					columnNames.toArray( new String[columnNames.size()] ),
-					columnValues.toArray() );
+		}
+
+		//for each element in the association property
+		for ( DBObject row : rows ) {
+			Object[] columnValues = new Object[rowKeyColumnNames.length];
+			for ( int i = 0; i < rowKeyColumnNames.length; i++ ) {
+				columnValues[i] = associationColumnIndexes[i] != -1
+						? associationKey.getColumnValues()[associationColumnIndexes[i]]
+						//otherwise read it from the database structure
+						: row.get( rowKeyColumnNames[i] );
+			}
+			RowKey rowKey = new RowKey( associationKey.getTable(), rowKeyColumnNames, columnValues );
 			//Stock database structure per RowKey
-			this.map.put( rowKey, row );
+			rowsByKey.put( rowKey, row );
 		}
+		return rowsByKey;
 	}
 
 	@Override
 	public Tuple get(RowKey column) {
-		DBObject row = this.map.get( column );
+		DBObject row = getMap().get( column );
 		return row == null ? null : new Tuple( new MongoDBTupleSnapshot( row, column ) );
 	}
 
@@ -108,12 +118,12 @@ public DBObject getQueryObject() {
 
 	@Override
 	public boolean containsKey(RowKey column) {
-		return map.containsKey( column );
+		return getMap().containsKey( column );
 	}
 
 	@Override
 	public int size() {
-		return map.size();
+		return map != null ? map.size() : getRows().size();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -127,12 +137,12 @@ private Collection<DBObject> getRows() {
 	}
 
 	public DBObject getRowKeyDBObject(RowKey rowKey) {
-		return map.get( rowKey );
+		return getMap().get( rowKey );
 	}
 
 	@Override
 	public Set<RowKey> getRowKeys() {
-		return map.keySet();
+		return getMap().keySet();
 	}
 
 	public DBObject getDBObject() {
@@ -143,7 +153,7 @@ public DBObject getDBObject() {
 	public String toString() {
 		final StringBuilder sb = new StringBuilder();
 		sb.append( "MongoDBAssociationSnapshot(" );
-		sb.append( map.size() );
+		sb.append( size() );
 		sb.append( ") RowKey entries)." );
 		return sb.toString();
 	}
@@ -21,14 +21,21 @@
 package org.hibernate.ogm.dialect.mongodb;
 
 import static org.hibernate.ogm.dialect.mongodb.MongoHelpers.addEmptyAssociationField;
+import static org.hibernate.ogm.dialect.mongodb.MongoHelpers.getPath;
 import static org.hibernate.ogm.dialect.mongodb.MongoHelpers.isEmbeddedInEntity;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -37,6 +44,7 @@
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.ogm.datastore.impl.EmptyTupleSnapshot;
+import org.hibernate.ogm.datastore.impl.UnloadedAssociationSnapshot;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
 import org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment;
 import org.hibernate.ogm.datastore.spi.Association;
@@ -46,6 +54,12 @@
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.datastore.spi.TupleOperation;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.Operation;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.UpdateTupleOperation;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
+import org.hibernate.ogm.dialect.mongodb.MongoDBTupleSnapshot.SnapshotType;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
@@ -65,6 +79,9 @@
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
 
 /**
  * Each Tuple entry is stored as a property in a MongoDB document.
@@ -97,7 +114,6 @@ public class MongoDBDialect implements GridDialect {
 
 	private static final Log log = LoggerFactory.getLogger();
 	private static final Integer ONE = Integer.valueOf( 1 );
-	private static final Pattern DOT_SEPARATOR_PATTERN = Pattern.compile( "\\." );
 	private static final List<String> ROWS_FIELDNAME_LIST = Collections.singletonList( ROWS_FIELDNAME );
 
 	private final MongoDBDatastoreProvider provider;
@@ -119,10 +135,29 @@ public Tuple getTuple(EntityKey key, TupleContext tupleContext) {
 		return found != null ? new Tuple( new MongoDBTupleSnapshot( found, key ) ) : null;
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		Map<String, MultigetBatch> batches = new HashMap<String, MultigetBatch>();
+		for ( int i = 0; i < keys.length; i++ ) {
+			MultigetBatch batch = getOrCreateBatch( batches, keys[i].getTable() );
+			batch.add( i, this.prepareIdObject( keys[i] ).get( ID_FIELDNAME ) );
+			for ( String column : tupleContext.getSelectableColumns() ) {
+				batch.projection.put( column, ONE );
+			}
+		}
+
+		DBObject[] found = this.findAll( batches, keys.length );
+		List<Tuple> tuples = new ArrayList<Tuple>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			tuples.add( found[i] != null ? new Tuple( new MongoDBTupleSnapshot( found[i], keys[i] ) ) : null );
+		}
+		return tuples;
+	}
+
 	@Override
 	public Tuple createTuple(EntityKey key) {
 		DBObject toSave = this.prepareIdObject( key );
-		return new Tuple( new MongoDBTupleSnapshot( toSave, key ) );
+		return new Tuple( new MongoDBTupleSnapshot( toSave, key, SnapshotType.INSERT ) );
 	}
 
 	private DBObject getObjectAsEmbeddedAssociation(AssociationKey key) {
@@ -136,7 +171,14 @@ private DBObject getObject(EntityKey key, TupleContext tupleContext) {
 		DBCollection collection = this.getCollection( key );
 		DBObject searchObject = this.prepareIdObject( key );
 		BasicDBObject restrictionObject = this.getSearchObject( tupleContext );
-		return collection.findOne( searchObject, restrictionObject );
+		ReadPreference readPreference = provider.getReadPreference( collection.getName() );
+
+		if ( readPreference != null ) {
+			return collection.findOne( searchObject, restrictionObject, readPreference );
+		}
+		else {
+			return collection.findOne( searchObject, restrictionObject );
+		}
 	}
 
 	private BasicDBObject getSearchObject(TupleContext tupleContext) {
@@ -226,12 +268,16 @@ private void addSubQuery(String operator, BasicDBObject query, String column, Ob
 	public void updateTuple(Tuple tuple, EntityKey key) {
 		MongoDBTupleSnapshot snapshot = (MongoDBTupleSnapshot) tuple.getSnapshot();
 
+		// a new entity is inserted rather than upserted, so a duplicate key is detected by the datastore
+		if ( snapshot.getSnapshotType() == SnapshotType.INSERT ) {
+			insertTuple( tuple, key );
+			return;
+		}
+
 		BasicDBObject updater = new BasicDBObject();
 		for ( TupleOperation operation : tuple.getOperations() ) {
 			String column = operation.getColumn();
-			if ( !column.equals( ID_FIELDNAME ) && !column.endsWith( PROPERTY_SEPARATOR + ID_FIELDNAME ) && !snapshot.columnInIdField(
-					column
-			) ) {
+			if ( notInIdField( snapshot, column ) ) {
 				switch ( operation.getType() ) {
 				case PUT_NULL:
 				case PUT:
@@ -255,14 +301,65 @@ public void updateTuple(Tuple tuple, EntityKey key) {
 		if ( updater.size() == 0 ) {
 			updater = idObject;
 		}
-		this.getCollection( key ).update( idObject, updater, true, false );
+		DBCollection collection = this.getCollection( key );
+		collection.update( idObject, updater, true, false, getWriteConcern( collection, key.getTable() ) );
+	}
+
+	private void insertTuple(Tuple tuple, EntityKey key) {
+		DBCollection collection = this.getCollection( key );
+		try {
+			collection.insert( getInsertDocument( tuple, key ), getWriteConcern( collection, key.getTable() ) );
+		}
+		catch ( MongoException.DuplicateKey e ) {
+			throw log.mustNotInsertSameEntityTwice( key );
+		}
+	}
+
+	private boolean notInIdField(MongoDBTupleSnapshot snapshot, String column) {
+		return !column.equals( ID_FIELDNAME ) && !column.endsWith( PROPERTY_SEPARATOR + ID_FIELDNAME ) && !snapshot.columnInIdField( column );
+	}
+
+	/**
+	 * Creates the document representing the given tuple of an entity not yet existing in the datastore.
+	 */
+	private DBObject getInsertDocument(Tuple tuple, EntityKey key) {
+		MongoDBTupleSnapshot snapshot = (MongoDBTupleSnapshot) tuple.getSnapshot();
+		DBObject document = this.prepareIdObject( key );
+		for ( TupleOperation operation : tuple.getOperations() ) {
+			String column = operation.getColumn();
+			if ( notInIdField( snapshot, column ) ) {
+				switch ( operation.getType() ) {
+				case PUT_NULL:
+				case PUT:
+					addEmbeddedField( document, column, operation.getValue() );
+					break;
+				case REMOVE:
+					break;
+				}
+			}
+		}
+		return document;
+	}
+
+	private void addEmbeddedField(DBObject document, String column, Object value) {
+		String[] path = getPath( column );
+		DBObject parent = document;
+		for ( int i = 0; i < path.length - 1; i++ ) {
+			DBObject child = (DBObject) parent.get( path[i] );
+			if ( child == null ) {
+				child = new BasicDBObject();
+				parent.put( path[i], child );
+			}
+			parent = child;
+		}
+		parent.put( path[path.length - 1], value );
 	}
 
 	@Override
 	public void removeTuple(EntityKey key) {
 		DBCollection collection = this.getCollection( key );
 		DBObject toDelete = this.prepareIdObject( key );
-		collection.remove( toDelete );
+		collection.remove( toDelete, getWriteConcern( collection, key.getTable() ) );
 	}
 
 	//not for embedded
@@ -300,8 +397,272 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		}
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		Map<String, MultigetBatch> batches = new HashMap<String, MultigetBatch>();
+		for ( int i = 0; i < keys.length; i++ ) {
+			AssociationKey key = keys[i];
+			if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
+				MultigetBatch batch = getOrCreateBatch( batches, key.getEntityKey().getTable() );
+				batch.add( i, this.prepareIdObject( key.getEntityKey() ).get( ID_FIELDNAME ) );
+				batch.projection.put( key.getCollectionRole(), ONE );
+			}
+			else {
+				MultigetBatch batch = getOrCreateBatch( batches, getAssociationCollection( key ).getName() );
+				batch.add( i, MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key ).get( ID_FIELDNAME ) );
+				batch.projection.put( ROWS_FIELDNAME, ONE );
+			}
+		}
+
+		DBObject[] found = this.findAll( batches, keys.length );
+		List<Association> associations = new ArrayList<Association>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( found[i] == null
+					|| ( isEmbeddedInEntity( keys[i], provider.getAssociationStorage() ) && getAssociationFieldOrNull( keys[i], found[i] ) == null ) ) {
+				associations.add( null );
+			}
+			else {
+				associations.add( new Association( new MongoDBAssociationSnapshot( found[i], keys[i], provider.getAssociationStorage() ) ) );
+			}
+		}
+		return associations;
+	}
+
+	/**
+	 * Only the rows of the association are fetched and counted; neither the other fields of the owning document nor
+	 * the id are retrieved and no row keys or tuples are created for the rows.
+	 */
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		Collection<?> rows;
+		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
+			DBObject projection = new BasicDBObject( key.getCollectionRole(), ONE ).append( ID_FIELDNAME, 0 );
+			DBObject entity = getCollection( key.getEntityKey() ).findOne( prepareIdObject( key.getEntityKey() ), projection );
+			rows = entity == null ? null : (Collection<?>) getAssociationFieldOrNull( key, entity );
+		}
+		else {
+			DBObject projection = new BasicDBObject( ROWS_FIELDNAME, ONE ).append( ID_FIELDNAME, 0 );
+			DBObject associationKeyObject = MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key );
+			DBObject association = getAssociationCollection( key ).findOne( associationKeyObject, projection );
+			rows = association == null ? null : (Collection<?>) association.get( ROWS_FIELDNAME );
+		}
+		return rows == null ? 0 : rows.size();
+	}
+
+	/**
+	 * Uses an {@code $elemMatch} query on the rows of the association, so no rows need to be fetched.
+	 */
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		// the columns of the association key are not stored within the rows
+		List<String> associationKeyColumns = Arrays.asList( key.getColumnNames() );
+		DBObject rowQuery = new BasicDBObject();
+		for ( int i = 0; i < rowKey.getColumnNames().length; i++ ) {
+			String column = rowKey.getColumnNames()[i];
+			if ( !associationKeyColumns.contains( column ) ) {
+				if ( column.contains( PROPERTY_SEPARATOR ) ) {
+					// would be interpreted as path into an embedded object
+					return GridDialectHelpers.associationContainsRowByLoading( this, key, rowKey, associationContext );
+				}
+				rowQuery.put( column, rowKey.getColumnValues()[i] );
+			}
+		}
+		if ( rowQuery.keySet().isEmpty() ) {
+			return GridDialectHelpers.associationContainsRowByLoading( this, key, rowKey, associationContext );
+		}
+
+		DBCollection collection;
+		DBObject query;
+		String associationField;
+		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
+			collection = getCollection( key.getEntityKey() );
+			query = prepareIdObject( key.getEntityKey() );
+			associationField = key.getCollectionRole();
+		}
+		else {
+			collection = getAssociationCollection( key );
+			query = MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key );
+			associationField = ROWS_FIELDNAME;
+		}
+		query.put( associationField, new BasicDBObject( "$elemMatch", rowQuery ) );
+		ReadPreference readPreference = provider.getReadPreference( collection.getName() );
+		if ( readPreference != null ) {
+			return collection.count( query, readPreference ) > 0;
+		}
+		else {
+			return collection.count( query ) > 0;
+		}
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		Map<String, WriteBatch> inserts = new HashMap<String, WriteBatch>();
+		Map<String, WriteBatch> removals = new HashMap<String, WriteBatch>();
+
+		Operation operation = queue.poll();
+		while ( operation != null ) {
+			if ( isInsert( operation ) ) {
+				UpdateTupleOperation insert = (UpdateTupleOperation) operation;
+				WriteBatch batch = getOrCreateWriteBatch( inserts, insert.getEntityKey() );
+				batch.add( insert.getEntityKey(), getInsertDocument( insert.getTuple(), insert.getEntityKey() ) );
+				if ( batch.size() >= provider.getBatchSize() ) {
+					executeInserts( batch );
+				}
+			}
+			else if ( operation instanceof RemoveTupleOperation ) {
+				EntityKey key = ( (RemoveTupleOperation) operation ).getEntityKey();
+				WriteBatch batch = getOrCreateWriteBatch( removals, key );
+				batch.add( key, this.prepareIdObject( key ).get( ID_FIELDNAME ) );
+				if ( batch.size() >= provider.getBatchSize() ) {
+					executeRemovals( batch );
+				}
+			}
+			else {
+				// other operations might depend on the pending ones, e.g. an association embedded in a new entity
+				executeRemovals( removals.values() );
+				executeInserts( inserts.values() );
+				GridDialectHelpers.executeOperation( this, operation );
+			}
+			operation = queue.poll();
+		}
+
+		executeRemovals( removals.values() );
+		executeInserts( inserts.values() );
+	}
+
+	private boolean isInsert(Operation operation) {
+		return operation instanceof UpdateTupleOperation
+				&& ( (MongoDBTupleSnapshot) ( (UpdateTupleOperation) operation ).getTuple().getSnapshot() ).getSnapshotType() == SnapshotType.INSERT;
+	}
+
+	private WriteBatch getOrCreateWriteBatch(Map<String, WriteBatch> batches, EntityKey key) {
+		WriteBatch batch = batches.get( key.getTable() );
+		if ( batch == null ) {
+			batch = new WriteBatch( getCollection( key ) );
+			batches.put( key.getTable(), batch );
+		}
+		return batch;
+	}
+
+	private void executeInserts(Collection<WriteBatch> batches) {
+		for ( WriteBatch batch : batches ) {
+			executeInserts( batch );
+		}
+	}
+
+	private void executeInserts(WriteBatch batch) {
+		if ( batch.size() == 0 ) {
+			return;
+		}
+		try {
+			batch.collection.insert( batch.<DBObject>getValues(), getWriteConcern( batch.collection, batch.collection.getName() ) );
+		}
+		catch ( MongoException.DuplicateKey e ) {
+			// the duplicate is the last of the leading documents which exist, as the documents following it haven't
+			// been inserted; any other existing document within that sequence is a duplicate as well
+			int existing = getNumberOfLeadingExistingDocuments( batch );
+			throw log.mustNotInsertSameEntityTwice( batch.keys.get( existing > 0 ? existing - 1 : 0 ) );
+		}
+		catch ( MongoException e ) {
+			// the documents are inserted in order, so the failing one is the first which doesn't exist
+			int existing = getNumberOfLeadingExistingDocuments( batch );
+			EntityKey failedKey = batch.keys.get( existing < batch.size() ? existing : batch.size() - 1 );
+			throw log.unableToInsertEntity( batch.collection.getName(), failedKey.toString(), e );
+		}
+		finally {
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of documents from the start of the given batch which exist in the datastore. A batch insert
+	 * stops at the first failing document, so this identifies the document which caused the insert to fail.
+	 */
+	private int getNumberOfLeadingExistingDocuments(WriteBatch batch) {
+		List<Object> ids = new ArrayList<Object>( batch.size() );
+		for ( DBObject document : batch.<DBObject>getValues() ) {
+			ids.add( document.get( ID_FIELDNAME ) );
+		}
+		DBObject query = new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", ids ) );
+		DBCursor cursor = batch.collection.find( query, new BasicDBObject( ID_FIELDNAME, ONE ) );
+		Set<Object> existingIds = new HashSet<Object>();
+		try {
+			for ( DBObject document : cursor ) {
+				existingIds.add( document.get( ID_FIELDNAME ) );
+			}
+		}
+		finally {
+			cursor.close();
+		}
+
+		int existing = 0;
+		while ( existing < ids.size() && existingIds.contains( ids.get( existing ) ) ) {
+			existing++;
+		}
+		return existing;
+	}
+
+	private void executeRemovals(Collection<WriteBatch> batches) {
+		for ( WriteBatch batch : batches ) {
+			executeRemovals( batch );
+		}
+	}
+
+	private void executeRemovals(WriteBatch batch) {
+		if ( batch.size() == 0 ) {
+			return;
+		}
+		try {
+			DBObject query = new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", batch.getValues() ) );
+			batch.collection.remove( query, getWriteConcern( batch.collection, batch.collection.getName() ) );
+		}
+		catch ( MongoException e ) {
+			throw log.unableToRemoveEntities( batch.collection.getName(), batch.keys.toString(), e );
+		}
+		finally {
+			batch.clear();
+		}
+	}
+
+	private MultigetBatch getOrCreateBatch(Map<String, MultigetBatch> batches, String collectionName) {
+		MultigetBatch batch = batches.get( collectionName );
+		if ( batch == null ) {
+			batch = new MultigetBatch();
+			batches.put( collectionName, batch );
+		}
+		return batch;
+	}
+
+	/**
+	 * Runs one {@code $in} query on {@code _id} per collection and returns the found documents at the positions of
+	 * their keys; positions without a matching document are left empty.
+	 */
+	private DBObject[] findAll(Map<String, MultigetBatch> batches, int size) {
+		DBObject[] found = new DBObject[size];
+		for ( Map.Entry<String, MultigetBatch> entry : batches.entrySet() ) {
+			MultigetBatch batch = entry.getValue();
+			DBObject query = new BasicDBObject( ID_FIELDNAME, new BasicDBObject( "$in", batch.ids ) );
+			DBCursor cursor = this.getCollection( entry.getKey() ).find( query, batch.projection );
+			applyReadPreference( cursor, entry.getKey() );
+			try {
+				for ( DBObject document : cursor ) {
+					List<Integer> positions = batch.positionsById.get( document.get( ID_FIELDNAME ) );
+					if ( positions != null ) {
+						for ( Integer position : positions ) {
+							found[position] = document;
+						}
+					}
+				}
+			}
+			finally {
+				cursor.close();
+			}
+		}
+		return found;
+	}
+
 	private DBObject getAssociationFieldOrNull(AssociationKey key, DBObject entity) {
-		String[] path = DOT_SEPARATOR_PATTERN.split( key.getCollectionRole() );
+		String[] path = getPath( key.getCollectionRole() );
 		DBObject field = entity;
 		for ( String node : path ) {
 			field = field != null ? (DBObject) field.get( node ) : null;
@@ -309,29 +670,46 @@ private DBObject getAssociationFieldOrNull(AssociationKey key, DBObject entity)
 		return field;
 	}
 
+	/**
+	 * Rows are added via {@code $addToSet} and removed via {@code $pull} by the values of their row key columns, which
+	 * is not possible if one of these columns is named like a path into an embedded object.
+	 */
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		if ( key.getRowKeyColumnNames() == null ) {
+			return null;
+		}
+		List<String> associationKeyColumns = Arrays.asList( key.getColumnNames() );
+		boolean hasRowColumns = false;
+		for ( String column : key.getRowKeyColumnNames() ) {
+			if ( !associationKeyColumns.contains( column ) ) {
+				if ( column.contains( PROPERTY_SEPARATOR ) ) {
+					return null;
+				}
+				hasRowColumns = true;
+			}
+		}
+		return hasRowColumns ? new Association( UnloadedAssociationSnapshot.SINGLETON ) : null;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key) {
 		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
 			DBObject entity = getObjectAsEmbeddedAssociation( key );
-			boolean insert = false;
 			if ( entity == null ) {
-				insert = true;
+				// the owning entity has not been written yet, e.g. as its insert is part of a pending batch; the
+				// association is written by the next update of it, which upserts the entity document if required
 				entity = this.prepareIdObject( key.getEntityKey() );
+				addEmptyAssociationField( key, entity );
 			}
-			if ( getAssociationFieldOrNull( key, entity ) == null ) {
-				if ( insert ) {
-					//adding assoc before insert
-					addEmptyAssociationField( key, entity );
-					getCollection( key.getEntityKey() ).insert( entity );
-				}
-				else {
-					BasicDBObject updater = new BasicDBObject();
-					this.addSubQuery( "$set", updater, key.getCollectionRole(),  Collections.EMPTY_LIST );
-					//TODO use entity filter with only the ids
-					this.getCollection( key.getEntityKey() ).update( entity, updater, true, false );
-					//adding assoc after update because the query takes the whole object today
-					addEmptyAssociationField( key, entity );
-				}
+			else if ( getAssociationFieldOrNull( key, entity ) == null ) {
+				BasicDBObject updater = new BasicDBObject();
+				this.addSubQuery( "$set", updater, key.getCollectionRole(),  Collections.EMPTY_LIST );
+				//TODO use entity filter with only the ids
+				DBCollection collection = this.getCollection( key.getEntityKey() );
+				collection.update( entity, updater, true, false, getWriteConcern( collection, key ) );
+				//adding assoc after update because the query takes the whole object today
+				addEmptyAssociationField( key, entity );
 			}
 			return new Association( new MongoDBAssociationSnapshot( entity, key, provider.getAssociationStorage() ) );
 		}
@@ -339,17 +717,12 @@ public Association createAssociation(AssociationKey key) {
 		DBObject assoc = MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key );
 
 		assoc.put( ROWS_FIELDNAME, Collections.EMPTY_LIST );
-		associations.insert( assoc );
+		associations.insert( assoc, getWriteConcern( associations, key ) );
 
 		return new Association( new MongoDBAssociationSnapshot( assoc, key, provider.getAssociationStorage() ) );
 	}
 
-	private DBObject removeAssociationRowKey(MongoDBAssociationSnapshot snapshot, RowKey rowKey, String associationField) {
-		DBObject pull = new BasicDBObject( associationField,  snapshot.getRowKeyDBObject( rowKey ) );
-		return new BasicDBObject( "$pull", pull );
-	}
-
-	private DBObject putAssociationRowKey(Tuple value, String associationField, AssociationKey associationKey) {
+	private DBObject getAssociationRow(Tuple value, AssociationKey associationKey) {
 		DBObject rowTupleMap = new BasicDBObject();
 		for ( String valueKeyName : value.getColumnNames() ) {
 			boolean add = true;
@@ -364,12 +737,22 @@ private DBObject putAssociationRowKey(Tuple value, String associationField, Asso
 				rowTupleMap.put( valueKeyName, value.get( valueKeyName ) );
 			}
 		}
-		DBObject row = rowTupleMap;
-		return new BasicDBObject( "$push", new BasicDBObject( associationField, row ) );
+		return rowTupleMap;
 	}
 
+	/**
+	 * Applies all the operations of the given association with one update where possible: rows to be added are
+	 * pushed at once, rows to be removed are pulled at once. As a field can't be pulled from and pushed to within
+	 * the same update, the complete rows array is set instead if rows are added and removed and the changes make up
+	 * a significant part of the association; otherwise the removed rows are pulled in a separate update.
+	 */
 	@Override
 	public void updateAssociation(Association association, AssociationKey key) {
+		if ( association.getSnapshot() == UnloadedAssociationSnapshot.SINGLETON ) {
+			updateAssociationBlindly( association, key );
+			return;
+		}
+
 		DBCollection collection;
 		DBObject query;
 		MongoDBAssociationSnapshot assocSnapshot = (MongoDBAssociationSnapshot) association.getSnapshot();
@@ -385,32 +768,225 @@ public void updateAssociation(Association association, AssociationKey key) {
 			query = assocSnapshot.getQueryObject();
 			associationField = ROWS_FIELDNAME;
 		}
+		WriteConcern writeConcern = getWriteConcern( collection, key );
+
+		boolean cleared = false;
+		Set<RowKey> changedRowKeys = new HashSet<RowKey>();
+		List<DBObject> rowsToPull = new ArrayList<DBObject>();
+		List<DBObject> rowsToPush = new ArrayList<DBObject>();
 
 		for ( AssociationOperation action : association.getOperations() ) {
-			RowKey rowKey = action.getKey();
-			Tuple rowValue = action.getValue();
+			switch ( action.getType() ) {
+			case CLEAR:
+				cleared = true;
+				break;
+			case PUT_NULL:
+			case PUT:
+				// an existing row with the same key is replaced
+				addExistingRow( assocSnapshot, action.getKey(), cleared, changedRowKeys, rowsToPull );
+				if ( action.getValue() != null ) {
+					rowsToPush.add( getAssociationRow( action.getValue(), key ) );
+				}
+				break;
+			case REMOVE:
+				addExistingRow( assocSnapshot, action.getKey(), cleared, changedRowKeys, rowsToPull );
+				break;
+			}
+		}
+
+		DBObject update;
+		if ( cleared ) {
+			update = new BasicDBObject( "$set", new BasicDBObject( associationField, rowsToPush ) );
+		}
+		else if ( rowsToPull.isEmpty() && rowsToPush.isEmpty() ) {
+			return;
+		}
+		else if ( rowsToPull.isEmpty() ) {
+			update = pushRows( associationField, rowsToPush );
+		}
+		else if ( rowsToPush.isEmpty() ) {
+			update = pullRows( associationField, rowsToPull );
+		}
+		else if ( ( rowsToPull.size() + rowsToPush.size() ) * 2 >= assocSnapshot.size() ) {
+			List<DBObject> rows = new ArrayList<DBObject>( assocSnapshot.size() - rowsToPull.size() + rowsToPush.size() );
+			for ( RowKey rowKey : assocSnapshot.getRowKeys() ) {
+				if ( !changedRowKeys.contains( rowKey ) ) {
+					rows.add( assocSnapshot.getRowKeyDBObject( rowKey ) );
+				}
+			}
+			rows.addAll( rowsToPush );
+			update = new BasicDBObject( "$set", new BasicDBObject( associationField, rows ) );
+		}
+		else {
+			collection.update( query, pullRows( associationField, rowsToPull ), true, false, writeConcern );
+			update = pushRows( associationField, rowsToPush );
+		}
+
+		collection.update( query, update, true, false, writeConcern );
+	}
+
+	/**
+	 * Applies the operations of an association whose rows have not been read. If rows are only added or replaced, one
+	 * update adds them, provided there are no rows with the same keys yet; otherwise the rows to be removed or
+	 * replaced are pulled by their key, then the rows to be added are added unless present already. If rows have
+	 * only been removed, the remaining rows are returned by the pull and the association is removed in case it has
+	 * no rows left.
+	 */
+	private void updateAssociationBlindly(Association association, AssociationKey key) {
+		DBCollection collection;
+		DBObject query;
+		String associationField;
+
+		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
+			collection = this.getCollection( key.getEntityKey() );
+			query = this.prepareIdObject( key.getEntityKey() );
+			associationField = key.getCollectionRole();
+		}
+		else {
+			collection = getAssociationCollection( key );
+			query = MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key );
+			associationField = ROWS_FIELDNAME;
+		}
+		WriteConcern writeConcern = getWriteConcern( collection, key );
 
-			DBObject update = null;
+		boolean cleared = false;
+		List<DBObject> rowsToAdd = new ArrayList<DBObject>();
+		List<DBObject> rowsToReplace = new ArrayList<DBObject>();
+		List<DBObject> rowsToRemove = new ArrayList<DBObject>();
 
+		for ( AssociationOperation action : association.getOperations() ) {
 			switch ( action.getType() ) {
 			case CLEAR:
-				update = new BasicDBObject( "$set", new BasicDBObject( associationField, Collections.EMPTY_LIST ) );
+				cleared = true;
 				break;
 			case PUT_NULL:
 			case PUT:
-				update = putAssociationRowKey( rowValue, associationField, key );
+				if ( action.getValue() != null ) {
+					// an existing row with the same key is replaced
+					rowsToReplace.add( getRowKeyQuery( action.getKey(), key ) );
+					rowsToAdd.add( getAssociationRow( action.getValue(), key ) );
+				}
+				else {
+					rowsToRemove.add( getRowKeyQuery( action.getKey(), key ) );
+				}
 				break;
 			case REMOVE:
-				update = removeAssociationRowKey( assocSnapshot, rowKey, associationField );
+				rowsToRemove.add( getRowKeyQuery( action.getKey(), key ) );
 				break;
 			}
+		}
 
-			if ( update != null ) {
-				collection.update( query, update, true, false );
+		if ( cleared ) {
+			if ( rowsToAdd.isEmpty() ) {
+				removeAssociation( key );
 			}
+			else {
+				collection.update( query, new BasicDBObject( "$set", new BasicDBObject( associationField, rowsToAdd ) ), true, false, writeConcern );
+			}
+			return;
+		}
+
+		if ( rowsToRemove.isEmpty() && !rowsToAdd.isEmpty() && addRowsWithoutReplacement( collection, query, associationField, rowsToReplace, rowsToAdd, writeConcern ) ) {
+			return;
+		}
+
+		rowsToRemove.addAll( rowsToReplace );
+		Object condition = rowsToRemove.size() == 1 ? rowsToRemove.get( 0 ) : new BasicDBObject( "$or", rowsToRemove );
+		DBObject pull = new BasicDBObject( "$pull", new BasicDBObject( associationField, condition ) );
+
+		if ( !rowsToAdd.isEmpty() ) {
+			collection.update( query, pull, false, false, writeConcern );
+			DBObject rows = new BasicDBObject( associationField, new BasicDBObject( "$each", rowsToAdd ) );
+			collection.update( query, new BasicDBObject( "$addToSet", rows ), true, false, writeConcern );
+		}
+		else if ( !rowsToRemove.isEmpty() ) {
+			DBObject remaining = collection.findAndModify( query, new BasicDBObject( associationField, ONE ), null, false, pull, true, false );
+			Collection<?> remainingRows = null;
+			if ( remaining != null ) {
+				remainingRows = (Collection<?>) ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ?
+						getAssociationFieldOrNull( key, remaining ) :
+						remaining.get( ROWS_FIELDNAME ) );
+			}
+			if ( remainingRows != null && remainingRows.isEmpty() ) {
+				removeAssociationIfEmpty( key, collection, query, associationField, writeConcern );
+			}
+		}
+	}
+
+	/**
+	 * Adds the given rows with one update which only applies if the association contains none of the rows to be
+	 * replaced. Requires an acknowledged write concern, as the failure of the update must be detected.
+	 *
+	 * @return {@code true} if the rows have been added, {@code false} if the rows to be replaced must be pulled first
+	 */
+	private boolean addRowsWithoutReplacement(DBCollection collection, DBObject query, String associationField, List<DBObject> rowsToReplace, List<DBObject> rowsToAdd, WriteConcern writeConcern) {
+		if ( !writeConcern.callGetLastError() ) {
+			return false;
+		}
+
+		List<DBObject> existingRows = new ArrayList<DBObject>( rowsToReplace.size() );
+		for ( DBObject row : rowsToReplace ) {
+			existingRows.add( new BasicDBObject( associationField, new BasicDBObject( "$elemMatch", row ) ) );
+		}
+		DBObject noExistingRowQuery = new BasicDBObject( query.toMap() );
+		noExistingRowQuery.put( "$nor", existingRows );
+		DBObject rows = new BasicDBObject( associationField, new BasicDBObject( "$each", rowsToAdd ) );
+
+		try {
+			collection.update( noExistingRowQuery, new BasicDBObject( "$addToSet", rows ), true, false, writeConcern );
+			return true;
+		}
+		catch ( MongoException.DuplicateKey e ) {
+			// the document exists but contains a row to be replaced, so the upsert tried to insert it again
+			return false;
+		}
+	}
+
+	/**
+	 * Matches the row with the given key; the columns of the association key are not stored within the rows.
+	 */
+	private DBObject getRowKeyQuery(RowKey rowKey, AssociationKey key) {
+		List<String> associationKeyColumns = Arrays.asList( key.getColumnNames() );
+		DBObject rowQuery = new BasicDBObject();
+		for ( int i = 0; i < rowKey.getColumnNames().length; i++ ) {
+			String column = rowKey.getColumnNames()[i];
+			if ( !associationKeyColumns.contains( column ) ) {
+				rowQuery.put( column, rowKey.getColumnValues()[i] );
+			}
+		}
+		return rowQuery;
+	}
+
+	private void removeAssociationIfEmpty(AssociationKey key, DBCollection collection, DBObject query, String associationField, WriteConcern writeConcern) {
+		DBObject emptyQuery = new BasicDBObject( query.toMap() );
+		emptyQuery.put( associationField, new BasicDBObject( "$size", 0 ) );
+
+		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
+			collection.update( emptyQuery, new BasicDBObject( "$unset", new BasicDBObject( associationField, ONE ) ), false, false, writeConcern );
+		}
+		else {
+			collection.remove( emptyQuery, writeConcern );
 		}
 	}
 
+	private void addExistingRow(MongoDBAssociationSnapshot snapshot, RowKey rowKey, boolean cleared, Set<RowKey> changedRowKeys, List<DBObject> rows) {
+		if ( !cleared ) {
+			DBObject row = snapshot.getRowKeyDBObject( rowKey );
+			if ( row != null ) {
+				changedRowKeys.add( rowKey );
+				rows.add( row );
+			}
+		}
+	}
+
+	private DBObject pushRows(String associationField, List<DBObject> rows) {
+		return new BasicDBObject( "$push", new BasicDBObject( associationField, new BasicDBObject( "$each", rows ) ) );
+	}
+
+	private DBObject pullRows(String associationField, List<DBObject> rows) {
+		return new BasicDBObject( "$pullAll", new BasicDBObject( associationField, rows ) );
+	}
+
 	@Override
 	public void removeAssociation(AssociationKey key) {
 		if ( isEmbeddedInEntity( key, provider.getAssociationStorage() ) ) {
@@ -418,14 +994,15 @@ public void removeAssociation(AssociationKey key) {
 			if ( entity != null ) {
 				BasicDBObject updater = new BasicDBObject();
 				this.addSubQuery( "$unset", updater, key.getCollectionRole(), ONE );
-				this.getCollection( key.getEntityKey() ).update( entity, updater, true, false );
+				DBCollection collection = this.getCollection( key.getEntityKey() );
+				collection.update( entity, updater, true, false, getWriteConcern( collection, key ) );
 			}
 		}
 		else {
 			DBCollection collection = getAssociationCollection( key );
 			DBObject query = MongoHelpers.associationKeyToObject( provider.getAssociationStorage(), key );
 
-			int nAffected = collection.remove( query ).getN();
+			int nAffected = collection.remove( query, getWriteConcern( collection, key ) ).getN();
 			log.removedAssociation( nAffected );
 		}
 	}
@@ -499,15 +1076,98 @@ public Iterator<Tuple> executeBackendQuery(CustomQuery customQuery, EntityKeyMet
 		validate( metadatas );
 		DBCollection collection = provider.getDatabase().getCollection( metadatas[0].getTable() );
 		DBCursor cursor = collection.find( mongodbQuery );
+		applyReadPreference( cursor, metadatas[0].getTable() );
 		return new MongoDBResultsCursor( cursor, metadatas[0] );
 	}
 
+	/**
+	 * Returns the write concern for writing to the given collection on behalf of the given association, i.e. the write
+	 * concern configured for the association's owning entity.
+	 */
+	private WriteConcern getWriteConcern(DBCollection collection, AssociationKey key) {
+		String entityCollection = key.getEntityKey() != null ? key.getEntityKey().getTable() : key.getTable();
+		return getWriteConcern( collection, entityCollection );
+	}
+
+	/**
+	 * Returns the write concern configured for the entity type stored in the given entity collection, falling back to
+	 * the write concern of the given collection.
+	 */
+	private WriteConcern getWriteConcern(DBCollection collection, String entityCollection) {
+		WriteConcern writeConcern = provider.getWriteConcern( entityCollection );
+		return writeConcern != null ? writeConcern : collection.getWriteConcern();
+	}
+
+	/**
+	 * Applies the read preference configured for the given collection (if any) to the given cursor.
+	 */
+	private void applyReadPreference(DBCursor cursor, String collection) {
+		ReadPreference readPreference = provider.getReadPreference( collection );
+		if ( readPreference != null ) {
+			cursor.setReadPreference( readPreference );
+		}
+	}
+
 	private void validate(EntityKeyMetadata[] metadatas) {
 		if ( metadatas.length != 1 ) {
 			throw log.requireMetadatas();
 		}
 	}
 
+	/**
+	 * The ids to be fetched from one collection with a single query, together with the positions of their keys.
+	 */
+	private static class MultigetBatch {
+
+		private final List<Object> ids = new ArrayList<Object>();
+		private final Map<Object, List<Integer>> positionsById = new HashMap<Object, List<Integer>>();
+		private final BasicDBObject projection = new BasicDBObject();
+
+		private void add(int position, Object id) {
+			List<Integer> positions = positionsById.get( id );
+			if ( positions == null ) {
+				ids.add( id );
+				positions = new ArrayList<Integer>( 1 );
+				positionsById.put( id, positions );
+			}
+			positions.add( position );
+		}
+	}
+
+	/**
+	 * The documents to be inserted into or the ids to be removed from one collection with a single request, together
+	 * with the keys of the affected entities.
+	 */
+	private static class WriteBatch {
+
+		private final DBCollection collection;
+		private final List<EntityKey> keys = new ArrayList<EntityKey>();
+		private final List<Object> values = new ArrayList<Object>();
+
+		private WriteBatch(DBCollection collection) {
+			this.collection = collection;
+		}
+
+		private void add(EntityKey key, Object value) {
+			keys.add( key );
+			values.add( value );
+		}
+
+		@SuppressWarnings("unchecked")
+		private <T> List<T> getValues() {
+			return (List<T>) values;
+		}
+
+		private int size() {
+			return keys.size();
+		}
+
+		private void clear() {
+			keys.clear();
+			values.clear();
+		}
+	}
+
 	private static class MongoDBResultsCursor implements Iterator<Tuple>, Closeable {
 
 		private final DBCursor cursor;
@@ -21,14 +21,15 @@
 
 package org.hibernate.ogm.dialect.mongodb;
 
+import static org.hibernate.ogm.dialect.mongodb.MongoHelpers.getPath;
 import static org.hibernate.ogm.dialect.mongodb.MongoHelpers.getValueFromColumns;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 import org.hibernate.ogm.datastore.spi.TupleSnapshot;
 import org.hibernate.ogm.grid.EntityKey;
@@ -41,11 +42,17 @@
  */
 public class MongoDBTupleSnapshot implements TupleSnapshot {
 
-	public static final Pattern EMBEDDED_FIELDNAME_SEPARATOR = Pattern.compile( "\\." );
+	/**
+	 * Whether the document of a snapshot is known to not exist in the datastore yet or not.
+	 */
+	public enum SnapshotType {
+		INSERT, UPDATE
+	}
 
 	private final DBObject dbObject;
 	private final RowKey rowKey;
 	private final EntityKey entityKey;
+	private final SnapshotType snapshotType;
 	//use it so it avoids multiple calls to Arrays.asList()
 	private final List<String> columnNames;
 
@@ -55,13 +62,19 @@ public MongoDBTupleSnapshot(DBObject dbObject, RowKey rowKey) {
 		this.rowKey = rowKey;
 		this.entityKey = null;
 		this.columnNames = null;
+		this.snapshotType = SnapshotType.UPDATE;
 	}
 
 	public MongoDBTupleSnapshot(DBObject dbObject, EntityKey entityKey) {
+		this( dbObject, entityKey, SnapshotType.UPDATE );
+	}
+
+	public MongoDBTupleSnapshot(DBObject dbObject, EntityKey entityKey, SnapshotType snapshotType) {
 		this.dbObject = dbObject;
 		this.entityKey = entityKey;
 		this.columnNames  = Arrays.asList( entityKey.getColumnNames());
 		this.rowKey = null;
+		this.snapshotType = snapshotType;
 	}
 
 	@Override
@@ -74,50 +87,55 @@ public Object get(String column) {
 			}
 		}
 		//otherwise get it from the object
-		if ( column.contains( "." ) ) {
-			String[] fields = EMBEDDED_FIELDNAME_SEPARATOR.split( column, 0 );
-			return this.getObject( this.dbObject.toMap(), fields, 0 );
+		String[] path = getPath( column );
+		if ( path.length == 1 ) {
+			return this.dbObject.get( column );
 		}
 		else {
-			return this.dbObject.get( column );
+			return this.getObject( this.dbObject, path );
 		}
 	}
 
 	@Override
 	public Set<String> getColumnNames() {
-		Set<String> columns = this.dbObject.toMap().keySet();
 		//add the columns from the rowKey info as the datastore structure might be incomplete
 		if ( rowKey != null && ! isEmpty() ) {
-			columns = new HashSet<String>(columns);
+			Set<String> columns = new HashSet<String>( this.dbObject.keySet() );
 			for ( String column : rowKey.getColumnNames() ) {
 				columns.add( column );
 			}
+			return columns;
 		}
-		return columns;
+		return Collections.unmodifiableSet( this.dbObject.keySet() );
 	}
 
 	public DBObject getDbObject() {
 		return dbObject;
 	}
 
+	public SnapshotType getSnapshotType() {
+		return snapshotType;
+	}
+
 	/**
 	 * The internal structure of a DBOject is like a tree.
-	 * Each embedded object is a new branch represented by a Map.
-	 * This method browses recursively all nodes and returns the leaf value
+	 * Each embedded object is a new branch represented by a DBObject.
+	 * This method walks down the given path and returns the leaf value
 	 */
-	private Object getObject(Map<?, ?> fields, String[] remainingFields, int startIndex) {
-		if ( startIndex == remainingFields.length - 1 ) {
-			return fields.get( remainingFields[startIndex] );
-		}
-		else {
-			Map<?, ?> subMap = (Map<?, ?>) fields.get( remainingFields[startIndex] );
-			if ( subMap != null ) {
-				return this.getObject( subMap, remainingFields, ++startIndex );
+	private Object getObject(DBObject root, String[] path) {
+		Object current = root;
+		for ( String field : path ) {
+			if ( current instanceof DBObject ) {
+				current = ( (DBObject) current ).get( field );
+			}
+			else if ( current instanceof Map ) {
+				current = ( (Map<?, ?>) current ).get( field );
 			}
 			else {
 				return null;
 			}
 		}
+		return current;
 	}
 
 	@Override
@@ -22,6 +22,9 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.ogm.datastore.mongodb.AssociationStorageType;
@@ -37,6 +40,33 @@
  */
 public class MongoHelpers {
 
+	private static final Pattern DOT_SEPARATOR_PATTERN = Pattern.compile( "\\." );
+
+	/**
+	 * Split representations of the dotted column names and collection roles accessed so far; the number of these
+	 * names is bounded by the mapping, so there is no need for an eviction strategy.
+	 */
+	private static final ConcurrentMap<String, String[]> PATHS = new ConcurrentHashMap<String, String[]>();
+
+	/**
+	 * Returns the path elements of the given dotted name, e.g. {@code [address, city]} for {@code address.city}.
+	 * Split paths are cached, the returned array thus must not be modified.
+	 *
+	 * @param dottedName a column name or collection role
+	 * @return the path elements of the given name
+	 */
+	public static String[] getPath(String dottedName) {
+		String[] path = PATHS.get( dottedName );
+		if ( path == null ) {
+			path = DOT_SEPARATOR_PATTERN.split( dottedName, 0 );
+			String[] existing = PATHS.putIfAbsent( dottedName, path );
+			if ( existing != null ) {
+				path = existing;
+			}
+		}
+		return path;
+	}
+
 	public static DBObject associationKeyToObject(AssociationStorageType storage, AssociationKey key) {
 		if ( isEmbeddedInEntity( key, storage ) ) {
 			throw new AssertionFailure( MongoHelpers.class.getName()
@@ -66,7 +96,7 @@ public static boolean isEmbeddedInEntity(AssociationKey key, AssociationStorageT
 
 	//only for embedded
 	public static Collection<DBObject> getAssociationFieldOrNull(AssociationKey key, DBObject entity) {
-		String[] path = key.getCollectionRole().split( "\\." );
+		String[] path = getPath( key.getCollectionRole() );
 		Object field = entity;
 		for (String node : path) {
 			field = field != null ? ( (DBObject) field).get( node ) : null;
@@ -75,7 +105,7 @@ public static Collection<DBObject> getAssociationFieldOrNull(AssociationKey key,
 	}
 
 	public static void addEmptyAssociationField(AssociationKey key, DBObject entity) {
-		String[] path = key.getCollectionRole().split( "\\." );
+		String[] path = getPath( key.getCollectionRole() );
 		Object field = entity;
 		int size = path.length;
 		for (int index = 0 ; index < size ; index++) {
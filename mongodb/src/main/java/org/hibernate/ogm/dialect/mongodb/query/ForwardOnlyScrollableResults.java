@@ -0,0 +1,260 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.dialect.mongodb.query;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.type.Type;
+
+/**
+ * {@link ScrollableResults} which streams the results of a query from an iterator, only moving forward. Rows are
+ * represented as arrays; query results which aren't arrays themselves, e.g. entities, make up a row of one column.
+ * The types of the columns are given by the creator of the results.
+ */
+public class ForwardOnlyScrollableResults implements ScrollableResults {
+
+	private final Iterator<?> results;
+	private final Closeable resource;
+	private final Type[] types;
+	private Object[] currentRow;
+	private int rowNumber = -1;
+
+	public ForwardOnlyScrollableResults(Iterator<?> results, Closeable resource, Type[] types) {
+		this.results = results;
+		this.resource = resource;
+		this.types = types;
+	}
+
+	@Override
+	public boolean next() {
+		if ( results.hasNext() ) {
+			Object next = results.next();
+			currentRow = next instanceof Object[] ? (Object[]) next : new Object[] { next };
+			rowNumber++;
+			return true;
+		}
+		currentRow = null;
+		return false;
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		if ( positions < 0 ) {
+			throw notForwardOnly();
+		}
+		boolean onRow = currentRow != null;
+		for ( int i = 0; i < positions; i++ ) {
+			onRow = next();
+			if ( !onRow ) {
+				break;
+			}
+		}
+		return onRow;
+	}
+
+	@Override
+	public boolean previous() {
+		throw notForwardOnly();
+	}
+
+	@Override
+	public boolean last() {
+		throw notForwardOnly();
+	}
+
+	@Override
+	public boolean first() {
+		throw notForwardOnly();
+	}
+
+	@Override
+	public void beforeFirst() {
+		throw notForwardOnly();
+	}
+
+	@Override
+	public void afterLast() {
+		throw notForwardOnly();
+	}
+
+	@Override
+	public boolean isFirst() {
+		return currentRow != null && rowNumber == 0;
+	}
+
+	@Override
+	public boolean isLast() {
+		return currentRow != null && !results.hasNext();
+	}
+
+	@Override
+	public int getRowNumber() {
+		return currentRow != null ? rowNumber : -1;
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		// negative row numbers are counted from the last row
+		if ( rowNumber < 0 || rowNumber < this.rowNumber ) {
+			throw notForwardOnly();
+		}
+		return scroll( rowNumber - this.rowNumber );
+	}
+
+	@Override
+	public void close() {
+		try {
+			resource.close();
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( "Unable to close the query results", e );
+		}
+	}
+
+	@Override
+	public Object[] get() {
+		return currentRow;
+	}
+
+	@Override
+	public Object get(int i) {
+		if ( currentRow == null ) {
+			throw new HibernateException( "Not positioned on a row" );
+		}
+		return currentRow[i];
+	}
+
+	@Override
+	public Type getType(int i) {
+		return types[i];
+	}
+
+	@Override
+	public Integer getInteger(int col) {
+		return (Integer) get( col );
+	}
+
+	@Override
+	public Long getLong(int col) {
+		return (Long) get( col );
+	}
+
+	@Override
+	public Float getFloat(int col) {
+		return (Float) get( col );
+	}
+
+	@Override
+	public Boolean getBoolean(int col) {
+		return (Boolean) get( col );
+	}
+
+	@Override
+	public Double getDouble(int col) {
+		return (Double) get( col );
+	}
+
+	@Override
+	public Short getShort(int col) {
+		return (Short) get( col );
+	}
+
+	@Override
+	public Byte getByte(int col) {
+		return (Byte) get( col );
+	}
+
+	@Override
+	public Character getCharacter(int col) {
+		return (Character) get( col );
+	}
+
+	@Override
+	public byte[] getBinary(int col) {
+		return (byte[]) get( col );
+	}
+
+	@Override
+	public String getText(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public Blob getBlob(int col) {
+		return (Blob) get( col );
+	}
+
+	@Override
+	public Clob getClob(int col) {
+		return (Clob) get( col );
+	}
+
+	@Override
+	public String getString(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int col) {
+		return (BigDecimal) get( col );
+	}
+
+	@Override
+	public BigInteger getBigInteger(int col) {
+		return (BigInteger) get( col );
+	}
+
+	@Override
+	public Date getDate(int col) {
+		return (Date) get( col );
+	}
+
+	@Override
+	public Locale getLocale(int col) {
+		return (Locale) get( col );
+	}
+
+	@Override
+	public Calendar getCalendar(int col) {
+		return (Calendar) get( col );
+	}
+
+	@Override
+	public TimeZone getTimeZone(int col) {
+		return (TimeZone) get( col );
+	}
+
+	private UnsupportedOperationException notForwardOnly() {
+		return new UnsupportedOperationException( "Only forward scrolling is supported" );
+	}
+}
@@ -20,8 +20,11 @@
  */
 package org.hibernate.ogm.dialect.mongodb.query;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -31,21 +34,26 @@
 import org.hibernate.Query;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.annotations.common.AssertionFailure;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.internal.AbstractQueryImpl;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBResultTupleIterable;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.mongodb.MongoDBDialect;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.hibernatecore.impl.OgmSession;
 import org.hibernate.ogm.loader.OgmLoader;
 import org.hibernate.ogm.loader.OgmLoadingContext;
 import org.hibernate.ogm.persister.OgmEntityPersister;
+import org.hibernate.type.StandardBasicTypes;
+import org.hibernate.type.Type;
 
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.ReadPreference;
 
 /**
  * Query implementation based on on MongoDB.
@@ -54,40 +62,73 @@
  */
 public class MongoDBQueryImpl extends AbstractQueryImpl {
 
+	private static final Closeable NO_RESOURCE = new Closeable() {
+
+		@Override
+		public void close() {
+		}
+	};
+
 	private final DBObject query;
 	private final MongoDBDatastoreProvider provider;
 	private final Class<?> entityType;
 	private final DBObject projections;
+	private final DBObject orderBy;
+	private final boolean countQuery;
 
-	public MongoDBQueryImpl(Class<?> entityType, DBObject query, DBObject projections, OgmSession session) {
+	public MongoDBQueryImpl(Class<?> entityType, DBObject query, DBObject projections, DBObject orderBy, boolean countQuery, OgmSession session) {
 		super( query.toString(), null, session, new ParameterMetadata( null, null ) );
 		this.query = query;
 		this.entityType = entityType;
 		this.projections = projections;
+		this.orderBy = orderBy;
+		this.countQuery = countQuery;
 		this.provider = (MongoDBDatastoreProvider) session.getSessionFactory().getServiceRegistry().getService( DatastoreProvider.class );
 	}
 
+	/**
+	 * Returns an iterator streaming the results from the underlying cursor; the cursor is closed once the last result
+	 * has been fetched.
+	 */
 	@Override
 	public Iterator<?> iterate() throws HibernateException {
+		if ( hasNoResults() ) {
+			return Collections.emptyList().iterator();
+		}
+		if ( countQuery ) {
+			return Collections.singletonList( count() ).iterator();
+		}
 		MongoDBResultTupleIterable resultsCursor = getResultsCursor();
 		return new ObjectLoadingIterator( resultsCursor );
 	}
 
 	@Override
 	public ScrollableResults scroll() throws HibernateException {
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		return scroll( ScrollMode.FORWARD_ONLY );
 	}
 
 	@Override
 	public ScrollableResults scroll(ScrollMode scrollMode) throws HibernateException {
-		throw new UnsupportedOperationException( "Not implemented yet" );
+		if ( scrollMode != ScrollMode.FORWARD_ONLY ) {
+			throw new UnsupportedOperationException( "Only scroll mode " + ScrollMode.FORWARD_ONLY + " is supported" );
+		}
+		Type[] resultTypes = getResultTypes();
+		if ( hasNoResults() ) {
+			return new ForwardOnlyScrollableResults( Collections.emptyList().iterator(), NO_RESOURCE, resultTypes );
+		}
+		if ( countQuery ) {
+			return new ForwardOnlyScrollableResults( Collections.singletonList( count() ).iterator(), NO_RESOURCE, resultTypes );
+		}
+		MongoDBResultTupleIterable resultsCursor = getResultsCursor();
+		return new ForwardOnlyScrollableResults( new ObjectLoadingIterator( resultsCursor ), resultsCursor, resultTypes );
 	}
 
 	@Override
 	public List<?> list() throws HibernateException {
 		Iterator<?> results = iterate();
 
-		List<Object> result = new ArrayList<Object>();
+		Integer maxResults = getMaxResults();
+		List<Object> result = maxResults != null ? new ArrayList<Object>( maxResults ) : new ArrayList<Object>();
 
 		while ( results.hasNext() ) {
 			result.add( results.next() );
@@ -96,6 +137,72 @@ public List<?> list() throws HibernateException {
 		return result;
 	}
 
+	/**
+	 * Whether the maximum number of results has been set to 0 or, for a count query, whether its single result row is
+	 * skipped. MongoDB treats a limit of 0 as no limit, so this is handled without going to the datastore.
+	 */
+	private boolean hasNoResults() {
+		if ( getMaxResults() != null && getMaxResults() == 0 ) {
+			return true;
+		}
+		return countQuery && getFirstResult() != null && getFirstResult() > 0;
+	}
+
+	/**
+	 * Counts the documents matching the query on the server side, without fetching them.
+	 */
+	private Long count() {
+		EntityKeyMetadata keyMetaData = getKeyMetaData( entityType );
+		DBCollection collection = provider.getDatabase().getCollection( keyMetaData.getTable() );
+
+		ReadPreference readPreference = provider.getReadPreference( keyMetaData.getTable() );
+		if ( readPreference != null ) {
+			return collection.count( query, readPreference );
+		}
+		else {
+			return collection.count( query );
+		}
+	}
+
+	/**
+	 * Returns the types of the columns of the result rows: the entity type, the types of the projected properties or
+	 * {@code long} for a count query.
+	 */
+	private Type[] getResultTypes() {
+		if ( countQuery ) {
+			return new Type[] { StandardBasicTypes.LONG };
+		}
+		OgmEntityPersister persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
+		if ( !isProjection() ) {
+			return new Type[] { session.getFactory().getTypeResolver().getTypeFactory().manyToOne( persister.getEntityName() ) };
+		}
+
+		Type[] types = new Type[projections.keySet().size()];
+		int i = 0;
+		for ( String column : projections.keySet() ) {
+			types[i] = getProjectionType( persister, column );
+			i++;
+		}
+		return types;
+	}
+
+	/**
+	 * Returns the type of the property mapped to the given projected column; projections refer to the identifier or
+	 * to the first column of a property.
+	 */
+	private Type getProjectionType(OgmEntityPersister persister, String column) {
+		if ( column.equals( MongoDBDialect.ID_FIELDNAME ) ) {
+			return persister.getIdentifierType();
+		}
+		for ( int i = 0; i < persister.getPropertyTypes().length; i++ ) {
+			String[] columnNames = persister.getPropertyColumnNames( i );
+			if ( columnNames.length > 0 && columnNames[0].equals( column ) ) {
+				return persister.getPropertyTypes()[i];
+			}
+		}
+		throw new AssertionFailure( "No property mapped to projected column " + column + " of entity " + entityType.getName() );
+	}
+
 	private boolean isProjection() {
 		return !projections.keySet().isEmpty();
 	}
@@ -126,9 +233,35 @@ private MongoDBResultTupleIterable getResultsCursor() {
 
 		DBCursor cursor = isProjection() ? collection.find( query, projections ) : collection.find( query );
 
+		ReadPreference readPreference = provider.getReadPreference( keyMetaData.getTable() );
+		if ( readPreference != null ) {
+			cursor.setReadPreference( readPreference );
+		}
+		if ( orderBy != null ) {
+			cursor.sort( orderBy );
+		}
+		if ( getFirstResult() != null && getFirstResult() > 0 ) {
+			cursor.skip( getFirstResult() );
+		}
+		if ( getMaxResults() != null && getMaxResults() > 0 ) {
+			cursor.limit( getMaxResults() );
+		}
+		if ( getFetchSize() != null && getFetchSize() > 0 ) {
+			cursor.batchSize( getFetchSize() );
+		}
+
 		return new MongoDBResultTupleIterable( cursor, keyMetaData );
 	}
 
+	private static void closeCursor(MongoDBResultTupleIterable resultsCursor) {
+		try {
+			resultsCursor.close();
+		}
+		catch ( IOException e ) {
+			throw new HibernateException( "Unable to close the query results", e );
+		}
+	}
+
 	private EntityKeyMetadata getKeyMetaData(Class<?> entityType) {
 		OgmEntityPersister persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
 		return new EntityKeyMetadata( persister.getTableName(), persister.getRootTableIdentifierColumnNames() );
@@ -136,15 +269,23 @@ private EntityKeyMetadata getKeyMetaData(Class<?> entityType) {
 
 	private class ObjectLoadingIterator implements Iterator<Object> {
 
+		private final MongoDBResultTupleIterable resultsCursor;
 		private final Iterator<Tuple> resultIterator;
+		private final OgmEntityPersister persister;
 
 		private ObjectLoadingIterator(MongoDBResultTupleIterable resultsCursor) {
-			resultIterator = resultsCursor.iterator();
+			this.resultsCursor = resultsCursor;
+			this.resultIterator = resultsCursor.iterator();
+			this.persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
 		}
 
 		@Override
 		public boolean hasNext() {
-			return resultIterator.hasNext();
+			boolean hasNext = resultIterator.hasNext();
+			if ( !hasNext ) {
+				closeCursor( resultsCursor );
+			}
+			return hasNext;
 		}
 
 		@Override
@@ -165,7 +306,6 @@ public void remove() {
 		}
 
 		private Object getAsManagedEntity(Tuple tuple) {
-			OgmEntityPersister persister = (OgmEntityPersister) ( session.getFactory() ).getEntityPersister( entityType.getName() );
 			OgmLoader loader = new OgmLoader( new OgmEntityPersister[] { persister } );
 			OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
 			ogmLoadingContext.setTuples( Arrays.asList( tuple ) );
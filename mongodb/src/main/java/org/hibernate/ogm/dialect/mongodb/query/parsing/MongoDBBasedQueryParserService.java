@@ -20,7 +20,12 @@
  */
 package org.hibernate.ogm.dialect.mongodb.query.parsing;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
@@ -28,34 +33,154 @@
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.QueryParser;
 import org.hibernate.hql.ast.spi.EntityNamesResolver;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
 import org.hibernate.ogm.dialect.mongodb.query.MongoDBQueryImpl;
 import org.hibernate.ogm.hibernatecore.impl.OgmSession;
 import org.hibernate.ogm.logging.mongodb.impl.Log;
 import org.hibernate.ogm.logging.mongodb.impl.LoggerFactory;
 import org.hibernate.ogm.service.impl.BaseQueryParserService;
 import org.hibernate.ogm.service.impl.SessionFactoryEntityNamesResolver;
+import org.hibernate.service.spi.ServiceRegistryAwareService;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
 
 /**
  * {@link org.hibernate.ogm.service.impl.QueryParserService} implementation which creates MongoDB queries in form of
  * {@link com.mongodb.DBObject}s.
+ * <p>
+ * Parsed queries are kept in a bounded LRU cache keyed by query string (see
+ * {@link org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment#MONGODB_QUERY_CACHE_SIZE}). Named
+ * parameters are represented by placeholders within the cached query, which are replaced by the actual parameter
+ * values upon each execution.
+ * <p>
+ * Queries of the form {@code select count(...) from ...} are executed as count of the matching documents on the
+ * server side. As the underlying parser doesn't support aggregate functions, such queries are detected upfront and the
+ * query is parsed without the aggregation, with the counted property (if any) as projection.
  *
  * @author Gunnar Morling
  */
-public class MongoDBBasedQueryParserService extends BaseQueryParserService {
+public class MongoDBBasedQueryParserService extends BaseQueryParserService implements ServiceRegistryAwareService {
 
 	private static final Log log = LoggerFactory.getLogger();
 
+	/**
+	 * Matches {@code select count(*)}, {@code select count(alias)} and {@code select count(property path)} queries;
+	 * group 1 is the counted expression and group 2 the remainder of the query, starting with the {@code from}
+	 * clause.
+	 */
+	private static final Pattern COUNT_QUERY_PATTERN = Pattern.compile(
+			"\\s*select\\s+count\\s*\\(\\s*([^)\\s]+)\\s*\\)\\s+(from\\s.*)",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+	);
+
 	private volatile SessionFactoryEntityNamesResolver entityNamesResolver;
 
+	/**
+	 * Parsed queries by query string; {@code null} if caching is disabled.
+	 */
+	private Map<String, CachedQuery> queryCache;
+
+	@Override
+	public void injectServices(ServiceRegistryImplementor serviceRegistry) {
+		MongoDBDatastoreProvider provider = (MongoDBDatastoreProvider) serviceRegistry.getService( DatastoreProvider.class );
+		int queryCacheSize = provider.getQueryCacheSize();
+
+		if ( queryCacheSize > 0 ) {
+			queryCache = new BoundedConcurrentHashMap<String, CachedQuery>(
+					queryCacheSize,
+					20,
+					BoundedConcurrentHashMap.Eviction.LRU
+			);
+		}
+	}
+
 	@Override
 	public Query getParsedQueryExecutor(OgmSession session, String queryString, Map<String, Object> namedParameters) {
-		QueryParser queryParser = new QueryParser();
-		MongoDBProcessingChain processingChain = createProcessingChain( session, unwrap( namedParameters ) );
+		Map<String, Object> parameterValues = unwrap( namedParameters );
+		MongoDBQueryParsingResult result;
+
+		if ( queryCache == null ) {
+			result = parseQuery( session, queryString, parameterValues );
+		}
+		else {
+			CachedQuery cachedQuery = queryCache.get( queryString );
+
+			if ( cachedQuery == null ) {
+				cachedQuery = createCachedQuery( session, queryString, parameterValues.keySet() );
+				queryCache.put( queryString, cachedQuery );
+			}
+
+			result = cachedQuery.isTemplate() ?
+					cachedQuery.getTemplate().bindParameters( parameterValues ) :
+					parseQuery( session, queryString, parameterValues );
+		}
 
-		MongoDBQueryParsingResult result = queryParser.parseQuery( queryString, processingChain );
 		log.createdQuery( queryString, result );
 
-		return new MongoDBQueryImpl( result.getEntityType(), result.getQuery(), result.getProjection(), session );
+		return new MongoDBQueryImpl(
+				result.getEntityType(),
+				result.getQuery(),
+				result.getProjection(),
+				result.getOrderBy(),
+				result.isCountQuery(),
+				session
+		);
+	}
+
+	/**
+	 * Parses the given query using placeholders instead of the values of the given named parameters. If the
+	 * placeholders can't be carried over unchanged into the resulting query (e.g. when used as {@code LIKE} pattern),
+	 * the query will be parsed again upon each execution.
+	 */
+	private CachedQuery createCachedQuery(Session session, String queryString, Set<String> parameterNames) {
+		Map<String, Object> placeholders = new HashMap<String, Object>( parameterNames.size() );
+		for ( String parameterName : parameterNames ) {
+			placeholders.put( parameterName, new NamedParameterPlaceholder( parameterName ) );
+		}
+
+		MongoDBQueryParsingResult template;
+		try {
+			template = parseQuery( session, queryString, placeholders );
+		}
+		// the parser expects a specific type for some parameters, e.g. a String as LIKE pattern
+		catch (ClassCastException e) {
+			log.queryNotTemplatable( queryString, e );
+			return CachedQuery.NO_TEMPLATE;
+		}
+		// a placeholder can't be converted into the type of the compared property
+		catch (IllegalArgumentException e) {
+			log.queryNotTemplatable( queryString, e );
+			return CachedQuery.NO_TEMPLATE;
+		}
+
+		Set<String> boundParameterNames = new HashSet<String>( parameterNames.size() );
+		template.collectParameterNames( boundParameterNames );
+
+		return boundParameterNames.equals( parameterNames ) ? new CachedQuery( template ) : CachedQuery.NO_TEMPLATE;
+	}
+
+	private MongoDBQueryParsingResult parseQuery(Session session, String queryString, Map<String, Object> namedParameters) {
+		Matcher countQuery = COUNT_QUERY_PATTERN.matcher( queryString );
+
+		if ( countQuery.matches() ) {
+			String countedExpression = countQuery.group( 1 );
+			String entityQuery = countedExpression.equals( "*" ) ?
+					countQuery.group( 2 ) :
+					"select " + countedExpression + " " + countQuery.group( 2 );
+
+			return parseEntityQuery( session, entityQuery, namedParameters ).asCountQuery();
+		}
+		else {
+			return parseEntityQuery( session, queryString, namedParameters );
+		}
+	}
+
+	private MongoDBQueryParsingResult parseEntityQuery(Session session, String queryString, Map<String, Object> namedParameters) {
+		QueryParser queryParser = new QueryParser();
+		MongoDBProcessingChain processingChain = createProcessingChain( session, namedParameters );
+
+		return queryParser.parseQuery( queryString, processingChain );
 	}
 
 	private MongoDBProcessingChain createProcessingChain(Session session, Map<String, Object> namedParameters) {
@@ -73,4 +198,27 @@ private EntityNamesResolver getDefinedEntityNames(SessionFactory sessionFactory)
 		}
 		return entityNamesResolver;
 	}
+
+	/**
+	 * A cached query, either holding a re-usable template or marking a query which needs to be parsed upon each
+	 * execution.
+	 */
+	private static class CachedQuery {
+
+		private static final CachedQuery NO_TEMPLATE = new CachedQuery( null );
+
+		private final MongoDBQueryParsingResult template;
+
+		private CachedQuery(MongoDBQueryParsingResult template) {
+			this.template = template;
+		}
+
+		public boolean isTemplate() {
+			return template != null;
+		}
+
+		public MongoDBQueryParsingResult getTemplate() {
+			return template;
+		}
+	}
 }
@@ -20,6 +20,13 @@
  */
 package org.hibernate.ogm.dialect.mongodb.query.parsing;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 
 /**
@@ -32,11 +39,19 @@ public class MongoDBQueryParsingResult {
 	private final Class<?> entityType;
 	private final DBObject query;
 	private final DBObject projection;
+	private final DBObject orderBy;
+	private final boolean countQuery;
+
+	public MongoDBQueryParsingResult(Class<?> entityType, DBObject query, DBObject projection, DBObject orderBy) {
+		this( entityType, query, projection, orderBy, false );
+	}
 
-	public MongoDBQueryParsingResult(Class<?> entityType, DBObject query, DBObject projection) {
+	private MongoDBQueryParsingResult(Class<?> entityType, DBObject query, DBObject projection, DBObject orderBy, boolean countQuery) {
 		this.entityType = entityType;
 		this.query = query;
 		this.projection = projection;
+		this.orderBy = orderBy;
+		this.countQuery = countQuery;
 	}
 
 	/**
@@ -60,8 +75,120 @@ public DBObject getProjection() {
 		return projection;
 	}
 
+	/**
+	 * @return the sort order or {@code null} if the query doesn't specify any
+	 */
+	public DBObject getOrderBy() {
+		return orderBy;
+	}
+
+	/**
+	 * @return whether this result represents a query counting the matching documents rather than returning them
+	 */
+	public boolean isCountQuery() {
+		return countQuery;
+	}
+
+	/**
+	 * Returns a result counting the documents matching this result's query. If this result has a projection on a
+	 * single property, only the documents with a non-null value for that property are counted, as done by
+	 * {@code count(property)}.
+	 *
+	 * @return a count query based on this result
+	 */
+	public MongoDBQueryParsingResult asCountQuery() {
+		DBObject countQuery = query;
+
+		if ( !projection.keySet().isEmpty() ) {
+			String countedColumn = projection.keySet().iterator().next();
+			DBObject notNull = new BasicDBObject( countedColumn, new BasicDBObject( "$ne", null ) );
+
+			if ( query.keySet().isEmpty() ) {
+				countQuery = notNull;
+			}
+			else {
+				BasicDBList conjunction = new BasicDBList();
+				conjunction.add( query );
+				conjunction.add( notNull );
+				countQuery = new BasicDBObject( "$and", conjunction );
+			}
+		}
+
+		return new MongoDBQueryParsingResult( entityType, countQuery, new BasicDBObject(), null, true );
+	}
+
+	/**
+	 * Returns a copy of this result, with the placeholders of named parameters in the query replaced by the given
+	 * parameter values. This result itself is not altered, allowing to use it as a template for several executions
+	 * of the same query.
+	 *
+	 * @param namedParameters the values of the named parameters of the query
+	 * @return a result with the given parameter values bound
+	 */
+	public MongoDBQueryParsingResult bindParameters(Map<String, Object> namedParameters) {
+		return new MongoDBQueryParsingResult( entityType, (DBObject) bind( query, namedParameters ), projection, orderBy, countQuery );
+	}
+
+	/**
+	 * Collects the names of the parameter placeholders contained in the query of this result.
+	 *
+	 * @param parameterNames the set to add the parameter names to
+	 */
+	void collectParameterNames(Set<String> parameterNames) {
+		collectParameterNames( query, parameterNames );
+	}
+
+	private static Object bind(Object value, Map<String, Object> namedParameters) {
+		if ( value instanceof NamedParameterPlaceholder ) {
+			return namedParameters.get( ( (NamedParameterPlaceholder) value ).getName() );
+		}
+		else if ( value instanceof BasicDBList ) {
+			BasicDBList bound = new BasicDBList();
+			for ( Object element : (BasicDBList) value ) {
+				bound.add( bind( element, namedParameters ) );
+			}
+			return bound;
+		}
+		else if ( value instanceof List ) {
+			List<?> elements = (List<?>) value;
+			List<Object> bound = new ArrayList<Object>( elements.size() );
+			for ( Object element : elements ) {
+				bound.add( bind( element, namedParameters ) );
+			}
+			return bound;
+		}
+		else if ( value instanceof DBObject ) {
+			DBObject dbObject = (DBObject) value;
+			DBObject bound = new BasicDBObject();
+			for ( String key : dbObject.keySet() ) {
+				bound.put( key, bind( dbObject.get( key ), namedParameters ) );
+			}
+			return bound;
+		}
+		else {
+			return value;
+		}
+	}
+
+	private static void collectParameterNames(Object value, Set<String> parameterNames) {
+		if ( value instanceof NamedParameterPlaceholder ) {
+			parameterNames.add( ( (NamedParameterPlaceholder) value ).getName() );
+		}
+		else if ( value instanceof List ) {
+			for ( Object element : (List<?>) value ) {
+				collectParameterNames( element, parameterNames );
+			}
+		}
+		else if ( value instanceof DBObject ) {
+			DBObject dbObject = (DBObject) value;
+			for ( String key : dbObject.keySet() ) {
+				collectParameterNames( dbObject.get( key ), parameterNames );
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
-		return "MongoDBQueryParsingResult [entityType=" + entityType.getSimpleName() + ", query=" + query + ", projection=" + projection + "]";
+		return "MongoDBQueryParsingResult [entityType=" + entityType.getSimpleName() + ", query=" + query + ", projection=" + projection + ", orderBy=" + orderBy + ", countQuery=" + countQuery + "]";
 	}
 }
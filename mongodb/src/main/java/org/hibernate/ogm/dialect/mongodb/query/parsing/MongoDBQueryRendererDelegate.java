@@ -38,6 +38,7 @@
 public class MongoDBQueryRendererDelegate extends SingleEntityQueryRendererDelegate<DBObject, MongoDBQueryParsingResult> {
 
 	private final MongoDBPropertyHelper propertyHelper;
+	private DBObject orderBy;
 
 	public MongoDBQueryRendererDelegate(EntityNamesResolver entityNames, MongoDBPropertyHelper propertyHelper, Map<String, Object> namedParameters) {
 		super(
@@ -50,7 +51,7 @@ public MongoDBQueryRendererDelegate(EntityNamesResolver entityNames, MongoDBProp
 
 	@Override
 	public MongoDBQueryParsingResult getResult() {
-		return new MongoDBQueryParsingResult( targetType, builder.build(), getProjectionDBObject() );
+		return new MongoDBQueryParsingResult( targetType, builder.build(), getProjectionDBObject(), orderBy );
 	}
 
 	@Override
@@ -70,6 +71,16 @@ else if ( propertyPath.getNodes().size() != 1 ) {
 		}
 	}
 
+	@Override
+	public void sortSpecification(String collateName, String orderSpec) {
+		if ( orderBy == null ) {
+			orderBy = new BasicDBObject();
+		}
+		String columnName = propertyHelper.getColumnName( targetTypeName, propertyPath.asStringPathWithoutAlias() );
+		boolean descending = orderSpec != null && orderSpec.equalsIgnoreCase( "desc" );
+		orderBy.put( columnName, descending ? -1 : 1 );
+	}
+
 	/**
 	 * Returns the projection columns of the parsed query in form of a {@code DBObject} as expected by MongoDB.
 	 *
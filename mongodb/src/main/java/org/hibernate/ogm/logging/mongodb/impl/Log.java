@@ -20,6 +20,7 @@
  */
 package org.hibernate.ogm.logging.mongodb.impl;
 
+import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.TRACE;
 
@@ -30,6 +31,7 @@
 import org.jboss.logging.Message;
 import org.jboss.logging.MessageLogger;
 
+import com.mongodb.DBObject;
 import com.mongodb.MongoException;
 
 /**
@@ -97,4 +99,36 @@ public interface Log extends org.hibernate.ogm.util.impl.Log {
 	@Message(id = 1217, value = "The result of a native query in MongoDB must be mapped by an entity")
 	HibernateException requireMetadatas();
 
+	@Message(id = 1218, value = "The value set for the configuration property '" + Environment.MONGODB_BATCH_SIZE + "' must be a number greater than 0. Found '[%s]'.")
+	HibernateException mongoDBBatchSizeIllegalValue(String value);
+
+	@Message(id = 1219, value = "Unable to insert entity %2$s into collection [%1$s]")
+	HibernateException unableToInsertEntity(String collection, String entityKey, @Cause MongoException e);
+
+	@Message(id = 1220, value = "Unable to remove the batch of entities %2$s from collection [%1$s]")
+	HibernateException unableToRemoveEntities(String collection, String entityKeys, @Cause MongoException e);
+
+	@Message(id = 1221, value = "The value set for the configuration property '" + Environment.MONGODB_QUERY_CACHE_SIZE + "' must be a number greater than or equal to 0. Found '[%s]'.")
+	HibernateException mongoDBQueryCacheSizeIllegalValue(String value);
+
+	@Message(id = 1222, value = "Unknown index management strategy: [%s]. Supported values in enum %s" )
+	HibernateException unknownIndexManagementStrategy(String indexManagement, Class<?> enumType);
+
+	@LogMessage(level = DEBUG)
+	@Message(id = 1223, value = "Ensuring index %2$s exists on collection [%1$s]")
+	void creatingIndex(String collection, DBObject keys);
+
+	@Message(id = 1224, value = "The following indexes derived from the mapping don't exist in the database: %s")
+	HibernateException missingIndexes(String indexes);
+
+	@Message(id = 1225, value = "Unknown read preference: [%s]. Supported values in enum %s" )
+	HibernateException unknownReadPreference(String readPreference, Class<?> enumType);
+
+	@Message(id = 1226, value = "The value set for the configuration property '%1$s' must be a number greater than or equal to %2$d. Found '[%3$s]'.")
+	HibernateException illegalIntegerValue(String property, int minValue, String value);
+
+	@LogMessage(level = DEBUG)
+	@Message(id = 1227, value = "Query [%s] can't be cached as template as its parameters can't be represented by placeholders, it will be parsed upon each execution")
+	void queryNotTemplatable(String query, @Cause RuntimeException e);
+
 }
@@ -20,7 +20,9 @@
  */
 package org.hibernate.ogm.options.mongodb.mapping.impl;
 
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
 import org.hibernate.ogm.datastore.mongodb.WriteConcernType;
+import org.hibernate.ogm.options.mongodb.ReadPreferenceOption;
 import org.hibernate.ogm.options.mongodb.WriteConcernOption;
 import org.hibernate.ogm.options.mongodb.mapping.spi.MongoDBEntityContext;
 import org.hibernate.ogm.options.navigation.impl.BaseEntityContext;
@@ -40,4 +42,10 @@ public MongoDBEntityContext writeConcern(WriteConcernType concern) {
 		addEntityOption( new WriteConcernOption(), concern );
 		return this;
 	}
+
+	@Override
+	public MongoDBEntityContext readPreference(ReadPreferenceType readPreference) {
+		addEntityOption( new ReadPreferenceOption(), readPreference );
+		return this;
+	}
 }
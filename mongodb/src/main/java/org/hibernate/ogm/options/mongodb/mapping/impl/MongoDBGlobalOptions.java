@@ -20,7 +20,9 @@
  */
 package org.hibernate.ogm.options.mongodb.mapping.impl;
 
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
 import org.hibernate.ogm.datastore.mongodb.WriteConcernType;
+import org.hibernate.ogm.options.mongodb.ReadPreferenceOption;
 import org.hibernate.ogm.options.mongodb.WriteConcernOption;
 import org.hibernate.ogm.options.mongodb.mapping.spi.MongoDBGlobalContext;
 import org.hibernate.ogm.options.navigation.impl.BaseGlobalContext;
@@ -41,4 +43,10 @@ public MongoDBGlobalContext writeConcern(WriteConcernType concern) {
 		addGlobalOption( new WriteConcernOption(), concern );
 		return this;
 	}
+
+	@Override
+	public MongoDBGlobalContext readPreference(ReadPreferenceType readPreference) {
+		addGlobalOption( new ReadPreferenceOption(), readPreference );
+		return this;
+	}
 }
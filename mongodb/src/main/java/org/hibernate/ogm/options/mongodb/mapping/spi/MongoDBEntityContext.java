@@ -20,6 +20,7 @@
  */
 package org.hibernate.ogm.options.mongodb.mapping.spi;
 
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
 import org.hibernate.ogm.datastore.mongodb.WriteConcernType;
 import org.hibernate.ogm.options.navigation.context.EntityContext;
 
@@ -30,4 +31,6 @@ public interface MongoDBEntityContext extends EntityContext<MongoDBEntityContext
 
 	MongoDBEntityContext writeConcern(WriteConcernType concern);
 
+	MongoDBEntityContext readPreference(ReadPreferenceType readPreference);
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.associations;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.datastore.impl.EmptyTupleSnapshot;
+import org.hibernate.ogm.datastore.mongodb.AssociationStorageType;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.AssociationKeyMetadata;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.grid.RowKey;
+import org.hibernate.ogm.test.associations.manytoone.SalesForce;
+import org.hibernate.ogm.test.associations.manytoone.SalesGuy;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Test for maintaining the inverse side of an association embedded in the entity document without reading it.
+ */
+public class BlindAssociationUpdateInEntityTest extends OgmTestCase {
+
+	@Test
+	public void shouldAddAndRemoveRowsOfInverseSide() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		SalesForce force = new SalesForce();
+		force.setCorporation( "Red Hat" );
+		session.save( force );
+		SalesGuy eric = new SalesGuy();
+		eric.setName( "Eric" );
+		eric.setSalesForce( force );
+		session.save( eric );
+		SalesGuy simon = new SalesGuy();
+		simon.setName( "Simon" );
+		simon.setSalesForce( force );
+		session.save( simon );
+		transaction.commit();
+		session.clear();
+
+		assertThat( getSalesGuyRows( force.getId() ) ).hasSize( 2 );
+
+		transaction = session.beginTransaction();
+		session.delete( session.get( SalesGuy.class, eric.getId() ) );
+		transaction.commit();
+		session.clear();
+
+		List<?> rows = getSalesGuyRows( force.getId() );
+		assertThat( rows ).hasSize( 1 );
+		assertThat( ( (DBObject) rows.get( 0 ) ).get( "id" ) ).isEqualTo( simon.getId() );
+
+		transaction = session.beginTransaction();
+		session.delete( session.get( SalesGuy.class, simon.getId() ) );
+		transaction.commit();
+		session.clear();
+
+		assertThat( getSalesGuyRows( force.getId() ) ).isNull();
+
+		transaction = session.beginTransaction();
+		session.delete( session.get( SalesForce.class, force.getId() ) );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldReplaceRowOfUnloadedAssociation() throws Exception {
+		GridDialect gridDialect = ( (DatastoreServices) sfi().getServiceRegistry().getService( DatastoreServices.class ) ).getGridDialect();
+		AssociationKeyMetadata metadata = new AssociationKeyMetadata( "SalesGuy", new String[] { "salesForce_id" } );
+		metadata.setRowKeyColumnNames( new String[] { "salesForce_id", "id" } );
+		AssociationKey associationKey = new AssociationKey( metadata, new Object[] { "force-1" } );
+		associationKey.setCollectionRole( "salesGuys" );
+		associationKey.setOwnerEntityKey( new EntityKey( new EntityKeyMetadata( "SalesForce", new String[] { "id" } ), new Object[] { "force-1" } ) );
+		AssociationContext associationContext = new AssociationContext( Arrays.asList( metadata.getRowKeyColumnNames() ) );
+		RowKey rowKey = new RowKey( "SalesGuy", metadata.getRowKeyColumnNames(), new Object[] { "force-1", "guy-1" } );
+
+		Association association = gridDialect.getAssociationForBlindUpdate( associationKey, associationContext );
+		association.put( rowKey, createRow( "guy-1", "Eric" ) );
+		gridDialect.updateAssociation( association, associationKey );
+
+		association = gridDialect.getAssociationForBlindUpdate( associationKey, associationContext );
+		association.put( rowKey, createRow( "guy-1", "Emmanuel" ) );
+		gridDialect.updateAssociation( association, associationKey );
+
+		List<?> rows = getSalesGuyRows( "force-1" );
+		assertThat( rows ).hasSize( 1 );
+		assertThat( ( (DBObject) rows.get( 0 ) ).get( "name" ) ).isEqualTo( "Emmanuel" );
+
+		gridDialect.removeTuple( associationKey.getEntityKey() );
+	}
+
+	private Tuple createRow(String id, String name) {
+		Tuple row = new Tuple( EmptyTupleSnapshot.SINGLETON );
+		row.put( "salesForce_id", "force-1" );
+		row.put( "id", id );
+		row.put( "name", name );
+		return row;
+	}
+
+	private List<?> getSalesGuyRows(String salesForceId) {
+		MongoDBDatastoreProvider provider = (MongoDBDatastoreProvider) sfi().getServiceRegistry().getService( DatastoreProvider.class );
+		DBObject salesForce = provider.getDatabase().getCollection( "SalesForce" ).findOne( new BasicDBObject( "_id", salesForceId ) );
+		return (List<?>) salesForce.get( "salesGuys" );
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty(
+				Environment.MONGODB_ASSOCIATIONS_STORE,
+				AssociationStorageType.IN_ENTITY.toString().toLowerCase()
+		);
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { SalesForce.class, SalesGuy.class };
+	}
+}
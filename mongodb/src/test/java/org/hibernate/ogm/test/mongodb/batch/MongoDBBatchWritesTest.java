@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.batch;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmConfiguration;
+import org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment;
+import org.hibernate.ogm.test.associations.collection.unidirectional.Cloud;
+import org.hibernate.ogm.test.associations.collection.unidirectional.SnowFlake;
+import org.hibernate.ogm.test.mongodb.query.Hypothesis;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test for the batched insertion and removal of entities with MongoDB.
+ */
+public class MongoDBBatchWritesTest extends OgmTestCase {
+
+	private static final int NUMBER_OF_ENTITIES = 10;
+
+	@Test
+	public void shouldInsertAndRemoveEntitiesInBatches() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_ENTITIES; i++ ) {
+			Hypothesis hypothesis = new Hypothesis( "hypothesis-" + i );
+			hypothesis.setDescription( "Description " + i );
+			hypothesis.setPosition( i );
+			session.persist( hypothesis );
+		}
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_ENTITIES; i++ ) {
+			Hypothesis hypothesis = (Hypothesis) session.get( Hypothesis.class, "hypothesis-" + i );
+			assertThat( hypothesis ).isNotNull();
+			assertThat( hypothesis.getDescription() ).isEqualTo( "Description " + i );
+			assertThat( hypothesis.getPosition() ).isEqualTo( i );
+			session.delete( hypothesis );
+		}
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_ENTITIES; i++ ) {
+			assertThat( session.get( Hypothesis.class, "hypothesis-" + i ) ).isNull();
+		}
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Test
+	public void shouldInsertAndRemoveEntitiesWithEmbeddedAssociationInBatches() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		List<String> cloudIds = new ArrayList<String>();
+		for ( int i = 0; i < NUMBER_OF_ENTITIES; i++ ) {
+			Cloud cloud = new Cloud();
+			cloud.setType( "cumulus-" + i );
+			for ( int j = 0; j < 2; j++ ) {
+				SnowFlake snowFlake = new SnowFlake();
+				snowFlake.setDescription( "Snowflake " + i + "-" + j );
+				session.persist( snowFlake );
+				cloud.getProducedSnowFlakes().add( snowFlake );
+			}
+			session.persist( cloud );
+			cloudIds.add( cloud.getId() );
+		}
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		for ( int i = 0; i < NUMBER_OF_ENTITIES; i++ ) {
+			Cloud cloud = (Cloud) session.get( Cloud.class, cloudIds.get( i ) );
+			assertThat( cloud ).isNotNull();
+			assertThat( cloud.getType() ).isEqualTo( "cumulus-" + i );
+			assertThat( cloud.getProducedSnowFlakes() ).hasSize( 2 );
+			for ( SnowFlake snowFlake : cloud.getProducedSnowFlakes() ) {
+				assertThat( snowFlake.getDescription() ).startsWith( "Snowflake " + i + "-" );
+				session.delete( snowFlake );
+			}
+			cloud.getProducedSnowFlakes().clear();
+			session.delete( cloud );
+		}
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		for ( String cloudId : cloudIds ) {
+			assertThat( session.get( Cloud.class, cloudId ) ).isNull();
+		}
+		transaction.commit();
+		session.close();
+
+		checkCleanCache();
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( OgmConfiguration.OGM_BATCH_OPERATIONS, "true" );
+		cfg.setProperty( Environment.MONGODB_BATCH_SIZE, "3" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class, Cloud.class, SnowFlake.class };
+	}
+}
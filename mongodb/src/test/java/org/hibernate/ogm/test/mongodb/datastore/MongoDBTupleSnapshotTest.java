@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.datastore;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.ogm.dialect.mongodb.MongoDBTupleSnapshot;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Test for reading simple and embedded columns from a {@link MongoDBTupleSnapshot}.
+ */
+public class MongoDBTupleSnapshotTest {
+
+	@Test
+	public void shouldReadSimpleAndEmbeddedColumns() {
+		DBObject address = new BasicDBObject( "city", "Paris" ).append( "geo", new BasicDBObject( "lat", 48.85 ) );
+		DBObject document = new BasicDBObject( "_id", 1 ).append( "name", "Bob" ).append( "address", address );
+
+		MongoDBTupleSnapshot snapshot = new MongoDBTupleSnapshot( document, entityKey() );
+
+		assertThat( snapshot.get( "name" ) ).isEqualTo( "Bob" );
+		assertThat( snapshot.get( "address.city" ) ).isEqualTo( "Paris" );
+		assertThat( snapshot.get( "address.geo.lat" ) ).isEqualTo( 48.85 );
+		assertThat( snapshot.get( "address.street" ) ).isNull();
+		assertThat( snapshot.get( "phone.number" ) ).isNull();
+		assertThat( snapshot.get( "name.first" ) ).isNull();
+		assertThat( snapshot.getColumnNames() ).containsOnly( "_id", "name", "address" );
+	}
+
+	private EntityKey entityKey() {
+		return new EntityKey( new EntityKeyMetadata( "Person", new String[] { "_id" } ), new Object[] { 1 } );
+	}
+}
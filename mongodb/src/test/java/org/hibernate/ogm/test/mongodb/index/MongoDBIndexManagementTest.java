@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.index;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.ogm.cfg.OgmConfiguration;
+import org.hibernate.ogm.datastore.mongodb.IndexManagementType;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBIndexManager;
+import org.hibernate.ogm.datastore.mongodb.impl.configuration.Environment;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * Test for the creation and validation of the indexes derived from the mapping.
+ */
+public class MongoDBIndexManagementTest extends OgmTestCase {
+
+	@Rule
+	public ExpectedException error = ExpectedException.none();
+
+	@Override
+	protected void configure(Configuration cfg) {
+		cfg.setProperty( Environment.MONGODB_INDEX_MANAGEMENT, IndexManagementType.CREATE.name().toLowerCase() );
+	}
+
+	@Test
+	public void shouldCreateIndexesUponStartUp() throws Exception {
+		List<DBObject> indexes = getPoemCollection().getIndexInfo();
+
+		assertThat( getIndexedFields( indexes, true ) ).contains( "name" );
+		assertThat( getIndexedFields( indexes, false ) ).contains( "author" );
+	}
+
+	@Test
+	public void shouldValidateExistingIndexes() throws Exception {
+		new MongoDBIndexManager( getDatabase() ).validateIndexes( getMapping() );
+	}
+
+	@Test
+	public void shouldRaiseExceptionForMissingIndexUponValidation() throws Exception {
+		DBCollection poems = getPoemCollection();
+		poems.dropIndex( new BasicDBObject( "author", 1 ) );
+
+		try {
+			error.expect( HibernateException.class );
+			error.expectMessage( "OGM001224" );
+			new MongoDBIndexManager( getDatabase() ).validateIndexes( getMapping() );
+		}
+		finally {
+			poems.ensureIndex( new BasicDBObject( "author", 1 ) );
+		}
+	}
+
+	private List<String> getIndexedFields(List<DBObject> indexes, boolean unique) {
+		List<String> fields = new ArrayList<String>();
+		for ( DBObject index : indexes ) {
+			if ( !unique || Boolean.TRUE.equals( index.get( "unique" ) ) ) {
+				fields.addAll( ( (DBObject) index.get( "key" ) ).keySet() );
+			}
+		}
+		return fields;
+	}
+
+	private Configuration getMapping() {
+		Configuration mapping = new OgmConfiguration().addAnnotatedClass( Poem.class );
+		mapping.buildMappings();
+		return mapping;
+	}
+
+	private DBCollection getPoemCollection() {
+		return getDatabase().getCollection( "Poem" );
+	}
+
+	private DB getDatabase() {
+		return ( (MongoDBDatastoreProvider) sfi().getServiceRegistry().getService( DatastoreProvider.class ) ).getDatabase();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Poem.class };
+	}
+}
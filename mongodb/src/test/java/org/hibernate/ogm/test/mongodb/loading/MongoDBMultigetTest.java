@@ -0,0 +1,156 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.loading;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.datastore.impl.DatastoreServices;
+import org.hibernate.ogm.datastore.spi.Association;
+import org.hibernate.ogm.datastore.spi.AssociationContext;
+import org.hibernate.ogm.datastore.spi.Tuple;
+import org.hibernate.ogm.datastore.spi.TupleContext;
+import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.grid.AssociationKey;
+import org.hibernate.ogm.grid.AssociationKeyMetadata;
+import org.hibernate.ogm.grid.AssociationKind;
+import org.hibernate.ogm.grid.EntityKey;
+import org.hibernate.ogm.grid.EntityKeyMetadata;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for retrieving several tuples and associations at once via {@link GridDialect#getTuples(EntityKey[], TupleContext)}
+ * and {@link GridDialect#getAssociations(AssociationKey[], AssociationContext)}.
+ */
+public class MongoDBMultigetTest extends OgmTestCase {
+
+	private Module module;
+
+	@Before
+	public void persistProjects() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+
+		module = new Module();
+		module.setName( "MongoDB" );
+		session.persist( module );
+
+		Project withModules = new Project();
+		withModules.setId( "ogm" );
+		withModules.setName( "Hibernate OGM" );
+		withModules.setModules( Arrays.asList( module ) );
+		session.persist( withModules );
+
+		Project withoutModules = new Project();
+		withoutModules.setId( "search" );
+		withoutModules.setName( "Hibernate Search" );
+		session.persist( withoutModules );
+
+		transaction.commit();
+		session.close();
+	}
+
+	@After
+	public void removeProjects() {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.delete( session.get( Project.class, "ogm" ) );
+		session.delete( session.get( Project.class, "search" ) );
+		session.delete( session.get( Module.class, module.getId() ) );
+		transaction.commit();
+		session.close();
+	}
+
+	@Test
+	public void shouldReturnTuplesOfSeveralCollectionsInOrderOfKeys() {
+		EntityKey[] keys = new EntityKey[] {
+				projectKey( "ogm" ),
+				moduleKey( "unknown" ),
+				moduleKey( module.getId() ),
+				projectKey( "unknown" ),
+				projectKey( "search" )
+		};
+
+		List<Tuple> tuples = getGridDialect().getTuples( keys, new TupleContext( Arrays.asList( "name" ) ) );
+
+		assertThat( tuples ).hasSize( 5 );
+		assertThat( tuples.get( 0 ).get( "name" ) ).isEqualTo( "Hibernate OGM" );
+		assertThat( tuples.get( 1 ) ).isNull();
+		assertThat( tuples.get( 2 ).get( "name" ) ).isEqualTo( "MongoDB" );
+		assertThat( tuples.get( 3 ) ).isNull();
+		assertThat( tuples.get( 4 ).get( "name" ) ).isEqualTo( "Hibernate Search" );
+	}
+
+	@Test
+	public void shouldReturnNullForMissingAssociations() {
+		AssociationKey[] keys = new AssociationKey[] {
+				modulesKey( "unknown" ),
+				modulesKey( "ogm" ),
+				// the owner exists but has no modules
+				modulesKey( "search" )
+		};
+
+		List<Association> associations = getGridDialect().getAssociations(
+				keys,
+				new AssociationContext( Arrays.asList( keys[0].getRowKeyColumnNames() ) )
+		);
+
+		assertThat( associations ).hasSize( 3 );
+		assertThat( associations.get( 0 ) ).isNull();
+		assertThat( associations.get( 1 ) ).isNotNull();
+		assertThat( associations.get( 1 ).isEmpty() ).isFalse();
+		assertThat( associations.get( 2 ) ).isNull();
+	}
+
+	private EntityKey projectKey(String id) {
+		return new EntityKey( new EntityKeyMetadata( "Project", new String[] { "id" } ), new Object[] { id } );
+	}
+
+	private EntityKey moduleKey(String id) {
+		return new EntityKey( new EntityKeyMetadata( "Module", new String[] { "id" } ), new Object[] { id } );
+	}
+
+	private AssociationKey modulesKey(String projectId) {
+		AssociationKeyMetadata metadata = new AssociationKeyMetadata( "Project_Module", new String[] { "Project_id" } );
+		metadata.setRowKeyColumnNames( new String[] { "Project_id", "ordering" } );
+		AssociationKey key = new AssociationKey( metadata, new Object[] { projectId } );
+		key.setAssociationKind( AssociationKind.ASSOCIATION );
+		key.setCollectionRole( "modules" );
+		key.setOwnerEntityKey( projectKey( projectId ) );
+		return key;
+	}
+
+	private GridDialect getGridDialect() {
+		return ( (DatastoreServices) sfi().getServiceRegistry().getService( DatastoreServices.class ) ).getGridDialect();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Project.class, Module.class };
+	}
+}
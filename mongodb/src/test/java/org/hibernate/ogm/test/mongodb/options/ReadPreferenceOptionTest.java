@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.options;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.hibernate.ogm.datastore.mongodb.ReadPreferenceType;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.options.mongodb.ReadPreference;
+import org.hibernate.ogm.options.mongodb.ReadPreferenceOption;
+import org.hibernate.ogm.options.mongodb.mapping.impl.MongoDBGlobalOptions;
+import org.hibernate.ogm.options.navigation.impl.ConfigurationContext;
+import org.hibernate.ogm.options.navigation.impl.OptionsContext;
+import org.hibernate.ogm.options.spi.OptionsContainer;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link ReadPreferenceOption} used to set the {@link ReadPreferenceType} in MongoDB.
+ */
+public class ReadPreferenceOptionTest {
+
+	private OptionsContext optionsContext;
+	private MongoDBGlobalOptions mongoOptions;
+
+	@Before
+	public void setupBuilder() {
+		optionsContext = new OptionsContext();
+		mongoOptions = new MongoDBDatastoreProvider().getConfigurationBuilder( new ConfigurationContext( optionsContext ) );
+	}
+
+	@Test
+	public void testReadPreferenceMappingOption() throws Exception {
+		mongoOptions.readPreference( ReadPreferenceType.SECONDARY_PREFERRED );
+
+		OptionsContainer options = optionsContext.getGlobalOptions();
+		assertThat( options.getUnique( ReadPreferenceOption.class ) ).isEqualTo( ReadPreferenceType.SECONDARY_PREFERRED );
+	}
+
+	@Test
+	public void testReadPreferenceContextPriority() throws Exception {
+		mongoOptions
+			.readPreference( ReadPreferenceType.SECONDARY_PREFERRED )
+			.entity( ExampleForMongoDBMapping.class )
+				.readPreference( ReadPreferenceType.PRIMARY );
+
+		OptionsContainer options = optionsContext.getGlobalOptions();
+		assertThat( options.getUnique( ReadPreferenceOption.class ) ).isEqualTo( ReadPreferenceType.SECONDARY_PREFERRED );
+
+		options = optionsContext.getEntityOptions( ExampleForMongoDBMapping.class );
+		assertThat( options.getUnique( ReadPreferenceOption.class ) ).isEqualTo( ReadPreferenceType.PRIMARY );
+	}
+
+	@Test
+	public void testReadPreferenceForAnnotatedEntity() throws Exception {
+		OptionsContainer options = optionsContext.getEntityOptions( AnnotatedExampleForMongoDBMapping.class );
+		assertThat( options.getUnique( ReadPreferenceOption.class ) ).isEqualTo( ReadPreferenceType.NEAREST );
+	}
+
+	@SuppressWarnings("unused")
+	private static final class ExampleForMongoDBMapping {
+		String content;
+	}
+
+	@ReadPreference(ReadPreferenceType.NEAREST)
+	private static final class AnnotatedExampleForMongoDBMapping {
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.options;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.datastore.mongodb.WriteConcernType;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.options.mongodb.WriteConcern;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.junit.Test;
+
+/**
+ * Test for applying the write concern configured for an entity type.
+ */
+public class WriteConcernPerEntityTest extends OgmTestCase {
+
+	@Test
+	public void shouldResolveWriteConcernPerCollection() throws Exception {
+		MongoDBDatastoreProvider provider = getProvider();
+
+		assertThat( provider.getWriteConcern( "AuditEvent" ) ).isEqualTo( com.mongodb.WriteConcern.UNACKNOWLEDGED );
+		assertThat( provider.getWriteConcern( "Account" ) ).isEqualTo( com.mongodb.WriteConcern.ACKNOWLEDGED );
+		assertThat( provider.getWriteConcern( "Unknown" ) ).isNull();
+	}
+
+	@Test
+	public void shouldWriteEntityWithConfiguredWriteConcern() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		Account account = new Account();
+		account.id = "acc-1";
+		account.owner = "Bob";
+		session.persist( account );
+		transaction.commit();
+		session.clear();
+
+		transaction = session.beginTransaction();
+		Account loaded = (Account) session.get( Account.class, "acc-1" );
+		assertThat( loaded.owner ).isEqualTo( "Bob" );
+		session.delete( loaded );
+		transaction.commit();
+		session.close();
+	}
+
+	private MongoDBDatastoreProvider getProvider() {
+		return (MongoDBDatastoreProvider) sfi().getServiceRegistry().getService( DatastoreProvider.class );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { AuditEvent.class, Account.class };
+	}
+
+	@Entity
+	@Table(name = "AuditEvent")
+	@WriteConcern(WriteConcernType.UNACKNOWLEDGED)
+	public static class AuditEvent {
+
+		@Id
+		String id;
+		String description;
+	}
+
+	@Entity
+	@Table(name = "Account")
+	@WriteConcern(WriteConcernType.ACKNOWLEDGED)
+	public static class Account {
+
+		@Id
+		String id;
+		String owner;
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.TestSessionFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for count queries and existence checks with MongoDB.
+ */
+public class MongoDBCountQueryTest extends OgmTestCase {
+
+	@TestSessionFactory
+	private static SessionFactory sessions;
+
+	private Session session;
+	private Transaction transaction;
+
+	@BeforeClass
+	public static void addTestEntities() {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			Hypothesis hypothesis = new Hypothesis();
+			hypothesis.setId( String.valueOf( i ) );
+			hypothesis.setPosition( i );
+			hypothesis.setDescription( i <= 3 ? "Hypothesis " + i : null );
+			session.persist( hypothesis );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@AfterClass
+	public static void deleteTestEntities() throws Exception {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			session.delete( new Hypothesis( String.valueOf( i ) ) );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@Before
+	public void startTransaction() {
+		session = sessions.openSession();
+		transaction = session.getTransaction();
+		transaction.begin();
+	}
+
+	@After
+	public void commitTransaction() {
+		session.close();
+		transaction.commit();
+	}
+
+	@Test
+	public void shouldCountAllEntities() throws Exception {
+		Object count = session.createQuery( "select count(*) from Hypothesis" ).uniqueResult();
+		assertThat( count ).isEqualTo( 5L );
+
+		count = session.createQuery( "select count(h) from Hypothesis h" ).uniqueResult();
+		assertThat( count ).isEqualTo( 5L );
+	}
+
+	@Test
+	public void shouldCountMatchingEntities() throws Exception {
+		Object count = session.createQuery( "select count(h) from Hypothesis h where h.position > :position" )
+				.setParameter( "position", 2 )
+				.uniqueResult();
+		assertThat( count ).isEqualTo( 3L );
+	}
+
+	@Test
+	public void shouldCountNonNullPropertyValues() throws Exception {
+		Object count = session.createQuery( "select count(h.description) from Hypothesis h" ).uniqueResult();
+		assertThat( count ).isEqualTo( 3L );
+
+		count = session.createQuery( "select count(h.description) from Hypothesis h where h.position >= 3" ).uniqueResult();
+		assertThat( count ).isEqualTo( 1L );
+	}
+
+	@Test
+	public void shouldCheckExistenceFetchingIdOfFirstMatchOnly() throws Exception {
+		List<?> results = session.createQuery( "select h.id from Hypothesis h where h.position > 2" )
+				.setMaxResults( 1 )
+				.list();
+		assertThat( results ).hasSize( 1 );
+
+		results = session.createQuery( "select h.id from Hypothesis h where h.position > 5" )
+				.setMaxResults( 1 )
+				.list();
+		assertThat( results ).isEmpty();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
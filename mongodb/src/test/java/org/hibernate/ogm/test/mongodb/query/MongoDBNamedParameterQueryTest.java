@@ -0,0 +1,142 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.TestSessionFactory;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for queries with named parameters with MongoDB, executing each query several times to make use of the cached
+ * query template.
+ */
+public class MongoDBNamedParameterQueryTest extends OgmTestCase {
+
+	@TestSessionFactory
+	private static SessionFactory sessions;
+
+	private Session session;
+	private Transaction transaction;
+
+	@BeforeClass
+	public static void addTestEntities() {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			Hypothesis hypothesis = new Hypothesis();
+			hypothesis.setId( String.valueOf( i ) );
+			hypothesis.setPosition( i );
+			hypothesis.setDescription( i % 2 == 0 ? "Even hypothesis " + i : "Odd hypothesis " + i );
+			session.persist( hypothesis );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@AfterClass
+	public static void deleteTestEntities() throws Exception {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			session.delete( new Hypothesis( String.valueOf( i ) ) );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@Before
+	public void startTransaction() {
+		session = sessions.openSession();
+		transaction = session.getTransaction();
+		transaction.begin();
+	}
+
+	@After
+	public void commitTransaction() {
+		session.close();
+		transaction.commit();
+	}
+
+	@Test
+	public void shouldBindParameterValuesOnEachExecution() throws Exception {
+		String query = "from Hypothesis h where h.position = :position";
+
+		List<?> results = session.createQuery( query ).setParameter( "position", 2 ).list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "2" );
+
+		results = session.createQuery( query ).setParameter( "position", 4 ).list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "4" );
+	}
+
+	@Test
+	public void shouldBindSeveralParameters() throws Exception {
+		String query = "from Hypothesis h where h.position between :lower and :upper or h.id = :id";
+
+		List<?> results = session.createQuery( query )
+				.setParameter( "lower", 1 )
+				.setParameter( "upper", 2 )
+				.setParameter( "id", "5" )
+				.list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "1", "2", "5" );
+
+		results = session.createQuery( query )
+				.setParameter( "lower", 3 )
+				.setParameter( "upper", 4 )
+				.setParameter( "id", "1" )
+				.list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "1", "3", "4" );
+	}
+
+	@Test
+	public void shouldBindParameterUsedAsLikePattern() throws Exception {
+		String query = "from Hypothesis h where h.description like :pattern";
+
+		List<?> results = session.createQuery( query ).setParameter( "pattern", "Even%" ).list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "2", "4" );
+
+		results = session.createQuery( query ).setParameter( "pattern", "Odd%" ).list();
+		assertThat( results ).onProperty( "id" ).containsOnly( "1", "3", "5" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
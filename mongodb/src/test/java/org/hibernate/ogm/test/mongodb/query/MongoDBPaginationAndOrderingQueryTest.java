@@ -0,0 +1,160 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * JBoss, Home of Professional Open Source
+ * Copyright 2013 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.hibernate.ogm.test.mongodb.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.test.utils.OgmTestCase;
+import org.hibernate.ogm.test.utils.TestSessionFactory;
+import org.hibernate.type.StandardBasicTypes;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test for ordering, pagination and scrolling of queries with MongoDB.
+ */
+public class MongoDBPaginationAndOrderingQueryTest extends OgmTestCase {
+
+	@TestSessionFactory
+	private static SessionFactory sessions;
+
+	private Session session;
+	private Transaction transaction;
+
+	@BeforeClass
+	public static void addTestEntities() {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			Hypothesis hypothesis = new Hypothesis();
+			hypothesis.setId( String.valueOf( i ) );
+			hypothesis.setPosition( 6 - i );
+			hypothesis.setDescription( "Hypothesis " + i );
+			session.persist( hypothesis );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@AfterClass
+	public static void deleteTestEntities() throws Exception {
+		Session session = sessions.openSession();
+		Transaction transaction = session.getTransaction();
+		transaction.begin();
+
+		for ( int i = 1; i <= 5; i++ ) {
+			session.delete( new Hypothesis( String.valueOf( i ) ) );
+		}
+
+		transaction.commit();
+		session.clear();
+		session.close();
+	}
+
+	@Before
+	public void startTransaction() {
+		session = sessions.openSession();
+		transaction = session.getTransaction();
+		transaction.begin();
+	}
+
+	@After
+	public void commitTransaction() {
+		session.close();
+		transaction.commit();
+	}
+
+	@Test
+	public void shouldApplyOrdering() throws Exception {
+		List<?> results = session.createQuery( "from Hypothesis h order by h.position" ).list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "5", "4", "3", "2", "1" );
+
+		results = session.createQuery( "from Hypothesis h order by h.position desc" ).list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "1", "2", "3", "4", "5" );
+	}
+
+	@Test
+	public void shouldApplyFirstAndMaxResults() throws Exception {
+		List<?> results = session.createQuery( "from Hypothesis h order by h.position" )
+				.setFirstResult( 1 )
+				.setMaxResults( 2 )
+				.list();
+		assertThat( results ).onProperty( "id" ).containsExactly( "4", "3" );
+	}
+
+	@Test
+	public void shouldReturnNoResultsForMaxResultsOfZero() throws Exception {
+		List<?> results = session.createQuery( "from Hypothesis h" ).setMaxResults( 0 ).list();
+		assertThat( results ).isEmpty();
+	}
+
+	@Test
+	public void shouldScrollForwardThroughResults() throws Exception {
+		ScrollableResults results = session.createQuery( "from Hypothesis h order by h.position desc" )
+				.setFetchSize( 2 )
+				.scroll( ScrollMode.FORWARD_ONLY );
+
+		assertThat( results.getType( 0 ).getReturnedClass() ).isEqualTo( Hypothesis.class );
+
+		List<String> ids = new ArrayList<String>();
+		while ( results.next() ) {
+			ids.add( ( (Hypothesis) results.get( 0 ) ).getId() );
+		}
+		results.close();
+
+		assertThat( ids ).containsExactly( "1", "2", "3", "4", "5" );
+	}
+
+	@Test
+	public void shouldExposeTypesOfProjectedPropertiesWhenScrolling() throws Exception {
+		ScrollableResults results = session.createQuery( "select h.id, h.position from Hypothesis h" )
+				.scroll( ScrollMode.FORWARD_ONLY );
+
+		assertThat( results.getType( 0 ) ).isSameAs( StandardBasicTypes.STRING );
+		assertThat( results.getType( 1 ) ).isSameAs( StandardBasicTypes.INTEGER );
+		results.close();
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldRejectScrollInsensitiveMode() throws Exception {
+		session.createQuery( "from Hypothesis h" ).scroll( ScrollMode.SCROLL_INSENSITIVE );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Hypothesis.class };
+	}
+}
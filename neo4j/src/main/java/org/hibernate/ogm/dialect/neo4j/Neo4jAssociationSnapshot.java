@@ -20,9 +20,9 @@
  */
 package org.hibernate.ogm.dialect.neo4j;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.ogm.datastore.spi.AssociationSnapshot;
@@ -46,6 +46,11 @@ public final class Neo4jAssociationSnapshot implements AssociationSnapshot {
 	private final RelationshipType relationshipType;
 	private final AssociationKey associationKey;
 
+	/**
+	 * Index of the relationships by their row key; built upon first access
+	 */
+	private Map<RowKey, Relationship> relationshipsByRowKey;
+
 	public Neo4jAssociationSnapshot(Node ownerNode, RelationshipType type, AssociationKey associationKey) {
 		this.ownerNode = ownerNode;
 		this.relationshipType = type;
@@ -54,34 +59,20 @@ public Neo4jAssociationSnapshot(Node ownerNode, RelationshipType type, Associati
 
 	@Override
 	public Tuple get(RowKey rowKey) {
-		for ( Relationship relationship : relationships() ) {
-			if ( matches( rowKey, relationship ) ) {
-				return new Tuple( new Neo4jTupleSnapshot( relationship.getEndNode() ) );
-			}
-		}
-		return null;
+		Relationship relationship = getRelationshipsByRowKey().get( rowKey );
+		return relationship == null ? null : new Tuple( new Neo4jTupleSnapshot( relationship.getEndNode() ) );
 	}
 
 	@Override
 	public boolean containsKey(RowKey rowKey) {
-		for ( Relationship relationship : relationships() ) {
-			return matches( rowKey, relationship );
-		}
-		return false;
-	}
-
-	private boolean matches(RowKey key, PropertyContainer container) {
-		for ( int i = 0; i < key.getColumnNames().length; i++ ) {
-			String column = key.getColumnNames()[i];
-			if ( !container.hasProperty( column ) || !key.getColumnValues()[i].equals( container.getProperty( column ) ) ) {
-				return false;
-			}
-		}
-		return true;
+		return getRelationshipsByRowKey().containsKey( rowKey );
 	}
 
 	@Override
 	public int size() {
+		if ( relationshipsByRowKey != null ) {
+			return relationshipsByRowKey.size();
+		}
 		int count = 0;
 		for ( Relationship relationship : relationships() ) {
 			count++;
@@ -95,23 +86,27 @@ private Iterable<Relationship> relationships() {
 
 	@Override
 	public Set<RowKey> getRowKeys() {
-		Set<RowKey> rowKeys = new HashSet<RowKey>();
-		for ( Relationship relationship : relationships() ) {
-			rowKeys.add( convert( relationship ) );
+		return getRelationshipsByRowKey().keySet();
+	}
+
+	private Map<RowKey, Relationship> getRelationshipsByRowKey() {
+		if ( relationshipsByRowKey == null ) {
+			Map<RowKey, Relationship> index = new LinkedHashMap<RowKey, Relationship>();
+			for ( Relationship relationship : relationships() ) {
+				index.put( convert( relationship ), relationship );
+			}
+			relationshipsByRowKey = Collections.unmodifiableMap( index );
 		}
-		return rowKeys;
+		return relationshipsByRowKey;
 	}
 
 	private RowKey convert(PropertyContainer container) {
 		String[] columnNames = associationKey.getRowKeyColumnNames();
-		List<String> columns = new ArrayList<String>();
-		List<Object> values = new ArrayList<Object>();
-		for ( String column : columnNames ) {
-			columns.add( column );
-			values.add( container.getProperty( column ) );
+		Object[] values = new Object[columnNames.length];
+		for ( int i = 0; i < columnNames.length; i++ ) {
+			values[i] = container.getProperty( columnNames[i] );
 		}
-		return new RowKey( associationKey.getTable(), columns.toArray( new String[columns.size()] ),
-				values.toArray( new Object[values.size()] ) );
+		return new RowKey( associationKey.getTable(), columnNames, values );
 	}
 
 }
@@ -21,6 +21,7 @@
 package org.hibernate.ogm.dialect.neo4j;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.hibernate.LockMode;
@@ -38,12 +39,16 @@
 import org.hibernate.ogm.datastore.spi.TupleContext;
 import org.hibernate.ogm.datastore.spi.TupleOperation;
 import org.hibernate.ogm.dialect.GridDialect;
+import org.hibernate.ogm.dialect.batch.OperationsQueue;
+import org.hibernate.ogm.dialect.impl.GridDialectHelpers;
 import org.hibernate.ogm.grid.AssociationKey;
 import org.hibernate.ogm.grid.EntityKey;
 import org.hibernate.ogm.grid.EntityKeyMetadata;
 import org.hibernate.ogm.grid.RowKey;
 import org.hibernate.ogm.massindex.batchindexing.Consumer;
 import org.hibernate.ogm.type.GridType;
+import org.hibernate.ogm.util.impl.Log;
+import org.hibernate.ogm.util.impl.LoggerFactory;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.type.Type;
 import org.neo4j.graphdb.Direction;
@@ -69,6 +74,8 @@ public class Neo4jDialect implements GridDialect {
 	 */
 	public static final String TABLE_PROPERTY = "_table";
 
+	private static final Log log = LoggerFactory.make();
+
 	private final Neo4jDatastoreProvider provider;
 
 	private final Neo4jIndexManager indexer;
@@ -92,6 +99,11 @@ public Tuple getTuple(EntityKey key, TupleContext context) {
 		return createTuple( entityNode );
 	}
 
+	@Override
+	public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+		return GridDialectHelpers.getTuplesOneByOne( this, keys, tupleContext );
+	}
+
 	private Tuple createTuple(Node entityNode) {
 		return new Tuple( new Neo4jTupleSnapshot( entityNode ) );
 	}
@@ -103,7 +115,8 @@ public Tuple createTuple(EntityKey key) {
 
 	@Override
 	public void updateTuple(Tuple tuple, EntityKey key) {
-		Node node = createNodeUnlessExists( key );
+		// tuples of new entities are based on the empty snapshot, see createTuple()
+		Node node = tuple.getSnapshot() == EmptyTupleSnapshot.SINGLETON ? createNewNode( key ) : createNodeUnlessExists( key );
 		applyTupleOperations( node, tuple.getOperations() );
 	}
 
@@ -130,6 +143,42 @@ public Association getAssociation(AssociationKey associationKey, AssociationCont
 		return new Association( new Neo4jAssociationSnapshot( entityNode, relationshipType( associationKey ), associationKey ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext associationContext) {
+		return GridDialectHelpers.getAssociationsOneByOne( this, keys, associationContext );
+	}
+
+	@Override
+	public int getAssociationSize(AssociationKey key, AssociationContext associationContext) {
+		Node entityNode = findNode( key.getEntityKey() );
+		if ( entityNode == null ) {
+			return 0;
+		}
+		// count the relationships without materializing the associated nodes and row keys
+		int size = 0;
+		Iterator<Relationship> relationships = entityNode.getRelationships( Direction.OUTGOING, relationshipType( key ) ).iterator();
+		while ( relationships.hasNext() ) {
+			relationships.next();
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public boolean associationContainsRow(AssociationKey key, RowKey rowKey, AssociationContext associationContext) {
+		return indexer.findRelationship( relationshipType( key ), rowKey ) != null;
+	}
+
+	@Override
+	public Association getAssociationForBlindUpdate(AssociationKey key, AssociationContext associationContext) {
+		return null;
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		GridDialectHelpers.executeBatchOneByOne( this, queue );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey associationKey) {
 		return new Association( EmptyAssociationSnapshot.SINGLETON );
@@ -250,6 +299,17 @@ private Node createNodeUnlessExists(EntityKey key) {
 		return node;
 	}
 
+	/**
+	 * Creates the node for a new entity. The persister may not have looked up the key beforehand, see
+	 * {@link org.hibernate.ogm.cfg.OgmConfiguration#OGM_OPTIMISTIC_INSERTS}.
+	 */
+	private Node createNewNode(EntityKey key) {
+		if ( findNode( key ) != null ) {
+			throw log.mustNotInsertSameEntityTwice( key );
+		}
+		return createNode( key );
+	}
+
 	private Node createNode(EntityKey key) {
 		Node node = provider.createNode();
 		node.setProperty( TABLE_PROPERTY, key.getTable() );